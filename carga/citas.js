@@ -0,0 +1,79 @@
+// Escenario de carga de la hora pico de reservas: una mezcla de altas de
+// citas, búsquedas de la agenda del día y consultas de disponibilidad contra
+// CitasController a una tasa constante de peticiones por segundo.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e TASA=300 carga/citas.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const DOCTORES = Number(__ENV.DOCTORES || 5);
+const CONSULTORIOS = Number(__ENV.CONSULTORIOS || 5);
+const DIAS = Number(__ENV.DIAS || 60);
+const INICIO = new Date(Date.UTC(2030, 0, 7));
+
+export const options = {
+    scenarios: {
+        hora_pico: {
+            executor: 'constant-arrival-rate',
+            rate: Number(__ENV.TASA || 300),
+            timeUnit: '1s',
+            duration: __ENV.DURACION || '2m',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+        },
+    },
+    summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+// Los rechazos por reglas de negocio y los choques de horario son respuestas
+// esperadas de una reserva, no errores del servicio.
+http.setResponseCallback(http.expectedStatuses({ min: 200, max: 304 }, 400, 409));
+
+function aleatorio(maximo) {
+    return Math.floor(Math.random() * maximo);
+}
+
+function dia() {
+    const fecha = new Date(INICIO.getTime() + aleatorio(DIAS) * 86400000);
+    return fecha.toISOString().substring(0, 10);
+}
+
+function reservar() {
+    const hora = String(8 + aleatorio(12)).padStart(2, '0');
+    const minuto = aleatorio(2) === 0 ? '00' : '30';
+    const cita = {
+        doctor: { id: 1 + aleatorio(DOCTORES) },
+        consultorio: { id: 1 + aleatorio(CONSULTORIOS) },
+        horarioConsulta: `${dia()} ${hora}:${minuto}`,
+        nombrePaciente: `Paciente ${aleatorio(100000)}`,
+    };
+    const respuesta = http.post(`${BASE_URL}/api/v1/citas`, JSON.stringify(cita), {
+        headers: { 'Content-Type': 'application/json' },
+        tags: { operacion: 'reservar' },
+    });
+    check(respuesta, { 'reserva atendida': (r) => r.status === 201 || r.status === 400 || r.status === 409 });
+}
+
+function buscar() {
+    const respuesta = http.get(`${BASE_URL}/api/v1/citas/buscar?fecha=${dia()}T00:00:00`
+        + `&doctorId=${1 + aleatorio(DOCTORES)}`, { tags: { operacion: 'buscar' } });
+    check(respuesta, { 'búsqueda atendida': (r) => r.status === 200 || r.status === 304 });
+}
+
+function disponibilidad() {
+    const respuesta = http.get(`${BASE_URL}/api/v1/citas/disponibilidad?desde=${dia()}`
+        + `&doctorId=${1 + aleatorio(DOCTORES)}`, { tags: { operacion: 'disponibilidad' } });
+    check(respuesta, { 'disponibilidad atendida': (r) => r.status === 200 });
+}
+
+export default function () {
+    const tirada = Math.random();
+    if (tirada < 0.4) {
+        reservar();
+    } else if (tirada < 0.8) {
+        buscar();
+    } else {
+        disponibilidad();
+    }
+}
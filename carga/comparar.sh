@@ -0,0 +1,17 @@
+#!/bin/sh
+# Corre el escenario de carga con hilos de plataforma y con hilos virtuales y
+# guarda el resumen de cada corrida en target/carga-<modo>.json. Requiere la
+# base de datos de application.yml, k6 y el jar empaquetado con mvn package.
+set -e
+
+JAR=$(ls target/elias.camacho-*.jar | head -n 1)
+
+for VIRTUALES in false true; do
+    if [ "$VIRTUALES" = true ]; then MODO=virtuales; else MODO=plataforma; fi
+    java -jar "$JAR" --spring.threads.virtual.enabled=$VIRTUALES > "target/carga-$MODO.log" 2>&1 &
+    PID=$!
+    until curl -sf http://localhost:8080/actuator/health > /dev/null; do sleep 1; done
+    k6 run --summary-export "target/carga-$MODO.json" "$@" carga/citas.js
+    kill $PID
+    wait $PID || true
+done
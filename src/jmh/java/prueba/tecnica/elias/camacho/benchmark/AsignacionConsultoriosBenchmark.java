@@ -0,0 +1,90 @@
+package prueba.tecnica.elias.camacho.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import prueba.tecnica.elias.camacho.app.domain.dto.SolicitudCita;
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+import prueba.tecnica.elias.camacho.app.domain.entity.Doctor;
+import prueba.tecnica.elias.camacho.app.service.AsignacionConsultorios;
+import prueba.tecnica.elias.camacho.app.service.CitasService;
+import prueba.tecnica.elias.camacho.app.service.reglas.CitaRechazadaException;
+
+/**
+ * Throughput de la asignación automática de consultorios según el número de
+ * consultorios, con varios hilos a la vez. {@code asignar} sólo elige y aparta
+ * el consultorio en una transacción que se revierte; {@code agendar} agenda la
+ * cita completa a las 18:00 y la elimina para que la ocupación no cambie.
+ *
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class AsignacionConsultoriosBenchmark extends ContextoBenchmark {
+
+    @Param({ "20", "200", "500" })
+    public int consultorios;
+
+    private final AtomicLong paciente = new AtomicLong();
+
+    @Override
+    protected int densidad() {
+        return 4;
+    }
+
+    @Override
+    protected int consultorios() {
+        return consultorios;
+    }
+
+    @Benchmark
+    public Object asignar() {
+        AsignacionConsultorios asignacion = context.getBean(AsignacionConsultorios.class);
+        TransactionTemplate transaccion = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Doctor doctor = new Doctor();
+        doctor.setId((long) 1 + random.nextInt(DOCTORES));
+        Cita cita = new Cita();
+        cita.setDoctor(doctor);
+        cita.setHorarioConsulta(PRIMER_DIA.plusDays(random.nextInt(DIAS)).atTime(8 + random.nextInt(10), 0));
+        return transaccion.execute(estado -> {
+            estado.setRollbackOnly();
+            return asignacion.apartar(cita);
+        });
+    }
+
+    @Benchmark
+    public Object agendar() {
+        CitasService citasService = context.getBean(CitasService.class);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        SolicitudCita solicitud = new SolicitudCita((long) 1 + random.nextInt(DOCTORES),
+                PRIMER_DIA.plusDays(random.nextInt(DIAS)).atTime(18, 0), "Nuevo " + paciente.incrementAndGet());
+        try {
+            Cita guardada = citasService.agendarConAsignacion(solicitud);
+            citasService.deleteById(guardada.getId());
+            return guardada;
+        } catch (CitaRechazadaException | ResponseStatusException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package prueba.tecnica.elias.camacho.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+import prueba.tecnica.elias.camacho.app.domain.event.ClaveAgenda;
+import prueba.tecnica.elias.camacho.app.service.CitasService;
+import prueba.tecnica.elias.camacho.app.service.InstantaneasAgenda;
+
+/**
+ * Latencia de la búsqueda de citas por combinación de filtros, sobre un
+ * conjunto de datos con 8 citas por doctor por día. Los filtros
+ * {@code agendaDoctor} y {@code agendaConsultorio} leen la agenda ya
+ * serializada de {@link InstantaneasAgenda}.
+ *
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CitasBusquedaBenchmark extends ContextoBenchmark {
+
+    @Param({ "dia", "diaDoctor", "diaConsultorio", "agendaDoctor", "agendaConsultorio", "pagina" })
+    public String filtro;
+
+    private final Random random = new Random(42);
+
+    @Override
+    protected int densidad() {
+        return 8;
+    }
+
+    @Benchmark
+    public Object buscar() {
+        CitasService citasService = context.getBean(CitasService.class);
+        InstantaneasAgenda instantaneas = context.getBean(InstantaneasAgenda.class);
+        LocalDateTime fecha = PRIMER_DIA.plusDays(random.nextInt(DIAS)).atStartOfDay();
+        long recursoId = 1 + random.nextInt(DOCTORES);
+        return switch (filtro) {
+            case "dia" -> citasService.buscarCitas(fecha, null, null);
+            case "diaDoctor" -> citasService.buscarCitas(fecha, null, recursoId);
+            case "diaConsultorio" -> citasService.buscarCitas(fecha, recursoId, null);
+            case "agendaDoctor" -> instantaneas.obtener(ClaveAgenda.doctor(fecha.toLocalDate(), recursoId));
+            case "agendaConsultorio" -> instantaneas.obtener(ClaveAgenda.consultorio(fecha.toLocalDate(), recursoId));
+            default -> citasService.findPagina(null, 100, null, null);
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package prueba.tecnica.elias.camacho.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.server.ResponseStatusException;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+import prueba.tecnica.elias.camacho.app.domain.entity.Consultorio;
+import prueba.tecnica.elias.camacho.app.domain.entity.Doctor;
+import prueba.tecnica.elias.camacho.app.service.CitasService;
+import prueba.tecnica.elias.camacho.app.service.reglas.CitaRechazadaException;
+
+/**
+ * Throughput de alta de citas según la densidad del día del doctor. Cada
+ * operación agenda una cita a las 18:00 y la elimina para que la densidad no
+ * cambie; con 8 citas en el día el alta se rechaza por la regla del máximo
+ * diario.
+ *
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CitasReservaBenchmark extends ContextoBenchmark {
+
+    @Param({ "0", "4", "8" })
+    public int densidad;
+
+    private final Random random = new Random(42);
+
+    private long paciente;
+
+    @Override
+    protected int densidad() {
+        return densidad;
+    }
+
+    @Benchmark
+    public Object reservar() {
+        CitasService citasService = context.getBean(CitasService.class);
+        int doctorId = 1 + random.nextInt(DOCTORES);
+        Doctor doctor = new Doctor();
+        doctor.setId((long) doctorId);
+        Consultorio consultorio = new Consultorio();
+        consultorio.setId((long) (doctorId + 18) % DOCTORES + 1);
+
+        Cita cita = new Cita();
+        cita.setDoctor(doctor);
+        cita.setConsultorio(consultorio);
+        cita.setHorarioConsulta(PRIMER_DIA.plusDays(random.nextInt(DIAS)).atTime(18, 0));
+        cita.setNombrePaciente("Nuevo " + paciente++);
+        try {
+            Cita guardada = citasService.save(cita);
+            citasService.deleteById(guardada.getId());
+            return guardada;
+        } catch (CitaRechazadaException | ResponseStatusException e) {
+            return e;
+        }
+    }
+}
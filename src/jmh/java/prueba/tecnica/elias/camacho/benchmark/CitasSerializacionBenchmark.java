@@ -0,0 +1,95 @@
+package prueba.tecnica.elias.camacho.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+import prueba.tecnica.elias.camacho.app.domain.entity.Consultorio;
+import prueba.tecnica.elias.camacho.app.domain.entity.Doctor;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
+
+/**
+ * Costo de serializar con Jackson una agenda como entidades {@link Cita} con
+ * su doctor y consultorio, contra la misma agenda como {@link CitaSlot}.
+ *
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CitasSerializacionBenchmark {
+
+    /**
+     * 8 es la agenda de un doctor en un día; 160 la de 20 doctores.
+     */
+    @Param({ "8", "160" })
+    public int citas;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private List<Cita> entidades;
+
+    private List<CitaSlot> dtos;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        entidades = new ArrayList<>(citas);
+        for (int i = 0; i < citas; i++) {
+            long doctorId = i % ContextoBenchmark.DOCTORES + 1;
+            Doctor doctor = new Doctor();
+            doctor.setId(doctorId);
+            doctor.setNombre("Doctor" + doctorId);
+            doctor.setApellidoPaterno("Paterno" + doctorId);
+            doctor.setApellidoMaterno("Materno" + doctorId);
+            doctor.setEspecialidad("Medicina Interna");
+            Consultorio consultorio = new Consultorio();
+            consultorio.setId(doctorId);
+            consultorio.setNumero(100 + (int) doctorId);
+            consultorio.setPiso(1 + (int) doctorId / 5);
+
+            Cita cita = new Cita();
+            cita.setId((long) i + 1);
+            cita.setDoctor(doctor);
+            cita.setConsultorio(consultorio);
+            cita.setHorarioConsulta(ContextoBenchmark.PRIMER_DIA.atTime(8 + i / ContextoBenchmark.DOCTORES, 0));
+            cita.setNombrePaciente("Paciente " + i);
+            entidades.add(cita);
+        }
+        dtos = entidades.stream().map(CitaSlot::de).toList();
+    }
+
+    @Benchmark
+    public byte[] entidades() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entidades);
+    }
+
+    @Benchmark
+    public byte[] dtos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+}
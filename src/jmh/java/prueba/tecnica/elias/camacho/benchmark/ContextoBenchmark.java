@@ -0,0 +1,122 @@
+package prueba.tecnica.elias.camacho.benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import prueba.tecnica.elias.camacho.Application;
+import prueba.tecnica.elias.camacho.app.service.OcupacionCitas;
+
+/**
+ * Contexto de Spring sobre H2 en modo PostgreSQL con un conjunto de datos
+ * sintético reproducible: {@value #DOCTORES} doctores, {@code consultorios}
+ * consultorios y {@value #DIAS} días a partir de {@link #PRIMER_DIA}, con
+ * {@code densidad} citas por doctor por día a partir de las 8:00.
+ *
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@State(Scope.Benchmark)
+public abstract class ContextoBenchmark {
+
+    public static final int DOCTORES = 20;
+
+    public static final int DIAS = 30;
+
+    public static final LocalDate PRIMER_DIA = LocalDate.of(2030, 1, 7);
+
+    protected ConfigurableApplicationContext context;
+
+    /**
+     * Número de citas por doctor por día del conjunto de datos.
+     *
+     * @return la densidad del día, de 0 a 8.
+     */
+    protected abstract int densidad();
+
+    /**
+     * Número de consultorios del conjunto de datos.
+     *
+     * @return el número de consultorios, al menos {@value #DOCTORES}.
+     */
+    protected int consultorios() {
+        return DOCTORES;
+    }
+
+    @Setup(Level.Trial)
+    public void iniciarContexto() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                                + "DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.flyway.enabled=false",
+                        "--citas.bloqueo.compartido=false",
+                        "--citas.versiones.compartidas=false",
+                        "--citas.archivo.habilitado=false",
+                        "--citas.outbox.habilitado=false",
+                        "--citas.agenda.precargar=false",
+                        "--citas.estadisticas.habilitado=false");
+        poblar(context.getBean(JdbcTemplate.class));
+        context.getBean(OcupacionCitas.class).cargar();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrarContexto() {
+        context.close();
+    }
+
+    private void poblar(JdbcTemplate jdbc) {
+        List<Object[]> doctores = new ArrayList<>();
+        List<Object[]> consultorios = new ArrayList<>();
+        for (long i = 1; i <= DOCTORES; i++) {
+            doctores.add(new Object[] { i, "Doctor" + i, "Paterno" + i, "Materno" + i, "Medicina Interna" });
+        }
+        for (long i = 1; i <= Math.max(DOCTORES, consultorios()); i++) {
+            consultorios.add(new Object[] { i, 100 + i, 1 + i / 5 });
+        }
+        jdbc.batchUpdate("INSERT INTO doctor (id, nombre, apellido_paterno, apellido_materno, especialidad) "
+                + "VALUES (?, ?, ?, ?, ?)", doctores);
+        jdbc.batchUpdate("INSERT INTO consultorio (id, numero, piso) VALUES (?, ?, ?)", consultorios);
+
+        // El consultorio de cada cita es (doctor + hora) mod DOCTORES, por lo que
+        // ningún consultorio se repite en la misma hora.
+        List<Object[]> pacientes = new ArrayList<>();
+        List<Object[]> citas = new ArrayList<>();
+        long id = 1;
+        for (int dia = 0; dia < DIAS; dia++) {
+            for (int doctor = 1; doctor <= DOCTORES; doctor++) {
+                for (int hora = 8; hora < 8 + densidad(); hora++) {
+                    String paciente = "Paciente " + doctor + "-" + dia + "-" + hora;
+                    pacientes.add(new Object[] { id, paciente, paciente.toLowerCase() });
+                    citas.add(new Object[] { id, (long) (doctor + hora) % DOCTORES + 1, (long) doctor,
+                            Timestamp.valueOf(PRIMER_DIA.plusDays(dia).atTime(hora, 0)), paciente, id });
+                    id++;
+                }
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO paciente (id, nombre, nombre_normalizado) VALUES (?, ?, ?)", pacientes);
+        jdbc.batchUpdate("INSERT INTO cita (id, consultorio_id, doctor_id, horario_consulta, nombre_paciente, "
+                + "paciente_id) VALUES (?, ?, ?, ?, ?, ?)", citas);
+        jdbc.execute("ALTER SEQUENCE cita_seq RESTART WITH " + (id + 100));
+        jdbc.execute("ALTER TABLE paciente ALTER COLUMN id RESTART WITH " + id);
+    }
+}
@@ -0,0 +1,127 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.util.Locale;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Deja la clave del paciente a cargo de la aplicación, que la calcula con
+ * {@code OcupacionCitas.normalizarPaciente}. Recalcula la clave de los
+ * pacientes que calcularon {@code V5} y la importación de {@code V7} con la función
+ * {@code normalizar_paciente}, que no quitaba todos los acentos ni los
+ * espacios que no fueran el espacio común, y elimina la función.
+ *
+ * <p>
+ * Las claves se calculan con {@link #normalizar(String)}, una copia fija de la
+ * normalización de la aplicación al escribir esta migración: las migraciones
+ * de Java no tienen checksum, y un cambio posterior en la aplicación no debe
+ * cambiar lo que esta migración ya guardó.
+ *
+ * <p>
+ * Los pacientes que terminan con la misma clave se unen en el de menor ID, y
+ * cada cita pasa al paciente de la clave de su propio nombre.
+ *
+ * @see prueba.tecnica.elias.camacho.app.service.OcupacionCitas
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public class V11__clave_paciente extends BaseJavaMigration {
+
+    /**
+     * Nombres que se leen y se guardan por lote.
+     */
+    private static final int LOTE = 1000;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection conexion = context.getConnection();
+        ejecutar(conexion, "CREATE TEMP TABLE nombre_clave (nombre VARCHAR(255) PRIMARY KEY, "
+                + "limpio VARCHAR(255) NOT NULL, clave VARCHAR(255) NOT NULL)");
+        calcularClaves(conexion);
+        ejecutar(conexion, "ANALYZE nombre_clave");
+
+        // Las claves se repiten hasta unir a los pacientes.
+        ejecutar(conexion, "ALTER TABLE paciente DROP CONSTRAINT uk_paciente_nombre_normalizado");
+        ejecutar(conexion, "UPDATE paciente p SET nombre_normalizado = n.clave FROM nombre_clave n "
+                + "WHERE n.nombre = p.nombre AND p.nombre_normalizado <> n.clave");
+        // Una cita cuyo nombre ya no tiene la clave de su paciente puede no tener a quién pasar.
+        ejecutar(conexion, "INSERT INTO paciente (nombre, nombre_normalizado) "
+                + "SELECT DISTINCT ON (n.clave) n.limpio, n.clave FROM ("
+                + "SELECT nombre_paciente, horario_consulta FROM cita UNION ALL "
+                + "SELECT nombre_paciente, horario_consulta FROM cita_historico) c "
+                + "JOIN nombre_clave n ON n.nombre = c.nombre_paciente "
+                + "WHERE NOT EXISTS (SELECT 1 FROM paciente p WHERE p.nombre_normalizado = n.clave) "
+                + "ORDER BY n.clave, c.horario_consulta DESC");
+        ejecutar(conexion, "CREATE TEMP TABLE paciente_destino AS "
+                + "SELECT nombre_normalizado AS clave, MIN(id) AS id FROM paciente GROUP BY nombre_normalizado");
+        ejecutar(conexion, "ALTER TABLE paciente_destino ADD PRIMARY KEY (clave)");
+        for (String tabla : new String[] { "cita", "cita_historico" }) {
+            ejecutar(conexion, "UPDATE " + tabla + " c SET paciente_id = d.id FROM nombre_clave n "
+                    + "JOIN paciente_destino d ON d.clave = n.clave "
+                    + "WHERE n.nombre = c.nombre_paciente AND c.paciente_id IS DISTINCT FROM d.id");
+        }
+        ejecutar(conexion, "DELETE FROM paciente p USING paciente_destino d "
+                + "WHERE d.clave = p.nombre_normalizado AND p.id <> d.id");
+        ejecutar(conexion, "ALTER TABLE paciente ADD CONSTRAINT uk_paciente_nombre_normalizado "
+                + "UNIQUE (nombre_normalizado)");
+
+        ejecutar(conexion, "DROP TABLE nombre_clave, paciente_destino");
+        ejecutar(conexion, "DROP FUNCTION IF EXISTS normalizar_paciente(TEXT)");
+    }
+
+    /**
+     * Guarda en {@code nombre_clave} la clave de cada nombre distinto de las
+     * citas vigentes, las archivadas y los pacientes.
+     */
+    private static void calcularClaves(Connection conexion) throws SQLException {
+        try (PreparedStatement nombres = conexion.prepareStatement("SELECT nombre_paciente FROM cita "
+                + "UNION SELECT nombre_paciente FROM cita_historico UNION SELECT nombre FROM paciente");
+                PreparedStatement insertar = conexion.prepareStatement(
+                        "INSERT INTO nombre_clave (nombre, limpio, clave) VALUES (?, ?, ?)")) {
+            nombres.setFetchSize(LOTE);
+            int pendientes = 0;
+            try (ResultSet filas = nombres.executeQuery()) {
+                while (filas.next()) {
+                    String nombre = filas.getString(1);
+                    insertar.setString(1, nombre);
+                    insertar.setString(2, nombre.strip());
+                    insertar.setString(3, normalizar(nombre));
+                    insertar.addBatch();
+                    if (++pendientes == LOTE) {
+                        insertar.executeBatch();
+                        pendientes = 0;
+                    }
+                }
+            }
+            if (pendientes > 0) {
+                insertar.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Normaliza un nombre de paciente: sin acentos, en minúsculas y con un
+     * solo espacio entre palabras. No se debe modificar.
+     */
+    private static String normalizar(String nombre) {
+        if (nombre == null) {
+            return "";
+        }
+        String sinAcentos = Normalizer.normalize(nombre, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return sinAcentos.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static void ejecutar(Connection conexion, String sentencia) throws SQLException {
+        try (Statement statement = conexion.createStatement()) {
+            statement.execute(sentencia);
+        }
+    }
+}
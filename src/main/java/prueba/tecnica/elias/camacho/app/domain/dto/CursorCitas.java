@@ -0,0 +1,70 @@
+package prueba.tecnica.elias.camacho.app.domain.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+
+/**
+ * Posición en el listado de citas ordenado por {@code (horario_consulta, id)}.
+ * Se entrega al cliente como un token opaco para pedir la siguiente página.
+ *
+ * @param horarioConsulta el horario de la última cita entregada.
+ * @param id              el ID de la última cita entregada.
+ *
+ * @see Cita
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public record CursorCitas(LocalDateTime horarioConsulta, Long id) {
+
+    /**
+     * Cursor anterior a cualquier cita.
+     */
+    public static final CursorCitas INICIO = new CursorCitas(LocalDateTime.of(1, 1, 1, 0, 0), 0L);
+
+    /**
+     * Crea el cursor que apunta a la cita indicada.
+     *
+     * @param cita la última cita entregada.
+     * @return el cursor.
+     */
+    public static CursorCitas de(Cita cita) {
+        return new CursorCitas(cita.getHorarioConsulta(), cita.getId());
+    }
+
+    /**
+     * Lee un token de continuación.
+     *
+     * @param token el token, o {@code null} para empezar desde el inicio.
+     * @return el cursor.
+     */
+    public static CursorCitas decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return INICIO;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = valor.indexOf('|');
+            return new CursorCitas(LocalDateTime.parse(valor.substring(0, separador)),
+                    Long.valueOf(valor.substring(separador + 1)));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El cursor no es válido.");
+        }
+    }
+
+    /**
+     * Genera el token de continuación.
+     *
+     * @return el token.
+     */
+    public String codificar() {
+        String valor = horarioConsulta + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+}
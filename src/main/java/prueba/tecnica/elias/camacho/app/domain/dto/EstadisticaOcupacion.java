@@ -0,0 +1,37 @@
+package prueba.tecnica.elias.camacho.app.domain.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Ocupación de un grupo de doctores o consultorios en un periodo.
+ *
+ * @param periodo     el primer día del periodo: el día, o el lunes de la
+ *                    semana.
+ * @param grupo       el ID del doctor o del consultorio, la especialidad o el
+ *                    piso.
+ * @param citas       el número de citas del grupo en el periodo.
+ * @param capacidad   el número máximo de citas del grupo en el periodo.
+ * @param utilizacion la proporción de la capacidad ocupada, de 0 a 1.
+ *
+ * @see OcupacionDiaria
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public record EstadisticaOcupacion(LocalDate periodo, String grupo, long citas, long capacidad,
+        double utilizacion) {
+
+    /**
+     * Agrupaciones de las estadísticas.
+     */
+    public enum Agrupacion {
+        DOCTOR, ESPECIALIDAD, CONSULTORIO, PISO
+    }
+
+    /**
+     * Periodos de las estadísticas.
+     */
+    public enum Periodo {
+        DIA, SEMANA
+    }
+}
@@ -0,0 +1,23 @@
+package prueba.tecnica.elias.camacho.app.domain.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+
+/**
+ * Horario libre en el que se puede agendar una {@link Cita}.
+ *
+ * @param horarioConsulta el horario libre.
+ * @param doctorId        el ID del doctor, o {@code null} si no se pidió uno.
+ * @param consultorioId   el ID del consultorio libre.
+ *
+ * @see Cita
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public record HorarioDisponible(@JsonFormat(pattern = "yyyy-MM-dd HH:mm") LocalDateTime horarioConsulta,
+        Long doctorId, Long consultorioId) {
+}
@@ -0,0 +1,22 @@
+package prueba.tecnica.elias.camacho.app.domain.dto;
+
+import java.time.LocalDate;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+
+/**
+ * Número de {@link Cita} de un doctor en un consultorio en un día, como se
+ * guarda en la tabla {@code cita_ocupacion_diaria}.
+ *
+ * @param dia           el día.
+ * @param doctorId      el ID del doctor.
+ * @param consultorioId el ID del consultorio.
+ * @param citas         el número de citas.
+ *
+ * @see EstadisticaOcupacion
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public record OcupacionDiaria(LocalDate dia, Long doctorId, Long consultorioId, int citas) {
+}
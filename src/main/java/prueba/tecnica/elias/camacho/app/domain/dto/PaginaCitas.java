@@ -0,0 +1,20 @@
+package prueba.tecnica.elias.camacho.app.domain.dto;
+
+import java.util.List;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+
+/**
+ * Página de citas obtenida por cursor.
+ *
+ * @param citas     las citas de la página.
+ * @param siguiente el token para pedir la siguiente página, o {@code null} si
+ *                  no hay más citas.
+ *
+ * @see CursorCitas
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public record PaginaCitas(List<Cita> citas, String siguiente) {
+}
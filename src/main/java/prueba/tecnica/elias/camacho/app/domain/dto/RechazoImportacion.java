@@ -0,0 +1,16 @@
+package prueba.tecnica.elias.camacho.app.domain.dto;
+
+/**
+ * Fila de un archivo CSV que no se importó.
+ *
+ * @param fila    el número de la fila en el archivo, sin contar el encabezado,
+ *                empezando en 1.
+ * @param mensaje la regla que no se cumple.
+ *
+ * @see ResultadoImportacion
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public record RechazoImportacion(long fila, String mensaje) {
+}
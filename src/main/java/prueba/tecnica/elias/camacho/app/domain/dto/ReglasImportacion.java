@@ -0,0 +1,24 @@
+package prueba.tecnica.elias.camacho.app.domain.dto;
+
+import java.time.Duration;
+
+/**
+ * Parámetros y mensajes de las reglas de alta con los que se validan las
+ * citas importadas en la base de datos.
+ *
+ * @param duracion            la duración de una cita.
+ * @param separacionPaciente  la separación mínima entre citas del paciente.
+ * @param maximoDiario        el máximo de citas diarias por doctor.
+ * @param mensajeConsultorio  el mensaje de la regla del consultorio.
+ * @param mensajeDoctor       el mensaje de la regla del doctor.
+ * @param mensajePaciente     el mensaje de la regla del paciente.
+ * @param mensajeMaximoDiario el mensaje de la regla del máximo diario.
+ *
+ * @see ResultadoImportacion
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public record ReglasImportacion(Duration duracion, Duration separacionPaciente, int maximoDiario,
+        String mensajeConsultorio, String mensajeDoctor, String mensajePaciente, String mensajeMaximoDiario) {
+}
@@ -0,0 +1,34 @@
+package prueba.tecnica.elias.camacho.app.domain.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+
+/**
+ * Lo que pasó con una {@link Cita} por la ausencia de su doctor.
+ *
+ * @param citaId          el ID de la cita.
+ * @param accion          lo que se hizo con la cita.
+ * @param doctorId        el doctor que atiende la cita, o {@code null} si se
+ *                        canceló.
+ * @param horarioConsulta el horario de la cita, o {@code null} si se canceló.
+ * @param mensaje         el motivo por el que no se pudo mover, o
+ *                        {@code null}.
+ *
+ * @see SolicitudAusencia
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public record ResultadoAusencia(Long citaId, Accion accion, Long doctorId,
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm") LocalDateTime horarioConsulta, String mensaje) {
+
+    /**
+     * Acciones sobre una cita.
+     */
+    public enum Accion {
+        CANCELADA, REASIGNADA, RECORRIDA, SIN_CAMBIO
+    }
+}
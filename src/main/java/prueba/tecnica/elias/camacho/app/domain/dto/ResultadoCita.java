@@ -0,0 +1,64 @@
+package prueba.tecnica.elias.camacho.app.domain.dto;
+
+import org.springframework.http.HttpStatus;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+
+/**
+ * Resultado de una {@link Cita} dentro de un lote.
+ *
+ * @param indice  la posición de la cita en el lote.
+ * @param estado  el código HTTP que corresponde a la cita.
+ * @param id      el ID asignado a la cita si se guardó, o {@code null}.
+ * @param mensaje el motivo por el que no se guardó la cita, o {@code null}.
+ *
+ * @see Cita
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public record ResultadoCita(int indice, int estado, Long id, String mensaje) {
+
+    /**
+     * Resultado de una cita guardada.
+     *
+     * @param indice la posición de la cita en el lote.
+     * @param id     el ID asignado a la cita.
+     * @return el resultado.
+     */
+    public static ResultadoCita creada(int indice, Long id) {
+        return new ResultadoCita(indice, HttpStatus.CREATED.value(), id, null);
+    }
+
+    /**
+     * Resultado de una cita que no cumple las reglas de negocio.
+     *
+     * @param indice  la posición de la cita en el lote.
+     * @param mensaje la regla que no se cumple.
+     * @return el resultado.
+     */
+    public static ResultadoCita rechazada(int indice, String mensaje) {
+        return new ResultadoCita(indice, HttpStatus.BAD_REQUEST.value(), null, mensaje);
+    }
+
+    /**
+     * Resultado de una cita válida que no se guardó porque otra cita del lote
+     * fue rechazada.
+     *
+     * @param indice la posición de la cita en el lote.
+     * @return el resultado.
+     */
+    public static ResultadoCita omitida(int indice) {
+        return new ResultadoCita(indice, HttpStatus.FAILED_DEPENDENCY.value(), null,
+                "No se guardó porque otra cita del lote fue rechazada.");
+    }
+
+    /**
+     * Indica si la cita se guardó.
+     *
+     * @return {@code true} si la cita se guardó.
+     */
+    public boolean guardada() {
+        return id != null;
+    }
+}
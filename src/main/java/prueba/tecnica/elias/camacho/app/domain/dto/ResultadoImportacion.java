@@ -0,0 +1,28 @@
+package prueba.tecnica.elias.camacho.app.domain.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de importar un archivo CSV.
+ *
+ * @param filas      el número de filas leídas, sin contar el encabezado.
+ * @param importadas el número de filas guardadas.
+ * @param rechazadas el número de filas que no cumplen alguna regla.
+ * @param rechazos   las primeras filas rechazadas, en orden de fila.
+ *
+ * @see RechazoImportacion
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public record ResultadoImportacion(long filas, long importadas, long rechazadas, List<RechazoImportacion> rechazos) {
+
+    /**
+     * Indica si se guardaron todas las filas.
+     *
+     * @return {@code true} si no se rechazó ni omitió ninguna fila.
+     */
+    public boolean completa() {
+        return importadas == filas;
+    }
+}
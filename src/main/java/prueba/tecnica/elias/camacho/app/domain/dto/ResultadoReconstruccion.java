@@ -0,0 +1,19 @@
+package prueba.tecnica.elias.camacho.app.domain.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Resultado de recalcular la ocupación diaria de un rango de días.
+ *
+ * @param desde   el primer día recalculado, o {@code null} si no hay citas.
+ * @param hasta   el último día recalculado, o {@code null} si no hay citas.
+ * @param bloques el número de bloques de días que se recalcularon en paralelo.
+ * @param filas   el número de filas de ocupación escritas.
+ *
+ * @see OcupacionDiaria
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public record ResultadoReconstruccion(LocalDate desde, LocalDate hasta, int bloques, long filas) {
+}
@@ -0,0 +1,40 @@
+package prueba.tecnica.elias.camacho.app.domain.dto;
+
+import java.time.LocalDate;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.Doctor;
+
+/**
+ * Ausencia de un {@link Doctor} y lo que se debe hacer con sus citas.
+ *
+ * @param desde    el primer día de la ausencia.
+ * @param hasta    el último día de la ausencia.
+ * @param politica lo que se hace con cada cita del doctor en esos días.
+ *
+ * @see ResultadoAusencia
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public record SolicitudAusencia(LocalDate desde, LocalDate hasta, Politica politica) {
+
+    /**
+     * Políticas para las citas de un doctor ausente.
+     */
+    public enum Politica {
+        /**
+         * Cancelar las citas.
+         */
+        CANCELAR,
+        /**
+         * Pasar cada cita, a la misma hora y en el mismo consultorio, a otro doctor
+         * de la misma especialidad.
+         */
+        REASIGNAR,
+        /**
+         * Mover cada cita al siguiente horario libre del mismo doctor y consultorio
+         * después de la ausencia.
+         */
+        RECORRER
+    }
+}
@@ -0,0 +1,31 @@
+package prueba.tecnica.elias.camacho.app.domain.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+
+/**
+ * Solicitud de una {@link Cita} sin consultorio; el servidor asigna uno
+ * libre.
+ *
+ * @param doctorId        el ID del doctor.
+ * @param horarioConsulta el horario de la consulta.
+ * @param nombrePaciente  el nombre del paciente.
+ *
+ * @see Cita
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public record SolicitudCita(
+        @NotNull(message = "El doctor no puede ser nulo") Long doctorId,
+        @NotNull(message = "El horario de consulta no puede ser nulo")
+        @Future(message = "El horario de consulta debe ser una fecha futura")
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm") LocalDateTime horarioConsulta,
+        @NotBlank(message = "El nombre del paciente no puede estar en blanco") String nombrePaciente) {
+}
@@ -4,6 +4,7 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Future;
@@ -17,6 +18,7 @@ import lombok.Setter;
  * 
  * @see Doctor
  * @see Consultorio
+ * @see Paciente
  * @author Elias Camacho Ramirez
  * @date 06-12-2024
  * @version 1.0.0
@@ -24,22 +26,35 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "cita", indexes = { @Index(name = "idx_cita_id", columnList = "id") })
+@NamedEntityGraph(name = Cita.GRAFO_AGENDA, attributeNodes = { @NamedAttributeNode("doctor"),
+        @NamedAttributeNode("consultorio") })
+@Table(name = "cita", indexes = {
+        @Index(name = "idx_cita_horario_id", columnList = "horario_consulta, id") }, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_cita_doctor_horario", columnNames = { "doctor_id", "horario_consulta" }),
+        @UniqueConstraint(name = "uk_cita_consultorio_horario", columnNames = { "consultorio_id",
+                "horario_consulta" }) })
 public class Cita implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Grafo que carga la cita junto con su doctor y su consultorio en una sola
+     * consulta, para las lecturas que se serializan completas.
+     */
+    public static final String GRAFO_AGENDA = "Cita.agenda";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cita_seq")
+    @SequenceGenerator(name = "cita_seq", sequenceName = "cita_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "El consultorio no puede ser nulo")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "consultorio_id", nullable = false)
     private Consultorio consultorio;
 
     @NotNull(message = "El doctor no puede ser nulo")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id", nullable = false)
     private Doctor doctor;
 
@@ -49,6 +64,15 @@ public class Cita implements Serializable {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
     private LocalDateTime horarioConsulta;
 
+    /**
+     * El paciente al que corresponde {@link #nombrePaciente}; lo asigna el
+     * servicio de citas al guardar.
+     */
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "paciente_id", nullable = false)
+    private Paciente paciente;
+
     @NotNull(message = "El nombre del paciente no puede ser nulo")
     @NotBlank(message = "El nombre del paciente no puede estar en blanco")
     @Column(name = "nombre_paciente", nullable = false)
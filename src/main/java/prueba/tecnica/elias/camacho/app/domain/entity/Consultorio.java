@@ -18,7 +18,7 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "consultorio", indexes = { @Index(name = "idx_consultorio_id", columnList = "id") })
+@Table(name = "consultorio")
 public class Consultorio {
 
     @Id
@@ -19,7 +19,7 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "doctor", indexes = { @Index(name = "idx_doctor_id", columnList = "id") })
+@Table(name = "doctor")
 public class Doctor extends Persona {
 
     @Id
@@ -0,0 +1,61 @@
+package prueba.tecnica.elias.camacho.app.domain.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaEvento;
+
+/**
+ * Cambio de una {@link Cita} pendiente de publicar a los sistemas externos. Se
+ * guarda en la misma transacción que el cambio y se marca como publicado
+ * cuando el destino lo recibe.
+ * 
+ * @see CitaEvento
+ * @author Elias Camacho Ramirez
+ * @date 17-10-2026
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "cita_outbox")
+public class EventoOutbox {
+
+    /**
+     * Se asigna de uno en uno para que el orden de los IDs siga el orden de los
+     * cambios de una misma cita aunque se hagan desde varias instancias.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cita_outbox_seq")
+    @SequenceGenerator(name = "cita_outbox_seq", sequenceName = "cita_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "cita_id", nullable = false)
+    private Long citaId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private CitaEvento.Tipo tipo;
+
+    /**
+     * El evento en JSON.
+     */
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime creado;
+
+    private LocalDateTime publicado;
+
+    public EventoOutbox(CitaEvento evento, String payload) {
+        this.citaId = evento.citaId();
+        this.tipo = evento.tipo();
+        this.payload = payload;
+        this.creado = LocalDateTime.now();
+    }
+}
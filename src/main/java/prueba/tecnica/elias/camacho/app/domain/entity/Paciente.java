@@ -0,0 +1,41 @@
+package prueba.tecnica.elias.camacho.app.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Clase que representa a un paciente. Dos nombres que sólo difieren en
+ * acentos, mayúsculas o espacios corresponden al mismo paciente.
+ * 
+ * @see Cita
+ * @author Elias Camacho Ramirez
+ * @date 17-10-2026
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "paciente", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_paciente_nombre_normalizado", columnNames = "nombre_normalizado") })
+public class Paciente {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * El nombre como se capturó.
+     */
+    @Column(name = "nombre", nullable = false)
+    private String nombre;
+
+    /**
+     * El nombre sin acentos, sin espacios repetidos y en minúsculas.
+     */
+    @JsonIgnore
+    @Column(name = "nombre_normalizado", nullable = false)
+    private String nombreNormalizado;
+}
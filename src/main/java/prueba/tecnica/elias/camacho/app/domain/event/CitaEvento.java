@@ -0,0 +1,36 @@
+package prueba.tecnica.elias.camacho.app.domain.event;
+
+/**
+ * Evento publicado por el servicio de citas cada vez que una cita se crea, se
+ * edita, se cancela o se elimina. Los consumidores lo reciben una vez que la
+ * transacción se confirma.
+ *
+ * @param tipo     el tipo de modificación.
+ * @param anterior el estado de la cita antes de la modificación, o
+ *                 {@code null} si la cita es nueva.
+ * @param actual   el estado de la cita después de la modificación, o
+ *                 {@code null} si la cita se canceló o eliminó.
+ *
+ * @see CitaSlot
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public record CitaEvento(Tipo tipo, CitaSlot anterior, CitaSlot actual) {
+
+    /**
+     * Tipos de modificación de una cita.
+     */
+    public enum Tipo {
+        CREADA, EDITADA, CANCELADA, ELIMINADA
+    }
+
+    /**
+     * Obtiene el ID de la cita afectada.
+     *
+     * @return el ID de la cita.
+     */
+    public Long citaId() {
+        return actual != null ? actual.id() : anterior.id();
+    }
+}
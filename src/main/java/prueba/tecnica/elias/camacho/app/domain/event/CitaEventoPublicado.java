@@ -0,0 +1,37 @@
+package prueba.tecnica.elias.camacho.app.domain.event;
+
+import java.time.LocalDateTime;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.EventoOutbox;
+
+/**
+ * Cambio de una cita tal como se entrega a los sistemas externos. El
+ * {@code id} crece con cada cambio, por lo que los cambios de una misma cita
+ * se entregan en orden; un destino puede recibir un cambio más de una vez y
+ * debe descartar los IDs que ya procesó.
+ *
+ * @param id      el ID del cambio.
+ * @param citaId  el ID de la cita.
+ * @param tipo    el tipo de cambio.
+ * @param payload el {@link CitaEvento} en JSON.
+ * @param creado  el momento del cambio.
+ *
+ * @see EventoOutbox
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public record CitaEventoPublicado(Long id, Long citaId, CitaEvento.Tipo tipo, String payload,
+        LocalDateTime creado) {
+
+    /**
+     * Crea el cambio a partir de su registro en la bandeja de salida.
+     *
+     * @param evento el registro.
+     * @return el cambio.
+     */
+    public static CitaEventoPublicado de(EventoOutbox evento) {
+        return new CitaEventoPublicado(evento.getId(), evento.getCitaId(), evento.getTipo(), evento.getPayload(),
+                evento.getCreado());
+    }
+}
@@ -0,0 +1,41 @@
+package prueba.tecnica.elias.camacho.app.domain.event;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+
+/**
+ * Copia inmutable de los datos de una {@link Cita} que ocupan un horario.
+ * Se usa para describir el estado de una cita antes y después de una
+ * modificación sin depender de la entidad administrada por JPA.
+ *
+ * @param id              el ID de la cita.
+ * @param doctorId        el ID del doctor.
+ * @param consultorioId   el ID del consultorio.
+ * @param horarioConsulta el horario de la consulta.
+ * @param nombrePaciente  el nombre del paciente.
+ *
+ * @see CitaEvento
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public record CitaSlot(Long id, Long doctorId, Long consultorioId,
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm") LocalDateTime horarioConsulta, String nombrePaciente) {
+
+    /**
+     * Crea la copia a partir de una cita.
+     *
+     * @param cita la cita a copiar.
+     * @return la copia de la cita.
+     */
+    public static CitaSlot de(Cita cita) {
+        return new CitaSlot(cita.getId(),
+                cita.getDoctor() != null ? cita.getDoctor().getId() : null,
+                cita.getConsultorio() != null ? cita.getConsultorio().getId() : null,
+                cita.getHorarioConsulta(),
+                cita.getNombrePaciente());
+    }
+}
@@ -0,0 +1,28 @@
+package prueba.tecnica.elias.camacho.app.domain.event;
+
+import java.util.List;
+
+/**
+ * Evento publicado por la importación de citas, por partes, una vez que la
+ * transacción se confirma. Cada cita equivale a un {@link CitaEvento} de tipo
+ * {@code CREADA}, cuyo registro en el outbox y en las estadísticas ya se hizo
+ * en bloque dentro de la transacción.
+ *
+ * @param citas las citas importadas de esta parte.
+ *
+ * @see CitaEvento
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public record CitasImportadas(List<CitaSlot> citas) {
+
+    /**
+     * Obtiene el evento de alta de cada cita.
+     *
+     * @return los eventos, en el orden de las citas.
+     */
+    public List<CitaEvento> eventos() {
+        return citas.stream().map(slot -> new CitaEvento(CitaEvento.Tipo.CREADA, null, slot)).toList();
+    }
+}
@@ -0,0 +1,78 @@
+package prueba.tecnica.elias.camacho.app.domain.event;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Identifica la agenda de un día de un doctor o de un consultorio.
+ *
+ * @param dia       el día de la agenda.
+ * @param recurso   si la agenda es de un doctor o de un consultorio.
+ * @param recursoId el ID del doctor o del consultorio.
+ *
+ * @see CitaEvento
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public record ClaveAgenda(LocalDate dia, Recurso recurso, Long recursoId) {
+
+    /**
+     * Recursos que tienen agenda.
+     */
+    public enum Recurso {
+        DOCTOR, CONSULTORIO
+    }
+
+    /**
+     * Agenda de un doctor en un día.
+     *
+     * @param dia      el día.
+     * @param doctorId el ID del doctor.
+     * @return la clave de la agenda.
+     */
+    public static ClaveAgenda doctor(LocalDate dia, Long doctorId) {
+        return new ClaveAgenda(dia, Recurso.DOCTOR, doctorId);
+    }
+
+    /**
+     * Agenda de un consultorio en un día.
+     *
+     * @param dia           el día.
+     * @param consultorioId el ID del consultorio.
+     * @return la clave de la agenda.
+     */
+    public static ClaveAgenda consultorio(LocalDate dia, Long consultorioId) {
+        return new ClaveAgenda(dia, Recurso.CONSULTORIO, consultorioId);
+    }
+
+    /**
+     * Obtiene las agendas en las que aparece una cita.
+     *
+     * @param slot la cita.
+     * @return la agenda del doctor y la del consultorio en el día de la cita.
+     */
+    public static List<ClaveAgenda> de(CitaSlot slot) {
+        LocalDate dia = slot.horarioConsulta().toLocalDate();
+        return List.of(doctor(dia, slot.doctorId()), consultorio(dia, slot.consultorioId()));
+    }
+
+    /**
+     * Obtiene las agendas afectadas por un evento, antes y después del cambio.
+     *
+     * @param evento el evento.
+     * @return las agendas afectadas, sin repetir.
+     */
+    public static List<ClaveAgenda> de(CitaEvento evento) {
+        if (evento.anterior() == null) {
+            return de(evento.actual());
+        }
+        if (evento.actual() == null) {
+            return de(evento.anterior());
+        }
+        return Stream.concat(de(evento.anterior()).stream(), de(evento.actual()).stream())
+                .distinct()
+                .toList();
+    }
+}
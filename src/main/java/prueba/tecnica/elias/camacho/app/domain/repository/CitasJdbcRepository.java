@@ -0,0 +1,171 @@
+package prueba.tecnica.elias.camacho.app.domain.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import prueba.tecnica.elias.camacho.app.domain.dto.CursorCitas;
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
+
+/**
+ * Repositorio JDBC para las operaciones sobre la tabla de {@link Cita} que no
+ * pasan por JPA: recorrerla con un cursor del servidor, sin cargar las
+ * entidades ni la tabla completa en memoria, y administrar sus particiones
+ * mensuales y el histórico.
+ *
+ * @see Cita
+ *
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Repository
+public class CitasJdbcRepository {
+
+    /**
+     * Número de filas que el driver trae de la base de datos en cada viaje.
+     */
+    private static final int FILAS_POR_VIAJE = 500;
+
+    /**
+     * Primera llave de los candados de las franjas de citas; la segunda es el
+     * número de franja.
+     */
+    private static final int CANDADO_FRANJAS = 0x63697461;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CitasJdbcRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FILAS_POR_VIAJE);
+    }
+
+    /**
+     * Recorre todas las citas ordenadas por horario e ID. PostgreSQL sólo usa un
+     * cursor del servidor dentro de una transacción, por lo que se debe invocar
+     * dentro de una.
+     *
+     * @param consumidor recibe cada cita conforme se lee.
+     */
+    public void recorrer(Consumer<CitaSlot> consumidor) {
+        jdbcTemplate.query("SELECT id, doctor_id, consultorio_id, horario_consulta, nombre_paciente FROM cita "
+                + "ORDER BY horario_consulta, id",
+                rs -> {
+                    consumidor.accept(slot(rs));
+                });
+    }
+
+    /**
+     * Toma los candados de PostgreSQL de las franjas indicadas, en orden
+     * ascendente, hasta que termine la transacción actual. Así las reservas de
+     * distintas instancias sobre las mismas franjas también se esperan.
+     *
+     * @param franjas las franjas a bloquear.
+     * @param espera  la espera máxima por cada candado.
+     * @throws CannotAcquireLockException si algún candado no se obtiene a
+     *                                    tiempo.
+     */
+    public void bloquearFranjas(Collection<Integer> franjas, Duration espera) {
+        jdbcTemplate.queryForObject("SELECT bloquear_franjas_cita(?, ?, ?)", Integer.class, CANDADO_FRANJAS,
+                franjas.toArray(Integer[]::new), Math.toIntExact(espera.toMillis()));
+    }
+
+    /**
+     * Busca las citas de un rango de horario que ocupan alguno de los doctores,
+     * consultorios o pacientes indicados.
+     *
+     * @param doctores     los IDs de los doctores.
+     * @param consultorios los IDs de los consultorios.
+     * @param pacientes    los nombres normalizados de los pacientes.
+     * @param desde        el inicio del rango, inclusivo.
+     * @param hasta        el fin del rango, exclusivo.
+     * @return las citas encontradas.
+     */
+    public List<CitaSlot> buscarOcupacion(Collection<Long> doctores, Collection<Long> consultorios,
+            Collection<String> pacientes, LocalDateTime desde, LocalDateTime hasta) {
+        // Una consulta por recurso, para que cada una use su índice con el rango.
+        String columnas = "SELECT c.id, c.doctor_id, c.consultorio_id, c.horario_consulta, c.nombre_paciente "
+                + "FROM %s WHERE c.horario_consulta >= ? AND c.horario_consulta < ? AND %s";
+        Timestamp inicio = Timestamp.valueOf(desde);
+        Timestamp fin = Timestamp.valueOf(hasta);
+        return jdbcTemplate.query(String.format(columnas, "cita c", "c.doctor_id = ANY(?)") + " UNION "
+                + String.format(columnas, "cita c", "c.consultorio_id = ANY(?)") + " UNION "
+                + String.format(columnas, "paciente p JOIN cita c ON c.paciente_id = p.id",
+                        "p.nombre_normalizado = ANY(?)"),
+                (rs, fila) -> slot(rs), inicio, fin, doctores.toArray(Long[]::new), inicio, fin,
+                consultorios.toArray(Long[]::new), inicio, fin, pacientes.toArray(String[]::new));
+    }
+
+    /**
+     * Crea la partición mensual de la tabla de citas, si no existe.
+     *
+     * @param mes cualquier día del mes de la partición.
+     */
+    public void crearParticion(LocalDate mes) {
+        jdbcTemplate.queryForList("SELECT crear_particion_cita(?)", mes);
+    }
+
+    /**
+     * Mueve a la tabla {@code cita_historico} las particiones de los meses
+     * anteriores a la fecha indicada.
+     *
+     * @param antesDe la fecha límite; se archivan los meses que terminan antes.
+     * @return el número de particiones archivadas.
+     */
+    public int archivarParticiones(LocalDate antesDe) {
+        Integer archivadas = jdbcTemplate.queryForObject("SELECT archivar_particiones_cita(?)", Integer.class,
+                antesDe);
+        return archivadas != null ? archivadas : 0;
+    }
+
+    /**
+     * Busca citas archivadas en un rango de horario, ordenadas por horario e ID
+     * a partir del cursor indicado.
+     *
+     * @param desde         el inicio del rango, inclusivo.
+     * @param hasta         el fin del rango, exclusivo.
+     * @param doctorId      el ID del doctor, o {@code null}.
+     * @param consultorioId el ID del consultorio, o {@code null}.
+     * @param cursor        la última cita de la página anterior.
+     * @param limite        el número máximo de citas.
+     * @return las citas archivadas.
+     */
+    public List<CitaSlot> buscarHistorico(LocalDate desde, LocalDate hasta, Long doctorId, Long consultorioId,
+            CursorCitas cursor, int limite) {
+        StringBuilder sql = new StringBuilder("SELECT id, doctor_id, consultorio_id, horario_consulta, "
+                + "nombre_paciente FROM cita_historico WHERE horario_consulta >= ? AND horario_consulta < ? "
+                + "AND (horario_consulta, id) > (?, ?)");
+        List<Object> parametros = new ArrayList<>(List.of(Timestamp.valueOf(desde.atStartOfDay()),
+                Timestamp.valueOf(hasta.atStartOfDay()), Timestamp.valueOf(cursor.horarioConsulta()), cursor.id()));
+        if (doctorId != null) {
+            sql.append(" AND doctor_id = ?");
+            parametros.add(doctorId);
+        }
+        if (consultorioId != null) {
+            sql.append(" AND consultorio_id = ?");
+            parametros.add(consultorioId);
+        }
+        sql.append(" ORDER BY horario_consulta, id LIMIT ?");
+        parametros.add(limite);
+        return jdbcTemplate.query(sql.toString(), (rs, fila) -> slot(rs), parametros.toArray());
+    }
+
+    private static CitaSlot slot(ResultSet rs) throws SQLException {
+        return new CitaSlot(rs.getLong("id"), rs.getLong("doctor_id"), rs.getLong("consultorio_id"),
+                rs.getTimestamp("horario_consulta").toLocalDateTime(), rs.getString("nombre_paciente"));
+    }
+}
@@ -0,0 +1,117 @@
+package prueba.tecnica.elias.camacho.app.domain.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
+import reactor.core.publisher.Flux;
+
+/**
+ * Repositorio R2DBC de sólo lectura para las consultas de agenda de
+ * {@link Cita}, sin bloquear un hilo mientras la base de datos responde. Se
+ * activa al definir {@code citas.reactivo.url}.
+ *
+ * <p>
+ * El pool de conexiones no se publica como bean: un {@code ConnectionFactory}
+ * en el contexto haría que Spring Boot dejara de configurar el
+ * {@code DataSource} de JPA.
+ *
+ * @see Cita
+ *
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Repository
+@ConditionalOnProperty("citas.reactivo.url")
+public class CitasReactivoRepository implements DisposableBean {
+
+    private static final String COLUMNAS = "SELECT id, doctor_id, consultorio_id, horario_consulta, "
+            + "nombre_paciente FROM cita ";
+
+    /**
+     * Número de filas que el driver pide a la base de datos en cada viaje; el
+     * siguiente lote sólo se pide cuando el suscriptor lo demanda.
+     */
+    private static final int FILAS_POR_VIAJE = 500;
+
+    private final ConnectionPool pool;
+
+    private final DatabaseClient client;
+
+    public CitasReactivoRepository(@Value("${citas.reactivo.url}") String url,
+            @Value("${citas.reactivo.username:${spring.datasource.username:}}") String username,
+            @Value("${citas.reactivo.password:${spring.datasource.password:}}") String password,
+            @Value("${citas.reactivo.conexiones:10}") int conexiones) {
+        ConnectionFactoryOptions opciones = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opciones))
+                .maxSize(conexiones).build());
+        this.client = DatabaseClient.create(pool);
+    }
+
+    /**
+     * Recorre todas las citas ordenadas por horario e ID.
+     *
+     * @return las citas, conforme el suscriptor las pide.
+     */
+    public Flux<CitaSlot> recorrer() {
+        return client.sql(COLUMNAS + "ORDER BY horario_consulta, id")
+                .filter(statement -> statement.fetchSize(FILAS_POR_VIAJE))
+                .map(CitasReactivoRepository::slot)
+                .all();
+    }
+
+    public Flux<CitaSlot> findByHorarioConsultaBetween(LocalDateTime inicio, LocalDateTime fin) {
+        return client.sql(COLUMNAS + "WHERE horario_consulta BETWEEN :inicio AND :fin")
+                .bind("inicio", inicio)
+                .bind("fin", fin)
+                .map(CitasReactivoRepository::slot)
+                .all();
+    }
+
+    public Flux<CitaSlot> findByConsultorioIdAndHorarioConsultaBetween(Long consultorioId, LocalDateTime inicio,
+            LocalDateTime fin) {
+        return client.sql(COLUMNAS + "WHERE consultorio_id = :consultorioId "
+                + "AND horario_consulta BETWEEN :inicio AND :fin")
+                .bind("consultorioId", consultorioId)
+                .bind("inicio", inicio)
+                .bind("fin", fin)
+                .map(CitasReactivoRepository::slot)
+                .all();
+    }
+
+    public Flux<CitaSlot> findByDoctorIdAndHorarioConsultaBetween(Long doctorId, LocalDateTime inicio,
+            LocalDateTime fin) {
+        return client.sql(COLUMNAS + "WHERE doctor_id = :doctorId AND horario_consulta BETWEEN :inicio AND :fin")
+                .bind("doctorId", doctorId)
+                .bind("inicio", inicio)
+                .bind("fin", fin)
+                .map(CitasReactivoRepository::slot)
+                .all();
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+
+    private static CitaSlot slot(Readable fila) {
+        return new CitaSlot(fila.get("id", Long.class), fila.get("doctor_id", Long.class),
+                fila.get("consultorio_id", Long.class), fila.get("horario_consulta", LocalDateTime.class),
+                fila.get("nombre_paciente", String.class));
+    }
+}
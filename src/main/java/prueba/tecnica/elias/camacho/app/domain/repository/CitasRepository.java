@@ -2,13 +2,17 @@ package prueba.tecnica.elias.camacho.app.domain.repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
-import prueba.tecnica.elias.camacho.app.domain.entity.Consultorio;
-import prueba.tecnica.elias.camacho.app.domain.entity.Doctor;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
 
 /**
  * Repositorio para la entidad {@link Cita}.
@@ -22,23 +26,43 @@ import prueba.tecnica.elias.camacho.app.domain.entity.Doctor;
  */
 @Repository
 public interface CitasRepository extends JpaRepository<Cita, Long> {
-    boolean existsByConsultorioAndHorarioConsultaBetween(Consultorio consultorio, LocalDateTime inicio,
-            LocalDateTime fin);
+    @Override
+    @EntityGraph(Cita.GRAFO_AGENDA)
+    Optional<Cita> findById(Long id);
 
-    boolean existsByDoctorAndHorarioConsultaBetween(Doctor doctor, LocalDateTime inicio, LocalDateTime fin);
+    @EntityGraph(Cita.GRAFO_AGENDA)
+    List<Cita> findByHorarioConsultaBetween(LocalDateTime inicio, LocalDateTime fin);
 
-    boolean existsByNombrePacienteAndHorarioConsultaBetween(String nombrePaciente, LocalDateTime inicio,
+    @EntityGraph(Cita.GRAFO_AGENDA)
+    List<Cita> findByConsultorioIdAndHorarioConsultaBetween(Long consultorioId, LocalDateTime inicio,
             LocalDateTime fin);
 
-    List<Cita> findByNombrePacienteAndHorarioConsultaBetween(String nombrePaciente, LocalDateTime inicio,
-            LocalDateTime fin);
+    @EntityGraph(Cita.GRAFO_AGENDA)
+    List<Cita> findByDoctorIdAndHorarioConsultaBetween(Long doctorId, LocalDateTime inicio, LocalDateTime fin);
 
-    long countByDoctorAndHorarioConsultaBetween(Doctor doctor, LocalDateTime inicio, LocalDateTime fin);
+    @Query("SELECT c FROM Cita c JOIN FETCH c.doctor JOIN FETCH c.consultorio "
+            + "WHERE (c.horarioConsulta, c.id) > (:horario, :id) ORDER BY c.horarioConsulta, c.id")
+    List<Cita> findPagina(@Param("horario") LocalDateTime horario, @Param("id") Long id, Limit limite);
 
-    List<Cita> findByHorarioConsultaBetween(LocalDateTime inicio, LocalDateTime fin);
+    @Query("SELECT c FROM Cita c JOIN FETCH c.doctor JOIN FETCH c.consultorio WHERE c.doctor.id = :doctorId "
+            + "AND (c.horarioConsulta, c.id) > (:horario, :id) ORDER BY c.horarioConsulta, c.id")
+    List<Cita> findPaginaPorDoctor(@Param("doctorId") Long doctorId, @Param("horario") LocalDateTime horario,
+            @Param("id") Long id, Limit limite);
 
-    List<Cita> findByConsultorioIdAndHorarioConsultaBetween(Long consultorioId, LocalDateTime inicio,
-            LocalDateTime fin);
+    @Query("SELECT c FROM Cita c JOIN FETCH c.doctor JOIN FETCH c.consultorio "
+            + "WHERE c.consultorio.id = :consultorioId "
+            + "AND (c.horarioConsulta, c.id) > (:horario, :id) ORDER BY c.horarioConsulta, c.id")
+    List<Cita> findPaginaPorConsultorio(@Param("consultorioId") Long consultorioId,
+            @Param("horario") LocalDateTime horario, @Param("id") Long id, Limit limite);
 
-    List<Cita> findByDoctorIdAndHorarioConsultaBetween(Long doctorId, LocalDateTime inicio, LocalDateTime fin);
+    @Query("SELECT c FROM Cita c JOIN FETCH c.doctor JOIN FETCH c.consultorio WHERE c.doctor.id = :doctorId "
+            + "AND c.consultorio.id = :consultorioId "
+            + "AND (c.horarioConsulta, c.id) > (:horario, :id) ORDER BY c.horarioConsulta, c.id")
+    List<Cita> findPaginaPorDoctorYConsultorio(@Param("doctorId") Long doctorId,
+            @Param("consultorioId") Long consultorioId, @Param("horario") LocalDateTime horario,
+            @Param("id") Long id, Limit limite);
+
+    @Query("SELECT new prueba.tecnica.elias.camacho.app.domain.event.CitaSlot(c.id, c.doctor.id, c.consultorio.id, "
+            + "c.horarioConsulta, c.nombrePaciente) FROM Cita c WHERE c.horarioConsulta >= :desde")
+    List<CitaSlot> findSlotsDesde(@Param("desde") LocalDateTime desde);
 }
@@ -1,5 +1,7 @@
 package prueba.tecnica.elias.camacho.app.domain.repository;
 
+import java.util.List;
+
 import org.springframework.stereotype.Repository;
 
 import prueba.tecnica.elias.camacho.app.domain.entity.Doctor;
@@ -19,4 +21,5 @@ import org.springframework.data.jpa.repository.JpaRepository;
 @Repository
 public interface DoctoresRepository extends JpaRepository<Doctor, Long> {
 
+    List<Doctor> findByEspecialidadAndIdNot(String especialidad, Long id);
 }
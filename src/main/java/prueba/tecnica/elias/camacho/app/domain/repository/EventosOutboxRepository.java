@@ -0,0 +1,56 @@
+package prueba.tecnica.elias.camacho.app.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.EventoOutbox;
+
+/**
+ * Repositorio para la entidad {@link EventoOutbox}.
+ * 
+ * @see EventoOutbox
+ * 
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Repository
+public interface EventosOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    /**
+     * Toma el turno de publicar hasta que termine la transacción, para que una
+     * sola instancia publique a la vez y se respete el orden de los eventos.
+     *
+     * @param llave la llave del candado.
+     * @return {@code true} si se obtuvo el turno.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:llave)", nativeQuery = true)
+    boolean tomarTurno(@Param("llave") long llave);
+
+    @Query("SELECT e FROM EventoOutbox e WHERE e.publicado IS NULL ORDER BY e.id")
+    List<EventoOutbox> findPendientes(Limit limite);
+
+    @Modifying
+    @Query("UPDATE EventoOutbox e SET e.publicado = :publicado WHERE e.id IN :ids")
+    int marcarPublicados(@Param("ids") List<Long> ids, @Param("publicado") LocalDateTime publicado);
+
+    /**
+     * Obtiene el número de eventos pendientes y la fecha del más antiguo.
+     *
+     * @return una fila con el número de eventos y la fecha, que es
+     *         {@code null} si no hay pendientes.
+     */
+    @Query("SELECT COUNT(e), MIN(e.creado) FROM EventoOutbox e WHERE e.publicado IS NULL")
+    List<Object[]> resumenPendientes();
+
+    @Modifying
+    @Query("DELETE FROM EventoOutbox e WHERE e.publicado < :antesDe")
+    int deletePublicadosAntesDe(@Param("antesDe") LocalDateTime antesDe);
+}
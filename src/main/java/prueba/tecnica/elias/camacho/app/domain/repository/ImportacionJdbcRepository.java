@@ -0,0 +1,548 @@
+package prueba.tecnica.elias.camacho.app.domain.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import prueba.tecnica.elias.camacho.app.domain.dto.RechazoImportacion;
+import prueba.tecnica.elias.camacho.app.domain.dto.ReglasImportacion;
+import prueba.tecnica.elias.camacho.app.domain.dto.ResultadoImportacion;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
+
+/**
+ * Repositorio JDBC para importar y exportar citas, doctores y consultorios en
+ * CSV con el {@code COPY} de PostgreSQL, que transfiere las filas sin
+ * convertirlas en sentencias ni cargarlas en memoria.
+ *
+ * <p>
+ * Las citas se importan primero a la tabla temporal {@code cita_importacion},
+ * donde se validan en orden de fila y desde donde se insertan las válidas.
+ * Cada fila rechazada guarda la primera regla que no cumple. Las tablas
+ * temporales se eliminan al terminar la transacción, por lo que todos
+ * los métodos de importación se deben invocar dentro de la misma.
+ *
+ * @see CitasJdbcRepository
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Repository
+public class ImportacionJdbcRepository {
+
+    /**
+     * IDs que reserva cada valor de {@code cita_seq}; igual al
+     * {@code allocationSize} de la entidad de citas.
+     */
+    private static final int IDS_POR_BLOQUE = 50;
+
+    /**
+     * Une cada fila {@code s} de {@code cita_importacion} con su bloque
+     * {@code b} de {@code cita_importacion_ids}.
+     */
+    private static final String BLOQUE = "b.bloque = (s.fila - 1) / " + IDS_POR_BLOQUE;
+
+    /**
+     * El ID de la fila {@code s} dentro de su bloque {@code b}.
+     */
+    private static final String ID = "b.tope - " + (IDS_POR_BLOQUE - 1) + " + mod(s.fila - 1, " + IDS_POR_BLOQUE
+            + ")";
+
+    /**
+     * Llave del candado de PostgreSQL que ordena las importaciones de citas.
+     */
+    private static final int CANDADO_IMPORTACION = 0x696d706f;
+
+    /**
+     * Filas que se leen o se guardan por lote al recorrer las citas cargadas.
+     */
+    private static final int LOTE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ImportacionJdbcRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Escribe en CSV las citas vigentes y archivadas de un rango de días,
+     * ordenadas por horario e ID.
+     *
+     * @param desde  el primer día, inclusivo.
+     * @param hasta  el último día, inclusivo.
+     * @param salida el destino del CSV.
+     * @return el número de citas escritas.
+     */
+    public long exportarCitas(LocalDate desde, LocalDate hasta, OutputStream salida) {
+        // COPY no acepta parámetros; las fechas se escriben en formato ISO.
+        String rango = "horario_consulta >= DATE '" + desde + "' AND horario_consulta < DATE '" + hasta.plusDays(1)
+                + "'";
+        return copiarA("SELECT id, doctor_id, consultorio_id, "
+                + "to_char(horario_consulta, 'YYYY-MM-DD HH24:MI') AS horario_consulta, nombre_paciente FROM ("
+                + "SELECT id, doctor_id, consultorio_id, horario_consulta, nombre_paciente FROM cita WHERE " + rango
+                + " UNION ALL SELECT id, doctor_id, consultorio_id, horario_consulta, nombre_paciente "
+                + "FROM cita_historico WHERE " + rango + ") citas ORDER BY citas.horario_consulta, id", salida);
+    }
+
+    /**
+     * Escribe en CSV todos los doctores, ordenados por ID.
+     *
+     * @param salida el destino del CSV.
+     * @return el número de doctores escritos.
+     */
+    public long exportarDoctores(OutputStream salida) {
+        return copiarA("SELECT id, nombre, apellido_paterno, apellido_materno, especialidad FROM doctor ORDER BY id",
+                salida);
+    }
+
+    /**
+     * Escribe en CSV todos los consultorios, ordenados por ID.
+     *
+     * @param salida el destino del CSV.
+     * @return el número de consultorios escritos.
+     */
+    public long exportarConsultorios(OutputStream salida) {
+        return copiarA("SELECT id, numero, piso FROM consultorio ORDER BY id", salida);
+    }
+
+    /**
+     * Carga un CSV de citas en la tabla temporal {@code cita_importacion}. Las
+     * columnas son las de la exportación; el ID se ignora porque las citas
+     * importadas reciben uno nuevo. La clave de cada paciente se calcula con la
+     * misma función que al agendar, que no tiene equivalente en la base de
+     * datos.
+     *
+     * @param entrada    el CSV, con encabezado.
+     * @param normalizar la función que obtiene la clave del paciente a partir de
+     *                   su nombre.
+     * @return el número de filas cargadas.
+     */
+    public long cargarCitas(InputStream entrada, UnaryOperator<String> normalizar) {
+        jdbcTemplate.execute("CREATE TEMP TABLE cita_importacion ("
+                + "fila BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY, id_origen BIGINT, doctor_id BIGINT, "
+                + "consultorio_id BIGINT, horario_consulta TIMESTAMP(6), nombre_paciente VARCHAR(255), "
+                + "paciente VARCHAR(255), archivada BOOLEAN NOT NULL DEFAULT FALSE, "
+                + "pendiente BOOLEAN NOT NULL DEFAULT FALSE, error TEXT) ON COMMIT DROP");
+        long filas = copiarDe("cita_importacion (id_origen, doctor_id, consultorio_id, horario_consulta, "
+                + "nombre_paciente)", entrada);
+        calcularPacientes(normalizar);
+        // Los índices se crean después de la carga, que así no los mantiene fila por fila.
+        jdbcTemplate.execute("CREATE INDEX ON cita_importacion (consultorio_id, horario_consulta)");
+        jdbcTemplate.execute("CREATE INDEX ON cita_importacion (doctor_id, horario_consulta)");
+        jdbcTemplate.execute("CREATE INDEX ON cita_importacion (paciente, horario_consulta)");
+        jdbcTemplate.execute("ANALYZE cita_importacion");
+        return filas;
+    }
+
+    /**
+     * Espera a que terminen las demás importaciones de citas, para que cada
+     * una se valide contra las citas que guardaron las anteriores.
+     */
+    public void bloquear() {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?, 0)", CANDADO_IMPORTACION);
+    }
+
+    /**
+     * Recorre las citas cargadas a partir del horario indicado que tienen
+     * doctor, consultorio y paciente, leyéndolas por lotes con memoria acotada.
+     *
+     * @param desde      el horario, inclusivo.
+     * @param consumidor recibe cada cita, sin ID.
+     */
+    public void recorrerDesde(LocalDateTime desde, Consumer<CitaSlot> consumidor) {
+        jdbcTemplate.query(conexion -> {
+            PreparedStatement statement = conexion.prepareStatement("SELECT doctor_id, consultorio_id, "
+                    + "horario_consulta, nombre_paciente FROM cita_importacion WHERE horario_consulta >= ? "
+                    + "AND doctor_id IS NOT NULL AND consultorio_id IS NOT NULL AND paciente <> ''");
+            statement.setFetchSize(LOTE);
+            statement.setTimestamp(1, Timestamp.valueOf(desde));
+            return statement;
+        }, (RowCallbackHandler) rs -> consumidor.accept(new CitaSlot(null, rs.getLong("doctor_id"),
+                rs.getLong("consultorio_id"), rs.getTimestamp("horario_consulta").toLocalDateTime(),
+                rs.getString("nombre_paciente"))));
+    }
+
+    /**
+     * Rechaza las citas cargadas sin doctor, consultorio, horario o paciente, o
+     * cuyo doctor o consultorio no existe.
+     */
+    public void validarCampos() {
+        jdbcTemplate.update("UPDATE cita_importacion s SET error = CASE "
+                + "WHEN doctor_id IS NULL THEN 'El doctor no puede ser nulo' "
+                + "WHEN consultorio_id IS NULL THEN 'El consultorio no puede ser nulo' "
+                + "WHEN horario_consulta IS NULL THEN 'El horario de consulta no puede ser nulo' "
+                + "WHEN COALESCE(paciente, '') = '' THEN 'El nombre del paciente no puede ser nulo' "
+                + "WHEN NOT EXISTS (SELECT 1 FROM doctor d WHERE d.id = s.doctor_id) THEN 'Doctor no encontrado.' "
+                + "WHEN NOT EXISTS (SELECT 1 FROM consultorio c WHERE c.id = s.consultorio_id) "
+                + "THEN 'Consultorio no encontrado.' END");
+    }
+
+    /**
+     * Rechaza las citas cargadas que no cumplen las reglas de alta contra las
+     * citas vigentes, las archivadas y las filas anteriores del archivo que se
+     * aceptaron, como si el archivo se agendara fila por fila. Cada fila guarda
+     * la primera regla que no cumple, en el orden de {@code MotorReglasCitas}.
+     *
+     * <p>
+     * Las filas que no chocan con ninguna fila anterior del archivo se validan
+     * con una sola sentencia. Las demás dependen de si se aceptaron las
+     * anteriores, por lo que se validan en orden de fila con una sentencia cada
+     * una, en lotes, y cada sentencia ve los rechazos de las previas.
+     *
+     * @param reglas los parámetros y mensajes de las reglas.
+     */
+    public void validarReglas(ReglasImportacion reglas) {
+        String traslape = "c.%1$s = s.%1$s AND c.horario_consulta BETWEEN s.horario_consulta "
+                + "AND s.horario_consulta + CAST('" + intervalo(reglas.duracion()) + "' AS INTERVAL)";
+        String consultorio = String.format(traslape, "consultorio_id");
+        String doctor = String.format(traslape, "doctor_id");
+        String paciente = "c.horario_consulta BETWEEN s.horario_consulta - CAST('"
+                + intervalo(reglas.separacionPaciente()) + "' AS INTERVAL) AND s.horario_consulta + CAST('"
+                + intervalo(reglas.duracion().plus(reglas.separacionPaciente())) + "' AS INTERVAL)";
+        String guardadaConsultorio = guardada("cita c", consultorio) + " OR "
+                + guardada("cita_historico c", consultorio);
+        String guardadaDoctor = guardada("cita c", doctor) + " OR " + guardada("cita_historico c", doctor);
+        String delPaciente = "c.paciente_id = (SELECT p.id FROM paciente p WHERE p.nombre_normalizado = s.paciente) "
+                + "AND " + paciente;
+        String guardadaPaciente = guardada("cita c", delPaciente) + " OR " + guardada("cita_historico c", delPaciente);
+        String anteriorConsultorio = anterior(consultorio);
+        String anteriorDoctor = anterior(doctor);
+        String anteriorPaciente = anterior("c.paciente = s.paciente AND " + paciente);
+
+        // Las citas guardadas de cada doctor en cada día del archivo.
+        jdbcTemplate.execute("CREATE TEMP TABLE doctor_dia_importacion ON COMMIT DROP AS "
+                + "SELECT d.doctor_id, d.dia, "
+                + "(SELECT COUNT(*) FROM cita c WHERE c.doctor_id = d.doctor_id "
+                + "AND c.horario_consulta >= d.dia AND c.horario_consulta < d.dia + 1) "
+                + "+ (SELECT COUNT(*) FROM cita_historico c WHERE c.doctor_id = d.doctor_id "
+                + "AND c.horario_consulta >= d.dia AND c.horario_consulta < d.dia + 1) AS citas "
+                + "FROM (SELECT DISTINCT doctor_id, horario_consulta::DATE AS dia FROM cita_importacion "
+                + "WHERE error IS NULL) d");
+        jdbcTemplate.execute("ALTER TABLE doctor_dia_importacion ADD PRIMARY KEY (doctor_id, dia)");
+
+        // Una fila es independiente si no choca con ninguna fila anterior con
+        // datos completos y no excede el máximo aunque se acepten todas.
+        jdbcTemplate.update("UPDATE cita_importacion s SET pendiente = v.pendiente, error = CASE "
+                + "WHEN v.pendiente THEN NULL "
+                + "WHEN " + guardadaConsultorio + " THEN ? "
+                + "WHEN " + guardadaDoctor + " THEN ? "
+                + "WHEN " + guardadaPaciente + " THEN ? END "
+                + "FROM (SELECT s.fila, " + anteriorConsultorio + " OR " + anteriorDoctor + " OR "
+                + anteriorPaciente + " OR g.citas + ROW_NUMBER() OVER (PARTITION BY s.doctor_id, "
+                + "s.horario_consulta::DATE ORDER BY s.fila) > ? AS pendiente "
+                + "FROM cita_importacion s JOIN doctor_dia_importacion g ON g.doctor_id = s.doctor_id "
+                + "AND g.dia = s.horario_consulta::DATE WHERE s.error IS NULL) v WHERE s.fila = v.fila",
+                reglas.mensajeConsultorio(), reglas.mensajeDoctor(), reglas.mensajePaciente(),
+                reglas.maximoDiario());
+
+        String validar = "UPDATE cita_importacion s SET error = CASE "
+                + "WHEN " + guardadaConsultorio + " OR " + anteriorConsultorio + " THEN ? "
+                + "WHEN " + guardadaDoctor + " OR " + anteriorDoctor + " THEN ? "
+                + "WHEN " + guardadaPaciente + " OR " + anteriorPaciente + " THEN ? "
+                + "WHEN g.citas + (SELECT COUNT(*) FROM (SELECT 1 FROM cita_importacion c "
+                + "WHERE c.doctor_id = s.doctor_id AND c.horario_consulta >= g.dia "
+                + "AND c.horario_consulta < g.dia + 1 AND c.fila < s.fila AND c.error IS NULL LIMIT ?) a) >= ? "
+                + "THEN ? END FROM doctor_dia_importacion g "
+                + "WHERE s.fila = ? AND g.doctor_id = s.doctor_id AND g.dia = s.horario_consulta::DATE";
+        long ultima = 0;
+        List<Long> filas;
+        do {
+            filas = jdbcTemplate.queryForList("SELECT fila FROM cita_importacion WHERE pendiente AND fila > ? "
+                    + "ORDER BY fila LIMIT ?", Long.class, ultima, LOTE);
+            jdbcTemplate.batchUpdate(validar, filas, LOTE, (ps, fila) -> {
+                ps.setString(1, reglas.mensajeConsultorio());
+                ps.setString(2, reglas.mensajeDoctor());
+                ps.setString(3, reglas.mensajePaciente());
+                ps.setInt(4, reglas.maximoDiario());
+                ps.setInt(5, reglas.maximoDiario());
+                ps.setString(6, reglas.mensajeMaximoDiario());
+                ps.setLong(7, fila);
+            });
+            ultima = filas.isEmpty() ? ultima : filas.get(filas.size() - 1);
+        } while (filas.size() == LOTE);
+    }
+
+    /**
+     * Cuenta las citas cargadas que se rechazaron.
+     *
+     * @return el número de citas rechazadas.
+     */
+    public long contarRechazadas() {
+        Long rechazadas = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cita_importacion WHERE error IS NOT NULL", Long.class);
+        return rechazadas != null ? rechazadas : 0;
+    }
+
+    /**
+     * Obtiene las primeras citas cargadas que se rechazaron.
+     *
+     * @param limite el número máximo de rechazos.
+     * @return los rechazos, en orden de fila.
+     */
+    public List<RechazoImportacion> rechazos(int limite) {
+        return jdbcTemplate.query("SELECT fila, error FROM cita_importacion WHERE error IS NOT NULL "
+                + "ORDER BY fila LIMIT ?",
+                (rs, fila) -> new RechazoImportacion(rs.getLong("fila"), rs.getString("error")), limite);
+    }
+
+    /**
+     * Inserta las citas válidas cargadas. Antes registra a los pacientes
+     * nuevos y crea las particiones de los meses que no la tienen; las citas
+     * de los meses archivados se insertan en {@code cita_historico}.
+     *
+     * <p>
+     * Los IDs se reservan por bloques de {@value #IDS_POR_BLOQUE} con
+     * {@code cita_seq}, como lo hace Hibernate, y cada bloque se identifica por
+     * su último ID.
+     *
+     * @param desde el horario a partir del cual se regresan los bloques de las
+     *              citas insertadas.
+     * @return el último ID de cada bloque con citas insertadas a partir de
+     *         {@code desde}, en orden.
+     */
+    public List<Long> insertarCitas(LocalDateTime desde) {
+        jdbcTemplate.queryForList("SELECT crear_particion_cita(mes) FROM (SELECT DISTINCT "
+                + "date_trunc('month', horario_consulta)::DATE AS mes FROM cita_importacion WHERE error IS NULL) meses");
+        jdbcTemplate.update("UPDATE cita_importacion s SET archivada = TRUE FROM ("
+                + "SELECT to_date(substr(c.relname, 7), 'YYYY_MM') AS mes FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'cita_historico'::REGCLASS) archivados "
+                + "WHERE s.error IS NULL AND s.horario_consulta >= archivados.mes "
+                + "AND s.horario_consulta < archivados.mes + INTERVAL '1 month'");
+        // Cada paciente nuevo se registra con el nombre de su cita más reciente.
+        jdbcTemplate.update("INSERT INTO paciente (nombre, nombre_normalizado) "
+                + "SELECT DISTINCT ON (s.paciente) p.nombre, s.paciente FROM cita_importacion s "
+                + "JOIN paciente_importacion p USING (nombre_paciente) "
+                + "WHERE s.error IS NULL ORDER BY s.paciente, s.horario_consulta DESC "
+                + "ON CONFLICT (nombre_normalizado) DO NOTHING");
+        // Un valor de cita_seq por cada bloque de filas, como lo reserva Hibernate.
+        jdbcTemplate.execute("CREATE TEMP TABLE cita_importacion_ids ON COMMIT DROP AS "
+                + "SELECT bloque, nextval('cita_seq') AS tope FROM generate_series(0, "
+                + "(SELECT (MAX(fila) - 1) / " + IDS_POR_BLOQUE + " FROM cita_importacion)) bloque");
+
+        String insertar = "INSERT INTO %s (id, consultorio_id, doctor_id, horario_consulta, nombre_paciente, "
+                + "paciente_id) SELECT " + ID + ", s.consultorio_id, s.doctor_id, s.horario_consulta, "
+                + "s.nombre_paciente, p.id FROM cita_importacion s JOIN cita_importacion_ids b ON " + BLOQUE
+                + " JOIN paciente p ON p.nombre_normalizado = s.paciente WHERE s.error IS NULL AND %s";
+        Timestamp limite = Timestamp.valueOf(desde);
+        jdbcTemplate.update(String.format(insertar, "cita_historico", "s.archivada"));
+        jdbcTemplate.update(String.format(insertar, "cita", "NOT s.archivada"));
+        return jdbcTemplate.queryForList("SELECT b.tope FROM cita_importacion_ids b WHERE EXISTS ("
+                + "SELECT 1 FROM cita_importacion s WHERE " + BLOQUE + " AND s.error IS NULL "
+                + "AND NOT s.archivada AND s.horario_consulta >= ?) ORDER BY b.tope", Long.class, limite);
+    }
+
+    /**
+     * Registra en el outbox el alta de cada cita insertada a partir del horario
+     * indicado, con una sola sentencia y en orden de ID. El contenido es el
+     * mismo JSON del {@code CitaEvento} que registra {@code OutboxCitas}.
+     *
+     * @param desde el horario, inclusivo.
+     * @return el número de altas registradas.
+     */
+    public int registrarEventos(LocalDateTime desde) {
+        return jdbcTemplate.update("INSERT INTO cita_outbox (id, cita_id, tipo, payload, creado) "
+                + "SELECT nextval('cita_outbox_seq'), id, 'CREADA', json_build_object('tipo', 'CREADA', "
+                + "'anterior', NULL, 'actual', json_build_object('id', id, 'doctorId', doctor_id, "
+                + "'consultorioId', consultorio_id, 'horarioConsulta', to_char(horario_consulta, "
+                + "'YYYY-MM-DD HH24:MI'), 'nombrePaciente', nombre_paciente))::TEXT, LOCALTIMESTAMP FROM ("
+                + "SELECT " + ID + " AS id, s.doctor_id, s.consultorio_id, s.horario_consulta, s.nombre_paciente "
+                + "FROM cita_importacion s JOIN cita_importacion_ids b ON " + BLOQUE + " WHERE s.error IS NULL "
+                + "AND NOT s.archivada AND s.horario_consulta >= ? ORDER BY 1) altas",
+                Timestamp.valueOf(desde));
+    }
+
+    /**
+     * Obtiene las citas de los bloques de IDs que regresó
+     * {@link #insertarCitas}, una vez confirmada la importación.
+     *
+     * @param bloques el último ID de cada bloque.
+     * @param desde   el horario a partir del cual se buscan las citas.
+     * @return las citas, en orden de ID.
+     */
+    public List<CitaSlot> buscarImportadas(List<Long> bloques, LocalDateTime desde) {
+        return jdbcTemplate.query("SELECT c.id, c.doctor_id, c.consultorio_id, c.horario_consulta, "
+                + "c.nombre_paciente FROM unnest(CAST(? AS BIGINT[])) b(tope) JOIN cita c "
+                + "ON c.id BETWEEN b.tope - " + (IDS_POR_BLOQUE - 1) + " AND b.tope "
+                + "WHERE c.horario_consulta >= ? ORDER BY c.id",
+                (rs, fila) -> new CitaSlot(rs.getLong("id"), rs.getLong("doctor_id"), rs.getLong("consultorio_id"),
+                        rs.getTimestamp("horario_consulta").toLocalDateTime(), rs.getString("nombre_paciente")),
+                bloques.toArray(Long[]::new), Timestamp.valueOf(desde));
+    }
+
+    /**
+     * Importa un CSV de doctores con las columnas de la exportación. Los
+     * doctores con ID se insertan o actualizan con ese ID y los que no lo
+     * traen reciben uno nuevo.
+     *
+     * @param entrada         el CSV, con encabezado.
+     * @param rechazosMaximos el número máximo de rechazos a regresar.
+     * @return las filas leídas, las importadas y las rechazadas.
+     */
+    public ResultadoImportacion importarDoctores(InputStream entrada, int rechazosMaximos) {
+        return importarCatalogo("doctor", "nombre VARCHAR(255), apellido_paterno VARCHAR(255), "
+                + "apellido_materno VARCHAR(255), especialidad VARCHAR(255)",
+                "nombre, apellido_paterno, apellido_materno, especialidad",
+                "WHEN btrim(COALESCE(nombre, '')) = '' THEN 'El nombre no puede estar en blanco' "
+                        + "WHEN btrim(COALESCE(apellido_paterno, '')) = '' "
+                        + "THEN 'El apellido paterno no puede estar en blanco' "
+                        + "WHEN btrim(COALESCE(apellido_materno, '')) = '' "
+                        + "THEN 'El apellido materno no puede estar en blanco' "
+                        + "WHEN btrim(COALESCE(especialidad, '')) = '' THEN 'La especialidad no puede estar en blanco'",
+                entrada, rechazosMaximos);
+    }
+
+    /**
+     * Importa un CSV de consultorios con las columnas de la exportación. Los
+     * consultorios con ID se insertan o actualizan con ese ID y los que no lo
+     * traen reciben uno nuevo.
+     *
+     * @param entrada         el CSV, con encabezado.
+     * @param rechazosMaximos el número máximo de rechazos a regresar.
+     * @return las filas leídas, las importadas y las rechazadas.
+     */
+    public ResultadoImportacion importarConsultorios(InputStream entrada, int rechazosMaximos) {
+        return importarCatalogo("consultorio", "numero INTEGER, piso INTEGER", "numero, piso",
+                "WHEN numero IS NULL THEN 'El número del consultorio no puede ser nulo' "
+                        + "WHEN numero < 1 THEN 'El número del consultorio debe ser un valor positivo' "
+                        + "WHEN piso IS NULL THEN 'El piso no puede ser nulo' "
+                        + "WHEN piso < 1 THEN 'El piso debe ser un valor positivo'",
+                entrada, rechazosMaximos);
+    }
+
+    /**
+     * Carga un catálogo en su tabla temporal, rechaza las filas que no cumplen
+     * las validaciones e inserta o actualiza las demás. Si el archivo repite un
+     * ID gana la última fila. La identidad de la tabla se mueve después del ID
+     * más alto antes de insertar las filas sin ID.
+     */
+    private ResultadoImportacion importarCatalogo(String tabla, String definicion, String columnas,
+            String validaciones, InputStream entrada, int rechazosMaximos) {
+        String temporal = tabla + "_importacion";
+        jdbcTemplate.execute("CREATE TEMP TABLE " + temporal + " ("
+                + "fila BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY, id BIGINT, " + definicion
+                + ", error TEXT) ON COMMIT DROP");
+        long filas = copiarDe(temporal + " (id, " + columnas + ")", entrada);
+        int rechazadas = jdbcTemplate.update("UPDATE " + temporal + " SET error = CASE " + validaciones
+                + " END WHERE CASE " + validaciones + " END IS NOT NULL");
+
+        String actualizar = Arrays.stream(columnas.split(", "))
+                .map(columna -> columna + " = EXCLUDED." + columna)
+                .collect(Collectors.joining(", "));
+        int conId = jdbcTemplate.update("INSERT INTO " + tabla + " (id, " + columnas + ") "
+                + "SELECT DISTINCT ON (id) id, " + columnas + " FROM " + temporal
+                + " WHERE error IS NULL AND id IS NOT NULL ORDER BY id, fila DESC "
+                + "ON CONFLICT (id) DO UPDATE SET " + actualizar);
+        jdbcTemplate.queryForList("SELECT setval(pg_get_serial_sequence('" + tabla + "', 'id'), "
+                + "(SELECT COALESCE(MAX(id), 0) + 1 FROM " + tabla + "), FALSE)");
+        int sinId = jdbcTemplate.update("INSERT INTO " + tabla + " (" + columnas + ") SELECT " + columnas
+                + " FROM " + temporal + " WHERE error IS NULL AND id IS NULL ORDER BY fila");
+
+        List<RechazoImportacion> rechazos = jdbcTemplate.query("SELECT fila, error FROM " + temporal
+                + " WHERE error IS NOT NULL ORDER BY fila LIMIT ?",
+                (rs, fila) -> new RechazoImportacion(rs.getLong("fila"), rs.getString("error")), rechazosMaximos);
+        return new ResultadoImportacion(filas, filas - rechazadas, rechazadas, rechazos);
+    }
+
+    /**
+     * Calcula la clave y el nombre sin espacios en los extremos de cada nombre
+     * distinto de paciente cargado, en la tabla temporal
+     * {@code paciente_importacion}, y copia la clave a las filas. Los nombres
+     * se leen y se guardan por lotes, con memoria acotada.
+     */
+    private void calcularPacientes(UnaryOperator<String> normalizar) {
+        jdbcTemplate.execute("CREATE TEMP TABLE paciente_importacion (nombre_paciente VARCHAR(255) PRIMARY KEY, "
+                + "nombre VARCHAR(255) NOT NULL, paciente VARCHAR(255) NOT NULL) ON COMMIT DROP");
+        jdbcTemplate.execute((ConnectionCallback<Void>) conexion -> {
+            try (PreparedStatement nombres = conexion.prepareStatement(
+                    "SELECT DISTINCT nombre_paciente FROM cita_importacion WHERE nombre_paciente IS NOT NULL");
+                    PreparedStatement insertar = conexion.prepareStatement(
+                            "INSERT INTO paciente_importacion (nombre_paciente, nombre, paciente) VALUES (?, ?, ?)")) {
+                nombres.setFetchSize(LOTE);
+                int pendientes = 0;
+                try (ResultSet filas = nombres.executeQuery()) {
+                    while (filas.next()) {
+                        String nombre = filas.getString(1);
+                        insertar.setString(1, nombre);
+                        insertar.setString(2, nombre.strip());
+                        insertar.setString(3, normalizar.apply(nombre));
+                        insertar.addBatch();
+                        if (++pendientes == LOTE) {
+                            insertar.executeBatch();
+                            pendientes = 0;
+                        }
+                    }
+                }
+                if (pendientes > 0) {
+                    insertar.executeBatch();
+                }
+            }
+            return null;
+        });
+        jdbcTemplate.update("UPDATE cita_importacion s SET paciente = p.paciente FROM paciente_importacion p "
+                + "WHERE p.nombre_paciente = s.nombre_paciente");
+    }
+
+    private long copiarA(String consulta, OutputStream salida) {
+        Long filas = jdbcTemplate.execute((ConnectionCallback<Long>) conexion -> {
+            try {
+                return conexion.unwrap(PGConnection.class).getCopyAPI()
+                        .copyOut("COPY (" + consulta + ") TO STDOUT WITH (FORMAT csv, HEADER)", salida);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return filas != null ? filas : 0;
+    }
+
+    private long copiarDe(String destino, InputStream entrada) {
+        Long filas = jdbcTemplate.execute((ConnectionCallback<Long>) conexion -> {
+            try {
+                return conexion.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn("COPY " + destino + " FROM STDIN WITH (FORMAT csv, HEADER)", entrada);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return filas != null ? filas : 0;
+    }
+
+    /**
+     * Condición de que una cita guardada de la tabla indicada, con alias
+     * {@code c}, cumpla el filtro respecto a la fila {@code s}.
+     */
+    private static String guardada(String tabla, String filtro) {
+        return "EXISTS (SELECT 1 FROM " + tabla + " WHERE " + filtro + ")";
+    }
+
+    /**
+     * Condición de que una fila anterior del archivo sin rechazar, con alias
+     * {@code c}, cumpla el filtro respecto a la fila {@code s}.
+     */
+    private static String anterior(String filtro) {
+        return "EXISTS (SELECT 1 FROM cita_importacion c WHERE " + filtro + " AND c.fila < s.fila "
+                + "AND c.error IS NULL)";
+    }
+
+    private static String intervalo(Duration duracion) {
+        return duracion.toSeconds() + " seconds";
+    }
+}
@@ -0,0 +1,138 @@
+package prueba.tecnica.elias.camacho.app.domain.repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import prueba.tecnica.elias.camacho.app.domain.dto.OcupacionDiaria;
+
+/**
+ * Repositorio JDBC de la tabla {@code cita_ocupacion_diaria}, con el número de
+ * citas por día, doctor y consultorio.
+ *
+ * <p>
+ * Cada día tiene un candado de PostgreSQL: las actualizaciones de las citas lo
+ * toman compartido y la reconstrucción exclusivo, de modo que la
+ * reconstrucción de un día espera a las transacciones que ya lo modificaron y
+ * las siguientes suman sobre el resultado recalculado.
+ *
+ * @see OcupacionDiaria
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Repository
+public class OcupacionDiariaJdbcRepository {
+
+    /**
+     * Primera llave de los candados por día; la segunda es el número de día.
+     */
+    private static final int CANDADO_OCUPACION = 0x6f637570;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OcupacionDiariaJdbcRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Suma citas a un día de un doctor en un consultorio. Se debe invocar
+     * dentro de la transacción que modifica las citas.
+     *
+     * @param dia           el día.
+     * @param doctorId      el ID del doctor.
+     * @param consultorioId el ID del consultorio.
+     * @param citas         el número de citas a sumar; negativo para restar.
+     */
+    public void sumar(LocalDate dia, Long doctorId, Long consultorioId, int citas) {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock_shared(?, ?)", CANDADO_OCUPACION,
+                Math.toIntExact(dia.toEpochDay()));
+        jdbcTemplate.update("INSERT INTO cita_ocupacion_diaria (dia, doctor_id, consultorio_id, citas) "
+                + "VALUES (?, ?, ?, ?) ON CONFLICT (dia, doctor_id, consultorio_id) "
+                + "DO UPDATE SET citas = cita_ocupacion_diaria.citas + EXCLUDED.citas",
+                Date.valueOf(dia), doctorId, consultorioId, citas);
+    }
+
+    /**
+     * Suma la ocupación de las citas válidas de la importación en curso, que
+     * están en la tabla temporal {@code cita_importacion}, con una sola
+     * sentencia. Los candados se toman en orden de día, como en la
+     * reconstrucción.
+     *
+     * @return el número de filas de ocupación escritas.
+     */
+    public int sumarImportacion() {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock_shared(?, dia - DATE '1970-01-01') FROM ("
+                + "SELECT DISTINCT horario_consulta::DATE AS dia FROM cita_importacion WHERE error IS NULL "
+                + "ORDER BY dia) dias", CANDADO_OCUPACION);
+        return jdbcTemplate.update("INSERT INTO cita_ocupacion_diaria (dia, doctor_id, consultorio_id, citas) "
+                + "SELECT horario_consulta::DATE, doctor_id, consultorio_id, COUNT(*) FROM cita_importacion "
+                + "WHERE error IS NULL GROUP BY horario_consulta::DATE, doctor_id, consultorio_id "
+                + "ON CONFLICT (dia, doctor_id, consultorio_id) "
+                + "DO UPDATE SET citas = cita_ocupacion_diaria.citas + EXCLUDED.citas");
+    }
+
+    /**
+     * Recalcula la ocupación de un rango de días a partir de las citas
+     * vigentes y archivadas. Se debe invocar dentro de una transacción.
+     *
+     * @param desde el primer día, inclusivo.
+     * @param hasta el último día, inclusivo.
+     * @return el número de filas escritas.
+     */
+    public int reconstruir(LocalDate desde, LocalDate hasta) {
+        for (LocalDate dia = desde; !dia.isAfter(hasta); dia = dia.plusDays(1)) {
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?, ?)", CANDADO_OCUPACION,
+                    Math.toIntExact(dia.toEpochDay()));
+        }
+        Date inicio = Date.valueOf(desde);
+        Date fin = Date.valueOf(hasta.plusDays(1));
+        jdbcTemplate.update("DELETE FROM cita_ocupacion_diaria WHERE dia >= ? AND dia < ?", inicio, fin);
+        return jdbcTemplate.update("INSERT INTO cita_ocupacion_diaria (dia, doctor_id, consultorio_id, citas) "
+                + "SELECT horario_consulta::DATE, doctor_id, consultorio_id, COUNT(*) "
+                + "FROM (SELECT horario_consulta, doctor_id, consultorio_id FROM cita "
+                + "WHERE horario_consulta >= ? AND horario_consulta < ? "
+                + "UNION ALL SELECT horario_consulta, doctor_id, consultorio_id FROM cita_historico "
+                + "WHERE horario_consulta >= ? AND horario_consulta < ?) citas "
+                + "GROUP BY horario_consulta::DATE, doctor_id, consultorio_id",
+                inicio, fin, inicio, fin);
+    }
+
+    /**
+     * Obtiene el primer y el último día con citas vigentes o archivadas.
+     *
+     * @return los dos días, que son {@code null} si no hay citas.
+     */
+    public LocalDate[] rango() {
+        return jdbcTemplate.queryForObject("SELECT MIN(dia), MAX(dia) FROM ("
+                + "SELECT MIN(horario_consulta)::DATE AS dia FROM cita "
+                + "UNION ALL SELECT MAX(horario_consulta)::DATE FROM cita "
+                + "UNION ALL SELECT MIN(horario_consulta)::DATE FROM cita_historico "
+                + "UNION ALL SELECT MAX(horario_consulta)::DATE FROM cita_historico) extremos",
+                (rs, fila) -> new LocalDate[] { fecha(rs.getDate(1)), fecha(rs.getDate(2)) });
+    }
+
+    /**
+     * Busca la ocupación de un rango de días.
+     *
+     * @param desde el primer día, inclusivo.
+     * @param hasta el último día, inclusivo.
+     * @return la ocupación de cada día, doctor y consultorio con citas.
+     */
+    public List<OcupacionDiaria> buscar(LocalDate desde, LocalDate hasta) {
+        return jdbcTemplate.query("SELECT dia, doctor_id, consultorio_id, citas FROM cita_ocupacion_diaria "
+                + "WHERE dia >= ? AND dia <= ? AND citas > 0",
+                (rs, fila) -> new OcupacionDiaria(rs.getDate("dia").toLocalDate(), rs.getLong("doctor_id"),
+                        rs.getLong("consultorio_id"), rs.getInt("citas")),
+                Date.valueOf(desde), Date.valueOf(hasta));
+    }
+
+    private static LocalDate fecha(Date fecha) {
+        return fecha != null ? fecha.toLocalDate() : null;
+    }
+}
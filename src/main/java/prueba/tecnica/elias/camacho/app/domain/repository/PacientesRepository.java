@@ -0,0 +1,44 @@
+package prueba.tecnica.elias.camacho.app.domain.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.Paciente;
+
+/**
+ * Repositorio para la entidad {@link Paciente}.
+ * 
+ * @see Paciente
+ * 
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Repository
+public interface PacientesRepository extends JpaRepository<Paciente, Long> {
+
+    Optional<Paciente> findByNombreNormalizado(String nombreNormalizado);
+
+    List<Paciente> findByNombreNormalizadoStartingWithOrderByNombreNormalizado(String prefijo, Limit limite);
+
+    /**
+     * Registra un paciente si no existe otro con el mismo nombre normalizado.
+     * Si otra transacción lo está registrando, espera a que termine en lugar de
+     * fallar por la llave única.
+     *
+     * @param nombre            el nombre como se capturó.
+     * @param nombreNormalizado el nombre normalizado.
+     * @return el número de pacientes registrados.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO paciente (nombre, nombre_normalizado) VALUES (:nombre, :nombreNormalizado) "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertarSiNoExiste(@Param("nombre") String nombre, @Param("nombreNormalizado") String nombreNormalizado);
+}
@@ -0,0 +1,117 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import prueba.tecnica.elias.camacho.app.domain.dto.CursorCitas;
+import prueba.tecnica.elias.camacho.app.domain.dto.PaginaHistorico;
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
+import prueba.tecnica.elias.camacho.app.domain.repository.CitasJdbcRepository;
+
+/**
+ * Servicio para administrar las particiones mensuales de la tabla de
+ * {@link Cita} y consultar las citas archivadas. Cada mes se crean por
+ * adelantado las particiones de los próximos meses y las de los meses más
+ * antiguos se mueven a {@code cita_historico}, fuera de las consultas y los
+ * índices de las citas vigentes.
+ *
+ * @see Cita
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Service
+public class ArchivoCitasService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchivoCitasService.class);
+
+    /**
+     * Número de meses futuros que siempre tienen partición.
+     */
+    private static final int MESES_ADELANTE = 3;
+
+    /**
+     * Número máximo de días que abarca una consulta al histórico.
+     */
+    public static final int DIAS_MAXIMOS_HISTORICO = 366;
+
+    private final CitasJdbcRepository jdbcRepository;
+
+    private final boolean habilitado;
+
+    private final int mesesVigentes;
+
+    public ArchivoCitasService(CitasJdbcRepository jdbcRepository,
+            @Value("${citas.archivo.habilitado:true}") boolean habilitado,
+            @Value("${citas.archivo.meses-vigentes:12}") int mesesVigentes) {
+        this.jdbcRepository = jdbcRepository;
+        this.habilitado = habilitado;
+        this.mesesVigentes = mesesVigentes;
+    }
+
+    /**
+     * Crea las particiones de este mes y de los próximos, y archiva las de los
+     * meses fuera del periodo vigente. Se ejecuta al iniciar y el primer día de
+     * cada mes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 30 1 1 * *")
+    @Transactional
+    public void mantenerParticiones() {
+        if (!habilitado) {
+            return;
+        }
+        LocalDate mes = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i <= MESES_ADELANTE; i++) {
+            jdbcRepository.crearParticion(mes.plusMonths(i));
+        }
+        int archivadas = jdbcRepository.archivarParticiones(mes.minusMonths(mesesVigentes));
+        if (archivadas > 0) {
+            log.info("Se archivaron {} particiones de citas", archivadas);
+        }
+    }
+
+    /**
+     * Busca citas archivadas entre dos días.
+     *
+     * @param desde         el primer día, inclusivo.
+     * @param hasta         el último día, inclusivo.
+     * @param doctorId      el ID del doctor, o {@code null}.
+     * @param consultorioId el ID del consultorio, o {@code null}.
+     * @param cursor        el token de la página anterior, o {@code null}.
+     * @param limite        el número máximo de citas.
+     * @return la página de citas archivadas, ordenadas por horario e ID.
+     */
+    @Transactional(readOnly = true)
+    public PaginaHistorico buscarHistorico(LocalDate desde, LocalDate hasta, Long doctorId, Long consultorioId,
+            String cursor, int limite) {
+        if (hasta.isBefore(desde) || ChronoUnit.DAYS.between(desde, hasta) >= DIAS_MAXIMOS_HISTORICO) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "El rango debe ser de 1 a " + DIAS_MAXIMOS_HISTORICO + " días.");
+        }
+        int tamano = Math.max(1, Math.min(limite, CitasService.TAMANO_MAXIMO_PAGINA));
+        // Se pide una cita de más para saber si hay otra página sin consultarla.
+        List<CitaSlot> citas = jdbcRepository.buscarHistorico(desde, hasta.plusDays(1), doctorId, consultorioId,
+                CursorCitas.decodificar(cursor), tamano + 1);
+        String siguiente = null;
+        if (citas.size() > tamano) {
+            citas = citas.subList(0, tamano);
+            CitaSlot ultima = citas.get(tamano - 1);
+            siguiente = new CursorCitas(ultima.horarioConsulta(), ultima.id()).codificar();
+        }
+        return new PaginaHistorico(citas, siguiente);
+    }
+}
@@ -0,0 +1,58 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import prueba.tecnica.elias.camacho.app.domain.event.CitaEventoPublicado;
+
+/**
+ * Destino que agrega los cambios de citas a un archivo local, uno por línea
+ * en JSON, y lo sincroniza con el disco antes de confirmar cada lote. Es el
+ * destino predeterminado, pensado para pruebas y desarrollo.
+ *
+ * @see DestinoEventos
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Component
+@ConditionalOnProperty(name = "citas.outbox.destino", havingValue = "archivo", matchIfMissing = true)
+public class ArchivoDestinoEventos implements DestinoEventos {
+
+    private final Path archivo;
+
+    private final ObjectMapper objectMapper;
+
+    public ArchivoDestinoEventos(@Value("${citas.outbox.archivo:eventos-citas.ndjson}") Path archivo,
+            ObjectMapper objectMapper) {
+        this.archivo = archivo;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publicar(List<CitaEventoPublicado> eventos) throws IOException {
+        StringBuilder lineas = new StringBuilder();
+        for (CitaEventoPublicado evento : eventos) {
+            lineas.append(objectMapper.writeValueAsString(evento)).append('\n');
+        }
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer contenido = ByteBuffer.wrap(lineas.toString().getBytes(StandardCharsets.UTF_8));
+            while (contenido.hasRemaining()) {
+                canal.write(contenido);
+            }
+            canal.force(false);
+        }
+    }
+}
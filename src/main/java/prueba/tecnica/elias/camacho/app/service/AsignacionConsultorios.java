@@ -0,0 +1,161 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+import prueba.tecnica.elias.camacho.app.domain.entity.Consultorio;
+import prueba.tecnica.elias.camacho.app.service.reglas.ParametrosReglas;
+
+/**
+ * Elige un {@link Consultorio} libre para una {@link Cita} que no lo indica.
+ * Los consultorios ocupados se leen de los mapas de bits por hora de
+ * {@link OcupacionCitas}, y entre los libres se prefieren los del mismo piso
+ * que las otras citas del doctor en el día y, después, los que tienen menos
+ * citas en el día.
+ *
+ * <p>
+ * El consultorio elegido queda apartado hasta que termina la transacción, de
+ * modo que dos asignaciones simultáneas no eligen el mismo. Los apartados
+ * sólo evitan la competencia entre asignaciones; la cita se valida con las
+ * reglas de alta bajo {@link BloqueoCitas} como cualquier otra.
+ *
+ * @see CitasService
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Component
+public class AsignacionConsultorios {
+
+    private final OcupacionCitas ocupacion;
+
+    private final ConsultoriosService consultoriosService;
+
+    private final ParametrosReglas parametros;
+
+    private final List<Apartado> apartados = new ArrayList<>();
+
+    public AsignacionConsultorios(OcupacionCitas ocupacion, ConsultoriosService consultoriosService,
+            ParametrosReglas parametros) {
+        this.ocupacion = ocupacion;
+        this.consultoriosService = consultoriosService;
+        this.parametros = parametros;
+    }
+
+    /**
+     * Elige un consultorio libre para la cita y lo aparta hasta que termine la
+     * transacción actual.
+     *
+     * @param cita la cita, con doctor y horario.
+     * @return el consultorio elegido, o {@code null} si no hay uno libre.
+     */
+    public Consultorio apartar(Cita cita) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("La asignación de consultorios requiere una transacción activa");
+        }
+        List<Consultorio> consultorios = consultoriosService.findAll();
+        LocalDateTime inicio = cita.getHorarioConsulta();
+        LocalDateTime fin = inicio.plus(parametros.getDuracion());
+        LocalDate dia = inicio.toLocalDate();
+        BitSet ocupados = ocupacion.consultoriosOcupados(inicio, fin);
+        BitSet delDoctor = ocupacion.consultoriosDelDoctor(cita.getDoctor().getId(), dia);
+        BitSet pisos = new BitSet();
+        for (Consultorio consultorio : consultorios) {
+            if (delDoctor.get(indice(consultorio))) {
+                pisos.set(consultorio.getPiso());
+            }
+        }
+
+        synchronized (apartados) {
+            BitSet apartadosRango = new BitSet();
+            for (Apartado otro : apartados) {
+                if (!otro.inicio().isAfter(fin) && !otro.fin().isBefore(inicio)) {
+                    apartadosRango.set(otro.consultorio());
+                }
+            }
+            Consultorio elegido = elegir(consultorios, ocupados, apartadosRango, pisos, dia);
+            if (elegido == null) {
+                // Los mapas por hora marcan la hora completa; se revisan los minutos
+                // de los consultorios marcados antes de rechazar la cita.
+                elegido = elegir(consultorios.stream()
+                        .filter(consultorio -> ocupados.get(indice(consultorio))
+                                && !ocupacion.consultorioOcupado(consultorio.getId(), inicio, fin, null))
+                        .toList(), new BitSet(), apartadosRango, pisos, dia);
+            }
+            if (elegido == null) {
+                return null;
+            }
+            Apartado apartado = new Apartado(indice(elegido), inicio, fin);
+            apartados.add(apartado);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    synchronized (apartados) {
+                        apartados.remove(apartado);
+                    }
+                }
+            });
+            return elegido;
+        }
+    }
+
+    /**
+     * Indica si el consultorio de la cita sigue libre en su horario. Se revisa
+     * después de bloquearlo con {@link BloqueoCitas}, porque otra petición que
+     * indica el consultorio pudo ocuparlo mientras se elegía.
+     *
+     * @param cita la cita, con consultorio y horario.
+     * @return {@code true} si el consultorio no tiene citas en el horario.
+     */
+    public boolean libre(Cita cita) {
+        LocalDateTime inicio = cita.getHorarioConsulta();
+        return !ocupacion.consultorioOcupado(cita.getConsultorio().getId(), inicio,
+                inicio.plus(parametros.getDuracion()), null);
+    }
+
+    /**
+     * Elige entre los consultorios que no están ocupados ni apartados el del
+     * mismo piso que el doctor y, después, el de menos citas en el día.
+     */
+    private Consultorio elegir(List<Consultorio> consultorios, BitSet ocupados, BitSet apartadosRango,
+            BitSet pisos, LocalDate dia) {
+        Consultorio elegido = null;
+        boolean elegidoEnPiso = false;
+        long elegidoCitas = 0;
+        for (Consultorio consultorio : consultorios) {
+            int indice = indice(consultorio);
+            if (ocupados.get(indice) || apartadosRango.get(indice)) {
+                continue;
+            }
+            boolean enPiso = pisos.get(consultorio.getPiso());
+            if (elegido != null && elegidoEnPiso && !enPiso) {
+                continue;
+            }
+            long citas = ocupacion.citasDelConsultorio(consultorio.getId(), dia);
+            if (elegido == null || enPiso && !elegidoEnPiso || citas < elegidoCitas) {
+                elegido = consultorio;
+                elegidoEnPiso = enPiso;
+                elegidoCitas = citas;
+            }
+        }
+        return elegido;
+    }
+
+    private static int indice(Consultorio consultorio) {
+        return Math.toIntExact(consultorio.getId());
+    }
+
+    /**
+     * Consultorio apartado por una asignación en curso.
+     */
+    private record Apartado(int consultorio, LocalDateTime inicio, LocalDateTime fin) {
+    }
+}
@@ -0,0 +1,134 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaEvento;
+
+/**
+ * Escucha los avisos de PostgreSQL que generan los cambios de cita registrados
+ * en la bandeja de salida, de cualquier instancia, y los aplica a
+ * {@link VersionesAgenda}. Cada sentencia que registra cambios envía un solo
+ * aviso: el cambio si es uno, o {@value #TODAS} si son varios, como en una
+ * importación, y entonces cambian todas las versiones. Usa una conexión
+ * propia a la base de datos primaria, fuera del pool.
+ *
+ * <p>
+ * Los avisos llegan unos milisegundos después de confirmarse el cambio. Cada
+ * vez que la conexión se establece, todas las versiones cambian, ya que los
+ * avisos enviados mientras no había conexión se pierden. Se deshabilita con
+ * {@code citas.versiones.compartidas=false}.
+ *
+ * @see VersionesAgenda
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Component
+@ConditionalOnProperty(name = "citas.versiones.compartidas", havingValue = "true", matchIfMissing = true)
+public class AvisosCitas {
+
+    private static final Logger log = LoggerFactory.getLogger(AvisosCitas.class);
+
+    /**
+     * Canal de los avisos; lo define la migración V13.
+     */
+    private static final String CANAL = "cita_cambios";
+
+    /**
+     * Aviso de una sentencia con varios cambios.
+     */
+    private static final String TODAS = "*";
+
+    private static final int ESPERA_MILISEGUNDOS = 1000;
+
+    private final DataSourceProperties properties;
+
+    private final VersionesAgenda versiones;
+
+    private final ObjectMapper objectMapper;
+
+    private final Thread escucha;
+
+    private volatile boolean activo = true;
+
+    public AvisosCitas(DataSourceProperties properties, VersionesAgenda versiones, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.versiones = versiones;
+        this.objectMapper = objectMapper;
+        this.escucha = Thread.ofPlatform().name("avisos-citas").daemon().unstarted(this::escuchar);
+    }
+
+    @PostConstruct
+    void iniciar() {
+        escucha.start();
+    }
+
+    @PreDestroy
+    void cerrar() throws InterruptedException {
+        activo = false;
+        escucha.join(2L * ESPERA_MILISEGUNDOS);
+    }
+
+    private void escuchar() {
+        while (activo) {
+            try (Connection conexion = DriverManager.getConnection(properties.determineUrl(),
+                    properties.determineUsername(), properties.determinePassword());
+                    Statement statement = conexion.createStatement()) {
+                statement.execute("LISTEN " + CANAL);
+                versiones.invalidarTodas();
+                PGConnection pg = conexion.unwrap(PGConnection.class);
+                while (activo) {
+                    PGNotification[] avisos = pg.getNotifications(ESPERA_MILISEGUNDOS);
+                    if (avisos != null) {
+                        for (PGNotification aviso : avisos) {
+                            aplicar(aviso.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (activo) {
+                    log.warn("Se perdió la conexión de los avisos de citas; se reintentará", e);
+                    esperar();
+                }
+            }
+        }
+    }
+
+    private void aplicar(String payload) {
+        if (TODAS.equals(payload)) {
+            versiones.invalidarTodas();
+            return;
+        }
+        try {
+            versiones.aplicar(objectMapper.readValue(payload, CitaEvento.class));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Aviso de cita ilegible; se invalidan todas las versiones: {}", payload, e);
+            versiones.invalidarTodas();
+        }
+    }
+
+    private void esperar() {
+        try {
+            Thread.sleep(ESPERA_MILISEGUNDOS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            activo = false;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
+import prueba.tecnica.elias.camacho.app.domain.repository.CitasJdbcRepository;
+import prueba.tecnica.elias.camacho.app.service.reglas.ParametrosReglas;
+
+/**
+ * Bloqueos por franjas para agendar citas sin condiciones de carrera. Cada
+ * recurso por día (doctor, consultorio y paciente) se asigna a una de
+ * {@value #FRANJAS} franjas, de modo que dos reservas sólo se esperan entre sí
+ * si comparten alguna franja.
+ *
+ * Los bloqueos se toman dentro de la transacción y se liberan cuando ésta
+ * termina, después de que {@link OcupacionCitas} registra la cita, por lo que
+ * la validación y la confirmación son atómicas para cada recurso.
+ *
+ * Cada franja tiene además un candado de PostgreSQL que se toma después del
+ * local, de modo que las reservas de distintas instancias también se esperan,
+ * y con las franjas tomadas se vuelve a leer la ocupación de sus recursos con
+ * {@link OcupacionCitas#recargar}. Con {@code citas.bloqueo.compartido=false}
+ * sólo se usan los candados locales y el índice, para una sola instancia o
+ * bases de datos distintas de PostgreSQL.
+ *
+ * @see CitasService
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Component
+public class BloqueoCitas {
+
+    private static final int FRANJAS = 1024;
+
+    private static final long ESPERA_MAXIMA_SEGUNDOS = 5;
+
+    private final ReentrantLock[] franjas = new ReentrantLock[FRANJAS];
+
+    private final ParametrosReglas parametros;
+
+    private final CitasJdbcRepository jdbcRepository;
+
+    private final OcupacionCitas ocupacion;
+
+    private final boolean compartido;
+
+    public BloqueoCitas(ParametrosReglas parametros, CitasJdbcRepository jdbcRepository, OcupacionCitas ocupacion,
+            @Value("${citas.bloqueo.compartido:true}") boolean compartido) {
+        this.parametros = parametros;
+        this.jdbcRepository = jdbcRepository;
+        this.ocupacion = ocupacion;
+        this.compartido = compartido;
+        for (int i = 0; i < FRANJAS; i++) {
+            franjas[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Bloquea el doctor y el consultorio en los días que abarca la cita y el
+     * paciente en los días que abarca su regla de separación, hasta que termine
+     * la transacción actual.
+     *
+     * @param cita la cita a agendar.
+     */
+    public void bloquear(Cita cita) {
+        bloquear(List.of(cita));
+    }
+
+    /**
+     * Bloquea de una sola vez los recursos de todas las citas de un lote, hasta
+     * que termine la transacción actual.
+     *
+     * @param citas las citas a agendar.
+     */
+    public void bloquear(Collection<Cita> citas) {
+        if (citas.isEmpty()) {
+            return;
+        }
+        // Las franjas se toman en orden ascendente para evitar interbloqueos.
+        TreeSet<Integer> indices = new TreeSet<>();
+        for (Cita cita : citas) {
+            agregarFranjas(cita, indices);
+        }
+        bloquear(indices);
+        if (compartido) {
+            recargar(citas);
+        }
+    }
+
+    /**
+     * Bloquea los recursos de las citas que entrega un recorrido, hasta que
+     * termine la transacción actual, para las operaciones que agregan muchas
+     * citas sin cargarlas en memoria: de cada cita sólo se guardan sus franjas,
+     * que no pasan de {@value #FRANJAS}. El índice no se recarga, por lo que
+     * las citas se deben validar contra la base de datos.
+     *
+     * @param recorrido el recorrido, que entrega cada cita a la función que
+     *                  recibe.
+     */
+    public void bloquearRecorrido(Consumer<Consumer<CitaSlot>> recorrido) {
+        TreeSet<Integer> indices = new TreeSet<>();
+        recorrido.accept(slot -> agregarFranjas(slot.doctorId(), slot.consultorioId(), slot.nombrePaciente(),
+                slot.horarioConsulta(), indices));
+        if (!indices.isEmpty()) {
+            bloquear(indices);
+        }
+    }
+
+    private void agregarFranjas(Cita cita, TreeSet<Integer> indices) {
+        agregarFranjas(cita.getDoctor().getId(), cita.getConsultorio().getId(), cita.getNombrePaciente(),
+                cita.getHorarioConsulta(), indices);
+    }
+
+    private void agregarFranjas(Long doctorId, Long consultorioId, String nombrePaciente, LocalDateTime inicio,
+            TreeSet<Integer> indices) {
+        String paciente = OcupacionCitas.normalizarPaciente(nombrePaciente);
+        for (LocalDate dia : diasCita(inicio)) {
+            indices.add(franja("doctor", doctorId, dia));
+            indices.add(franja("consultorio", consultorioId, dia));
+        }
+        for (LocalDate dia : diasPaciente(inicio)) {
+            indices.add(franja("paciente", paciente, dia));
+        }
+    }
+
+    /**
+     * Lee de la base de datos la ocupación de los recursos bloqueados, que otras
+     * instancias pudieron cambiar sin pasar por el índice de ésta. De cada
+     * recurso sólo se recargan los días cuyas franjas se tomaron.
+     */
+    private void recargar(Collection<Cita> citas) {
+        Map<Long, Set<LocalDate>> doctores = new HashMap<>();
+        Map<Long, Set<LocalDate>> consultorios = new HashMap<>();
+        Map<String, Set<LocalDate>> pacientes = new HashMap<>();
+        for (Cita cita : citas) {
+            LocalDateTime inicio = cita.getHorarioConsulta();
+            List<LocalDate> dias = diasCita(inicio);
+            doctores.computeIfAbsent(cita.getDoctor().getId(), k -> new HashSet<>()).addAll(dias);
+            consultorios.computeIfAbsent(cita.getConsultorio().getId(), k -> new HashSet<>()).addAll(dias);
+            pacientes.computeIfAbsent(cita.getNombrePaciente(), k -> new HashSet<>()).addAll(diasPaciente(inicio));
+        }
+        ocupacion.recargar(doctores, consultorios, pacientes);
+    }
+
+    /**
+     * Los días que abarca una cita, de su inicio a su fin, porque puede
+     * terminar después de la medianoche.
+     */
+    private List<LocalDate> diasCita(LocalDateTime inicio) {
+        return dias(inicio, inicio.plus(parametros.getDuracion()));
+    }
+
+    /**
+     * Los días que abarca la regla de separación del paciente alrededor de una
+     * cita.
+     */
+    private List<LocalDate> diasPaciente(LocalDateTime inicio) {
+        return dias(inicio.minus(parametros.getSeparacionPaciente()),
+                inicio.plus(parametros.getDuracion()).plus(parametros.getSeparacionPaciente()));
+    }
+
+    private static List<LocalDate> dias(LocalDateTime desde, LocalDateTime hasta) {
+        return desde.toLocalDate().datesUntil(hasta.toLocalDate().plusDays(1)).toList();
+    }
+
+    private void bloquear(TreeSet<Integer> indices) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Los bloqueos de citas requieren una transacción activa");
+        }
+        List<ReentrantLock> tomados = new ArrayList<>(indices.size());
+        try {
+            for (int indice : indices) {
+                ReentrantLock lock = franjas[indice];
+                if (!lock.tryLock(ESPERA_MAXIMA_SEGUNDOS, TimeUnit.SECONDS)) {
+                    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                            "No se pudo reservar el horario, intente de nuevo.");
+                }
+                tomados.add(lock);
+            }
+            if (compartido) {
+                jdbcRepository.bloquearFranjas(indices, Duration.ofSeconds(ESPERA_MAXIMA_SEGUNDOS));
+            }
+        } catch (CannotAcquireLockException e) {
+            liberar(tomados);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "No se pudo reservar el horario, intente de nuevo.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            liberar(tomados);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "No se pudo reservar el horario, intente de nuevo.");
+        } catch (RuntimeException e) {
+            liberar(tomados);
+            throw e;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                liberar(tomados);
+            }
+        });
+    }
+
+    private static void liberar(List<ReentrantLock> tomados) {
+        for (int i = tomados.size() - 1; i >= 0; i--) {
+            tomados.get(i).unlock();
+        }
+    }
+
+    /**
+     * Obtiene la franja de un recurso en un día.
+     */
+    static int franja(String tipo, Object recurso, LocalDate dia) {
+        return Math.floorMod(Objects.hash(tipo, recurso, dia), FRANJAS);
+    }
+}
@@ -0,0 +1,62 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
+import prueba.tecnica.elias.camacho.app.domain.repository.CitasReactivoRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Servicio reactivo para las consultas de agenda de {@link Cita}. Aplica los
+ * mismos criterios que {@link CitasService}; las altas y modificaciones, con
+ * sus reglas de negocio, siguen pasando únicamente por {@link CitasService}.
+ *
+ * @see CitasReactivoRepository
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Service
+@ConditionalOnProperty("citas.reactivo.url")
+public class CitasReactivoService {
+
+    private final CitasReactivoRepository repository;
+
+    public CitasReactivoService(CitasReactivoRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Obtiene todas las citas ordenadas por horario e ID.
+     *
+     * @return las citas, conforme el cliente las consume.
+     */
+    public Flux<CitaSlot> findAll() {
+        return repository.recorrer();
+    }
+
+    /**
+     * Busca las citas de un día, igual que
+     * {@link CitasService#buscarCitas(LocalDateTime, Long, Long)}.
+     *
+     * @param fecha         la fecha de las citas.
+     * @param consultorioId el ID del consultorio de las citas.
+     * @param doctorId      el ID del doctor de las citas.
+     * @return las citas que coinciden con los criterios de búsqueda.
+     */
+    public Flux<CitaSlot> buscarCitas(LocalDateTime fecha, Long consultorioId, Long doctorId) {
+        LocalDateTime inicioDia = fecha.truncatedTo(ChronoUnit.DAYS);
+        LocalDateTime finDia = inicioDia.plusDays(1);
+        if (consultorioId != null) {
+            return repository.findByConsultorioIdAndHorarioConsultaBetween(consultorioId, inicioDia, finDia);
+        } else if (doctorId != null) {
+            return repository.findByDoctorIdAndHorarioConsultaBetween(doctorId, inicioDia, finDia);
+        }
+        return repository.findByHorarioConsultaBetween(inicioDia, finDia);
+    }
+}
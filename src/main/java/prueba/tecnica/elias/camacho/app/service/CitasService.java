@@ -1,18 +1,47 @@
 package prueba.tecnica.elias.camacho.app.service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import prueba.tecnica.elias.camacho.app.domain.dto.CursorCitas;
+import prueba.tecnica.elias.camacho.app.domain.dto.PaginaCitas;
+import prueba.tecnica.elias.camacho.app.domain.dto.ResultadoAusencia;
+import prueba.tecnica.elias.camacho.app.domain.dto.ResultadoCita;
+import prueba.tecnica.elias.camacho.app.domain.dto.SolicitudAusencia;
+import prueba.tecnica.elias.camacho.app.domain.dto.SolicitudCita;
 import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+import prueba.tecnica.elias.camacho.app.domain.entity.Consultorio;
+import prueba.tecnica.elias.camacho.app.domain.entity.Doctor;
+import prueba.tecnica.elias.camacho.app.domain.entity.Paciente;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaEvento;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
+import prueba.tecnica.elias.camacho.app.domain.repository.CitasJdbcRepository;
 import prueba.tecnica.elias.camacho.app.domain.repository.CitasRepository;
+import prueba.tecnica.elias.camacho.app.domain.repository.DoctoresRepository;
+import prueba.tecnica.elias.camacho.app.service.reglas.CitaRechazadaException;
+import prueba.tecnica.elias.camacho.app.service.reglas.MotorReglasCitas;
 
 /**
  * Servicio para gestionar operaciones relacionadas con la entidad {@link Cita}.
@@ -25,21 +54,113 @@ import prueba.tecnica.elias.camacho.app.domain.repository.CitasRepository;
 @Service
 public class CitasService {
 
+    /**
+     * Número máximo de citas que se aceptan en un lote.
+     */
+    public static final int TAMANO_MAXIMO_LOTE = 1000;
+
+    /**
+     * Número máximo de citas por página.
+     */
+    public static final int TAMANO_MAXIMO_PAGINA = 1000;
+
+    /**
+     * Número máximo de días de una ausencia.
+     */
+    public static final int DIAS_MAXIMOS_AUSENCIA = 14;
+
+    /**
+     * Número de consultorios que se intentan asignar a una cita antes de
+     * rechazarla.
+     */
+    public static final int INTENTOS_ASIGNACION = 3;
+
     @Autowired
     private final CitasRepository repository;
 
-    public CitasService(CitasRepository repository) {
+    private final CitasJdbcRepository jdbcRepository;
+
+    private final DoctoresRepository doctoresRepository;
+
+    private final OcupacionCitas ocupacion;
+
+    private final BloqueoCitas bloqueo;
+
+    private final MotorReglasCitas reglas;
+
+    private final PacientesService pacientes;
+
+    private final DisponibilidadService disponibilidad;
+
+    private final AsignacionConsultorios asignacion;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Validator validator;
+
+    public CitasService(CitasRepository repository, CitasJdbcRepository jdbcRepository,
+            DoctoresRepository doctoresRepository, OcupacionCitas ocupacion, BloqueoCitas bloqueo,
+            MotorReglasCitas reglas, PacientesService pacientes, DisponibilidadService disponibilidad,
+            AsignacionConsultorios asignacion, ApplicationEventPublisher eventPublisher, Validator validator) {
         this.repository = repository;
+        this.jdbcRepository = jdbcRepository;
+        this.doctoresRepository = doctoresRepository;
+        this.ocupacion = ocupacion;
+        this.bloqueo = bloqueo;
+        this.reglas = reglas;
+        this.pacientes = pacientes;
+        this.disponibilidad = disponibilidad;
+        this.asignacion = asignacion;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
     }
 
     /**
-     * Obtiene todas las citas.
+     * Obtiene una página de citas ordenadas por horario e ID, a partir del
+     * cursor indicado.
      * 
-     * @return una lista de todas las citas.
+     * @param cursor        el token de la página anterior, o {@code null} para la
+     *                      primera página.
+     * @param limite        el número máximo de citas de la página.
+     * @param consultorioId el ID del consultorio de las citas, o {@code null}.
+     * @param doctorId      el ID del doctor de las citas, o {@code null}.
+     * @return la página de citas.
      */
     @Transactional(readOnly = true)
-    public List<Cita> findAll() {
-        return repository.findAll();
+    public PaginaCitas findPagina(String cursor, int limite, Long consultorioId, Long doctorId) {
+        CursorCitas desde = CursorCitas.decodificar(cursor);
+        int tamano = Math.max(1, Math.min(limite, TAMANO_MAXIMO_PAGINA));
+        LocalDateTime horario = desde.horarioConsulta();
+        // Una consulta por combinación de filtros, para que cada una use su índice.
+        // Se pide una cita de más para saber si hay otra página sin consultarla.
+        Limit limit = Limit.of(tamano + 1);
+        List<Cita> citas;
+        if (doctorId != null && consultorioId != null) {
+            citas = repository.findPaginaPorDoctorYConsultorio(doctorId, consultorioId, horario, desde.id(), limit);
+        } else if (doctorId != null) {
+            citas = repository.findPaginaPorDoctor(doctorId, horario, desde.id(), limit);
+        } else if (consultorioId != null) {
+            citas = repository.findPaginaPorConsultorio(consultorioId, horario, desde.id(), limit);
+        } else {
+            citas = repository.findPagina(horario, desde.id(), limit);
+        }
+        String siguiente = null;
+        if (citas.size() > tamano) {
+            citas = citas.subList(0, tamano);
+            siguiente = CursorCitas.de(citas.get(tamano - 1)).codificar();
+        }
+        return new PaginaCitas(citas, siguiente);
+    }
+
+    /**
+     * Recorre todas las citas ordenadas por horario e ID con un cursor de la base
+     * de datos, con memoria acotada sin importar el tamaño de la tabla.
+     * 
+     * @param consumidor recibe cada cita conforme se lee.
+     */
+    @Transactional(readOnly = true)
+    public void exportarCitas(Consumer<CitaSlot> consumidor) {
+        jdbcRepository.recorrer(consumidor);
     }
 
     /**
@@ -55,19 +176,71 @@ public class CitasService {
     }
 
     /**
-     * Guarda una nueva cita o actualiza una existente.
+     * Guarda una nueva cita o actualiza una existente. El doctor, el consultorio
+     * y el paciente quedan bloqueados desde la validación hasta la confirmación,
+     * ver {@link BloqueoCitas}.
      * 
      * @param cita la cita a guardar.
      * @return la cita guardada.
      */
     @Transactional
     public Cita save(Cita cita) {
-        validarCita(cita);
+        bloqueo.bloquear(cita);
+        CitaSlot anterior = cita.getId() != null
+                ? repository.findById(cita.getId()).map(CitaSlot::de).orElse(null)
+                : null;
+        reglas.validar(cita, anterior);
+        cita.setPaciente(pacientes.resolver(cita.getNombrePaciente()));
+        Cita guardada;
         try {
-            return repository.save(cita);
+            guardada = repository.saveAndFlush(cita);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "El horario ya fue reservado.", e);
         } catch (Exception e) {
             throw new RuntimeException("Error al guardar la cita", e);
         }
+        eventPublisher.publishEvent(new CitaEvento(anterior != null ? CitaEvento.Tipo.EDITADA : CitaEvento.Tipo.CREADA,
+                anterior, CitaSlot.de(guardada)));
+        return guardada;
+    }
+
+    /**
+     * Agenda una cita en un consultorio libre elegido por
+     * {@link AsignacionConsultorios}. Se apartan hasta
+     * {@value #INTENTOS_ASIGNACION} consultorios y se bloquean juntos, de modo
+     * que si otra petición ocupa el primero antes de bloquearlo se usa el
+     * siguiente sin tomar más franjas.
+     * 
+     * @param solicitud el doctor, el horario y el paciente de la cita.
+     * @return la cita guardada, con su consultorio.
+     */
+    @Transactional
+    public Cita agendarConAsignacion(SolicitudCita solicitud) {
+        Doctor doctor = doctoresRepository.findById(solicitud.doctorId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Doctor no encontrado."));
+        Cita cita = new Cita();
+        cita.setDoctor(doctor);
+        cita.setHorarioConsulta(solicitud.horarioConsulta());
+        cita.setNombrePaciente(solicitud.nombrePaciente());
+        // Las franjas de todos los candidatos se toman en una sola vez y en orden;
+        // tomarlas candidato por candidato podría invertir el orden de otra reserva.
+        List<Cita> candidatas = new ArrayList<>(INTENTOS_ASIGNACION);
+        for (int intento = 0; intento < INTENTOS_ASIGNACION; intento++) {
+            Consultorio consultorio = asignacion.apartar(cita);
+            if (consultorio == null) {
+                break;
+            }
+            Cita candidata = destino(cita, doctor, cita.getHorarioConsulta());
+            candidata.setConsultorio(consultorio);
+            candidatas.add(candidata);
+        }
+        bloqueo.bloquear(candidatas);
+        for (Cita candidata : candidatas) {
+            if (asignacion.libre(candidata)) {
+                return save(candidata);
+            }
+        }
+        throw new CitaRechazadaException(List.of("No hay un consultorio libre a la misma hora."));
     }
 
     /**
@@ -77,11 +250,14 @@ public class CitasService {
      */
     @Transactional
     public void deleteById(Long id) {
+        Optional<CitaSlot> anterior = repository.findById(id).map(CitaSlot::de);
         try {
             repository.deleteById(id);
         } catch (Exception e) {
             throw new RuntimeException("Error al eliminar la cita", e);
         }
+        anterior.ifPresent(slot -> eventPublisher.publishEvent(
+                new CitaEvento(CitaEvento.Tipo.ELIMINADA, slot, null)));
     }
 
     /**
@@ -96,6 +272,7 @@ public class CitasService {
             Cita cita = citaOpt.get();
             if (cita.getHorarioConsulta().isAfter(LocalDateTime.now())) {
                 repository.deleteById(id);
+                eventPublisher.publishEvent(new CitaEvento(CitaEvento.Tipo.CANCELADA, CitaSlot.de(cita), null));
             } else {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "No se puede cancelar una cita que ya ha pasado.");
@@ -117,57 +294,316 @@ public class CitasService {
         Optional<Cita> citaOpt = repository.findById(id);
         if (citaOpt.isPresent()) {
             Cita citaExistente = citaOpt.get();
+            CitaSlot anterior = CitaSlot.de(citaExistente);
             citaExistente.setConsultorio(cita.getConsultorio());
             citaExistente.setDoctor(cita.getDoctor());
             citaExistente.setHorarioConsulta(cita.getHorarioConsulta());
             citaExistente.setNombrePaciente(cita.getNombrePaciente());
-            validarCita(citaExistente);
-            return repository.save(citaExistente);
+            bloqueo.bloquear(citaExistente);
+            reglas.validar(citaExistente, anterior);
+            citaExistente.setPaciente(pacientes.resolver(citaExistente.getNombrePaciente()));
+            Cita editada;
+            try {
+                editada = repository.saveAndFlush(citaExistente);
+            } catch (DataIntegrityViolationException e) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "El horario ya fue reservado.", e);
+            }
+            eventPublisher.publishEvent(new CitaEvento(CitaEvento.Tipo.EDITADA, anterior, CitaSlot.de(editada)));
+            return editada;
         } else {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Cita no encontrada.");
         }
     }
 
     /**
-     * Valida las reglas de negocio para la creación y actualización de citas.
+     * Guarda un lote de citas nuevas. Cada cita se valida primero por separado
+     * con sus anotaciones de Bean Validation, y las que las cumplen se validan
+     * en una sola pasada contra las citas existentes y contra las citas
+     * anteriores del mismo lote. Las citas válidas se insertan con JDBC
+     * batching. Un lote vacío o de más de {@value #TAMANO_MAXIMO_LOTE} citas se
+     * rechaza completo.
      * 
-     * @param cita la cita a validar.
+     * @param citas    las citas a guardar.
+     * @param todoONada si es {@code true} no se guarda ninguna cita cuando alguna
+     *                  es inválida; si es {@code false} se guardan las válidas.
+     * @return el resultado de cada cita, en el mismo orden del lote.
      */
-    private void validarCita(Cita cita) {
-        LocalDateTime inicio = cita.getHorarioConsulta();
-        LocalDateTime fin = inicio.plusHours(1);
-
-        // No se puede agendar cita en un mismo consultorio a la misma hora.
-        if (repository.existsByConsultorioAndHorarioConsultaBetween(cita.getConsultorio(), inicio, fin)) {
+    @Transactional
+    public List<ResultadoCita> saveAll(List<Cita> citas, boolean todoONada) {
+        if (citas.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El lote debe tener al menos una cita.");
+        }
+        if (citas.size() > TAMANO_MAXIMO_LOTE) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                    "No se puede agendar cita en el mismo consultorio a la misma hora.");
+                    "El lote no puede tener más de " + TAMANO_MAXIMO_LOTE + " citas.");
+        }
+        String[] errores = new String[citas.size()];
+        List<Cita> completas = new ArrayList<>(citas.size());
+        for (int i = 0; i < citas.size(); i++) {
+            errores[i] = validarCampos(citas.get(i));
+            if (errores[i] == null) {
+                completas.add(citas.get(i));
+            }
         }
+        bloqueo.bloquear(completas);
 
-        // No se puede agendar cita para un mismo Dr. a la misma hora.
-        if (repository.existsByDoctorAndHorarioConsultaBetween(cita.getDoctor(), inicio, fin)) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                    "No se puede agendar cita para un mismo Dr. a la misma hora.");
+        List<CitaSlot> aceptadas = new ArrayList<>();
+        List<Cita> validas = new ArrayList<>();
+        for (int i = 0; i < citas.size(); i++) {
+            if (errores[i] != null) {
+                continue;
+            }
+            Cita cita = citas.get(i);
+            cita.setId(null);
+            List<String> violaciones = reglas.verificar(cita, null, aceptadas);
+            if (!violaciones.isEmpty()) {
+                errores[i] = String.join(" ", violaciones);
+            } else {
+                aceptadas.add(CitaSlot.de(cita));
+                validas.add(cita);
+            }
         }
 
-        // No se puede agendar cita para un paciente a la misma hora ni con menos de 2
-        // horas de diferencia para el mismo día.
-        if (repository.existsByNombrePacienteAndHorarioConsultaBetween(cita.getNombrePaciente(), inicio.minusHours(2),
-                fin.plusHours(2))) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                    "No se puede agendar cita para un paciente a la misma hora ni con menos de 2 horas de diferencia para el mismo día.");
+        boolean guardar = !todoONada || validas.size() == citas.size();
+        if (guardar && !validas.isEmpty()) {
+            Map<String, Paciente> resueltos = new HashMap<>();
+            for (Cita cita : validas) {
+                cita.setPaciente(resueltos.computeIfAbsent(OcupacionCitas.normalizarPaciente(cita.getNombrePaciente()),
+                        clave -> pacientes.resolver(cita.getNombrePaciente())));
+            }
+            try {
+                repository.saveAllAndFlush(validas);
+            } catch (DataIntegrityViolationException e) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "El horario ya fue reservado.", e);
+            } catch (Exception e) {
+                throw new RuntimeException("Error al guardar las citas", e);
+            }
+            for (Cita cita : validas) {
+                eventPublisher.publishEvent(new CitaEvento(CitaEvento.Tipo.CREADA, null, CitaSlot.de(cita)));
+            }
+        }
+
+        List<ResultadoCita> resultados = new ArrayList<>(citas.size());
+        for (int i = 0; i < citas.size(); i++) {
+            if (errores[i] != null) {
+                resultados.add(ResultadoCita.rechazada(i, errores[i]));
+            } else if (guardar) {
+                resultados.add(ResultadoCita.creada(i, citas.get(i).getId()));
+            } else {
+                resultados.add(ResultadoCita.omitida(i));
+            }
+        }
+        return resultados;
+    }
+
+    /**
+     * Revisa las anotaciones de Bean Validation de una cita de un lote, que no
+     * se validan al recibir la petición para no rechazar el lote completo.
+     *
+     * @return los mensajes de las restricciones que no cumple, o {@code null}.
+     */
+    private String validarCampos(Cita cita) {
+        if (cita == null) {
+            return "La cita no puede ser nula.";
         }
+        Set<ConstraintViolation<Cita>> violaciones = validator.validate(cita);
+        if (!violaciones.isEmpty()) {
+            return violaciones.stream().map(ConstraintViolation::getMessage).sorted()
+                    .collect(Collectors.joining(". ", "", "."));
+        }
+        if (cita.getDoctor().getId() == null || cita.getConsultorio().getId() == null) {
+            return "Se deben indicar los IDs del doctor y del consultorio.";
+        }
+        return null;
+    }
 
-        // Un mismo doctor no puede tener más de 8 citas en el día.
-        LocalDateTime inicioDia = inicio.toLocalDate().atStartOfDay();
-        LocalDateTime finDia = inicio.toLocalDate().atTime(23, 59, 59);
-        if (repository.countByDoctorAndHorarioConsultaBetween(cita.getDoctor(), inicioDia, finDia) >= 8) {
+    /**
+     * Cancela o mueve en una sola transacción las citas futuras de un doctor
+     * ausente. Las citas se leen primero sólo para bloquear sus franjas y las
+     * de sus destinos, y se vuelven a leer con las franjas tomadas; los
+     * destinos se resuelven en memoria con las mismas reglas de alta contando
+     * las citas ya movidas, y los cambios se escriben juntos con JDBC
+     * batching. Las citas que no se pueden mover, o que otra petición cambió
+     * entre las dos lecturas, se quedan como estaban.
+     * 
+     * @param doctorId  el ID del doctor ausente.
+     * @param solicitud los días de la ausencia y la política a aplicar.
+     * @return lo que pasó con cada cita, en orden de horario.
+     */
+    @Transactional
+    public List<ResultadoAusencia> registrarAusencia(Long doctorId, SolicitudAusencia solicitud) {
+        LocalDate desde = solicitud.desde();
+        LocalDate hasta = solicitud.hasta();
+        if (desde == null || hasta == null || solicitud.politica() == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                    "Un mismo doctor no puede tener más de 8 citas en el día.");
+                    "Se deben indicar los días de la ausencia y la política.");
         }
+        if (hasta.isBefore(desde) || ChronoUnit.DAYS.between(desde, hasta) >= DIAS_MAXIMOS_AUSENCIA) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "La ausencia debe ser de 1 a " + DIAS_MAXIMOS_AUSENCIA + " días.");
+        }
+        Doctor doctor = doctoresRepository.findById(doctorId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Doctor no encontrado."));
+
+        LocalDateTime ahora = LocalDateTime.now();
+        LocalDateTime fin = hasta.plusDays(1).atStartOfDay();
+        // La primera lectura no carga las entidades, para que la segunda no las
+        // tome del contexto de persistencia con los datos de antes del bloqueo.
+        List<Cita> previstas = jdbcRepository.buscarOcupacion(List.of(doctorId), List.of(), List.of(),
+                desde.atStartOfDay(), fin).stream()
+                .filter(slot -> slot.horarioConsulta().isAfter(ahora))
+                .map(slot -> prevista(slot, doctor))
+                .toList();
+        if (previstas.isEmpty()) {
+            return List.of();
+        }
+
+        // Los suplentes y los horarios a los que se puede recorrer cada cita se
+        // bloquean desde el inicio y en una sola vez, para tomar las franjas en orden.
+        List<Doctor> suplentes = solicitud.politica() == SolicitudAusencia.Politica.REASIGNAR
+                ? doctoresRepository.findByEspecialidadAndIdNot(doctor.getEspecialidad(), doctorId)
+                : List.of();
+        List<Cita> bloquear = new ArrayList<>(previstas);
+        Map<Long, List<Cita>> recorridos = new HashMap<>();
+        for (Cita cita : previstas) {
+            for (Doctor suplente : suplentes) {
+                bloquear.add(destino(cita, suplente, cita.getHorarioConsulta()));
+            }
+            if (solicitud.politica() == SolicitudAusencia.Politica.RECORRER) {
+                List<Cita> candidatos = recorridos(cita, hasta);
+                recorridos.put(cita.getId(), candidatos);
+                bloquear.addAll(candidatos);
+            }
+        }
+        bloqueo.bloquear(bloquear);
+
+        Set<CitaSlot> bloqueadas = previstas.stream().map(CitaSlot::de).collect(Collectors.toSet());
+        List<Cita> citas = repository.findByDoctorIdAndHorarioConsultaBetween(doctorId,
+                desde.atStartOfDay(), fin).stream()
+                .filter(cita -> cita.getHorarioConsulta().isAfter(ahora) && cita.getHorarioConsulta().isBefore(fin))
+                .sorted(Comparator.comparing(Cita::getHorarioConsulta).thenComparing(Cita::getId))
+                .toList();
+        List<ResultadoAusencia> resultados = new ArrayList<>(citas.size());
+        List<CitaSlot> aceptadas = new ArrayList<>();
+        List<Cita> canceladas = new ArrayList<>();
+        Map<Cita, CitaSlot> movidas = new LinkedHashMap<>();
+        for (Cita cita : citas) {
+            CitaSlot anterior = CitaSlot.de(cita);
+            if (!bloqueadas.contains(anterior)) {
+                // Sus franjas y las de sus destinos no se bloquearon.
+                resultados.add(new ResultadoAusencia(cita.getId(), ResultadoAusencia.Accion.SIN_CAMBIO, doctorId,
+                        cita.getHorarioConsulta(), "La cita cambió mientras se registraba la ausencia."));
+                continue;
+            }
+            if (solicitud.politica() == SolicitudAusencia.Politica.CANCELAR) {
+                canceladas.add(cita);
+                resultados.add(new ResultadoAusencia(cita.getId(), ResultadoAusencia.Accion.CANCELADA, null, null,
+                        null));
+                continue;
+            }
+            Cita destino = solicitud.politica() == SolicitudAusencia.Politica.REASIGNAR
+                    ? reasignar(cita, anterior, suplentes, aceptadas)
+                    : recorrer(anterior, recorridos.get(cita.getId()), aceptadas);
+            if (destino == null) {
+                resultados.add(new ResultadoAusencia(cita.getId(), ResultadoAusencia.Accion.SIN_CAMBIO, doctorId,
+                        cita.getHorarioConsulta(), "No hay un horario libre para mover la cita."));
+                continue;
+            }
+            aceptadas.add(CitaSlot.de(destino));
+            cita.setDoctor(destino.getDoctor());
+            cita.setHorarioConsulta(destino.getHorarioConsulta());
+            movidas.put(cita, anterior);
+            resultados.add(new ResultadoAusencia(cita.getId(),
+                    solicitud.politica() == SolicitudAusencia.Politica.REASIGNAR
+                            ? ResultadoAusencia.Accion.REASIGNADA
+                            : ResultadoAusencia.Accion.RECORRIDA,
+                    destino.getDoctor().getId(), destino.getHorarioConsulta(), null));
+        }
+
+        try {
+            repository.deleteAllInBatch(canceladas);
+            repository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "El horario ya fue reservado.", e);
+        }
+        for (Cita cita : canceladas) {
+            eventPublisher.publishEvent(new CitaEvento(CitaEvento.Tipo.CANCELADA, CitaSlot.de(cita), null));
+        }
+        movidas.forEach((cita, anterior) -> eventPublisher.publishEvent(
+                new CitaEvento(CitaEvento.Tipo.EDITADA, anterior, CitaSlot.de(cita))));
+        return resultados;
+    }
+
+    /**
+     * Busca al suplente con menos citas en el día que pueda tomar la cita a la
+     * misma hora.
+     */
+    private Cita reasignar(Cita cita, CitaSlot anterior, List<Doctor> suplentes, List<CitaSlot> aceptadas) {
+        LocalDate dia = cita.getHorarioConsulta().toLocalDate();
+        return suplentes.stream()
+                .sorted(Comparator.comparingLong((Doctor suplente) -> ocupacion.citasDelDoctor(suplente.getId(), dia,
+                        null)
+                        + aceptadas.stream().filter(p -> suplente.getId().equals(p.doctorId())
+                                && p.horarioConsulta().toLocalDate().equals(dia)).count()))
+                .map(suplente -> destino(cita, suplente, cita.getHorarioConsulta()))
+                .filter(destino -> reglas.verificar(destino, anterior, aceptadas).isEmpty())
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Obtiene, en orden, los horarios libres del mismo doctor y consultorio
+     * después de la ausencia a los que se podría recorrer la cita.
+     */
+    private List<Cita> recorridos(Cita cita, LocalDate hasta) {
+        LocalDate desde = hasta.plusDays(1);
+        return disponibilidad.buscar(cita.getDoctor().getId(), cita.getConsultorio().getId(),
+                cita.getNombrePaciente(), desde, desde.plusDays(DisponibilidadService.DIAS_MAXIMOS - 1),
+                DisponibilidadService.CANTIDAD_MAXIMA).stream()
+                .map(horario -> destino(cita, cita.getDoctor(), horario.horarioConsulta()))
+                .toList();
+    }
+
+    /**
+     * Busca el primer horario de los recorridos de la cita que cumple las
+     * reglas de alta, con sus franjas ya bloqueadas.
+     */
+    private Cita recorrer(CitaSlot anterior, List<Cita> recorridos, List<CitaSlot> aceptadas) {
+        return recorridos.stream()
+                .filter(destino -> reglas.verificar(destino, anterior, aceptadas).isEmpty())
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Crea la cita leída antes del bloqueo, con la que se eligen las franjas a
+     * bloquear.
+     */
+    private static Cita prevista(CitaSlot slot, Doctor doctor) {
+        Consultorio consultorio = new Consultorio();
+        consultorio.setId(slot.consultorioId());
+        Cita cita = new Cita();
+        cita.setId(slot.id());
+        cita.setDoctor(doctor);
+        cita.setConsultorio(consultorio);
+        cita.setHorarioConsulta(slot.horarioConsulta());
+        cita.setNombrePaciente(slot.nombrePaciente());
+        return cita;
+    }
+
+    private static Cita destino(Cita cita, Doctor doctor, LocalDateTime horario) {
+        Cita destino = new Cita();
+        destino.setId(cita.getId());
+        destino.setDoctor(doctor);
+        destino.setConsultorio(cita.getConsultorio());
+        destino.setHorarioConsulta(horario);
+        destino.setNombrePaciente(cita.getNombrePaciente());
+        return destino;
     }
 
     /**
-     * Busca citas por fecha, consultorio y doctor.
+     * Busca las citas de un día, por consultorio o por doctor. Para consultar
+     * citas sin fecha se debe usar {@link #findPagina(String, int, Long, Long)}.
      * 
      * @param fecha         la fecha de las citas.
      * @param consultorioId el ID del consultorio de las citas.
@@ -178,18 +614,14 @@ public class CitasService {
     public List<Cita> buscarCitas(LocalDateTime fecha, Long consultorioId, Long doctorId) {
         try {
             List<Cita> citas;
-            if (fecha != null) {
-                LocalDateTime inicioDia = fecha.truncatedTo(ChronoUnit.DAYS);
-                LocalDateTime finDia = inicioDia.plusDays(1);
-                if (consultorioId != null) {
-                    citas = repository.findByConsultorioIdAndHorarioConsultaBetween(consultorioId, inicioDia, finDia);
-                } else if (doctorId != null) {
-                    citas = repository.findByDoctorIdAndHorarioConsultaBetween(doctorId, inicioDia, finDia);
-                } else {
-                    citas = repository.findByHorarioConsultaBetween(inicioDia, finDia);
-                }
+            LocalDateTime inicioDia = fecha.truncatedTo(ChronoUnit.DAYS);
+            LocalDateTime finDia = inicioDia.plusDays(1);
+            if (consultorioId != null) {
+                citas = repository.findByConsultorioIdAndHorarioConsultaBetween(consultorioId, inicioDia, finDia);
+            } else if (doctorId != null) {
+                citas = repository.findByDoctorIdAndHorarioConsultaBetween(doctorId, inicioDia, finDia);
             } else {
-                citas = repository.findAll();
+                citas = repository.findByHorarioConsultaBetween(inicioDia, finDia);
             }
             return citas;
         } catch (Exception e) {
@@ -4,15 +4,22 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import prueba.tecnica.elias.camacho.app.domain.entity.Consultorio;
 import prueba.tecnica.elias.camacho.app.domain.repository.ConsultoriosRepository;
+import prueba.tecnica.elias.camacho.configurations.CacheConfig;
 
 /**
  * Servicio para gestionar operaciones relacionadas con la entidad
  * {@link Consultorio}.
+ * Las consultas se sirven desde la caché {@link CacheConfig}, que se invalida
+ * al guardar o eliminar consultorios.
  * 
  * @see Consultorio
  * @version 1.0.0
@@ -35,6 +42,7 @@ public class ConsultoriosService {
      * @return una lista de todos los consultorios.
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CONSULTORIOS_LISTA, key = "'todos'")
     public List<Consultorio> findAll() {
         return repository.findAll();
     }
@@ -47,6 +55,7 @@ public class ConsultoriosService {
      *         vacío si no.
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CONSULTORIOS, key = "#id", unless = "#result == null")
     public Optional<Consultorio> findById(Long id) {
         return repository.findById(id);
     }
@@ -58,6 +67,8 @@ public class ConsultoriosService {
      * @return el consultorio guardado.
      */
     @Transactional
+    @Caching(put = @CachePut(cacheNames = CacheConfig.CONSULTORIOS, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.CONSULTORIOS_LISTA, allEntries = true))
     public Consultorio save(Consultorio consultorio) {
         try {
             return repository.save(consultorio);
@@ -72,6 +83,8 @@ public class ConsultoriosService {
      * @param id el ID del consultorio a eliminar.
      */
     @Transactional
+    @Caching(evict = { @CacheEvict(cacheNames = CacheConfig.CONSULTORIOS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CONSULTORIOS_LISTA, allEntries = true) })
     public void deleteById(Long id) {
         try {
             repository.deleteById(id);
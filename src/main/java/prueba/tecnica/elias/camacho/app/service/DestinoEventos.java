@@ -0,0 +1,28 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.util.List;
+
+import prueba.tecnica.elias.camacho.app.domain.event.CitaEventoPublicado;
+
+/**
+ * Destino al que el relevo de la bandeja de salida publica los cambios de
+ * citas. Se elige con {@code citas.outbox.destino}; para otro destino basta
+ * registrar un bean que implemente esta interfaz con un valor distinto.
+ *
+ * @see RelevoOutbox
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public interface DestinoEventos {
+
+    /**
+     * Publica un lote de cambios en el orden recibido. Si termina sin lanzar
+     * una excepción, los cambios se marcan como publicados; si la lanza, el
+     * lote completo se vuelve a entregar en el siguiente intento.
+     *
+     * @param eventos los cambios, ordenados por ID.
+     * @throws Exception si el destino no recibió el lote.
+     */
+    void publicar(List<CitaEventoPublicado> eventos) throws Exception;
+}
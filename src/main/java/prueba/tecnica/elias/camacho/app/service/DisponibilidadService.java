@@ -0,0 +1,160 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import prueba.tecnica.elias.camacho.app.domain.dto.HorarioDisponible;
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+import prueba.tecnica.elias.camacho.app.domain.entity.Consultorio;
+import prueba.tecnica.elias.camacho.app.service.reglas.ParametrosReglas;
+
+/**
+ * Servicio para encontrar los siguientes horarios libres para una
+ * {@link Cita}. Los horarios ocupados de cada recurso se leen una sola vez del
+ * índice {@link OcupacionCitas} para todo el rango, y cada horario candidato se
+ * revisa contra ellos con las mismas reglas de {@link CitasService}.
+ *
+ * @see Cita
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Service
+public class DisponibilidadService {
+
+    /**
+     * Número máximo de horarios que se pueden pedir.
+     */
+    public static final int CANTIDAD_MAXIMA = 100;
+
+    /**
+     * Número máximo de días que se pueden revisar.
+     */
+    public static final int DIAS_MAXIMOS = 31;
+
+    private final OcupacionCitas ocupacion;
+
+    private final ConsultoriosService consultoriosService;
+
+    private final ParametrosReglas parametros;
+
+    private final int apertura;
+
+    private final int cierre;
+
+    public DisponibilidadService(OcupacionCitas ocupacion, ConsultoriosService consultoriosService,
+            ParametrosReglas parametros,
+            @Value("${citas.horario.apertura:8}") int apertura,
+            @Value("${citas.horario.cierre:20}") int cierre) {
+        this.ocupacion = ocupacion;
+        this.consultoriosService = consultoriosService;
+        this.parametros = parametros;
+        this.apertura = apertura;
+        this.cierre = cierre;
+    }
+
+    /**
+     * Busca los siguientes horarios libres entre dos días, con la duración de
+     * cita {@code citas.reglas.duracion}.
+     *
+     * @param doctorId       el ID del doctor, o {@code null} para cualquier
+     *                       doctor.
+     * @param consultorioId  el ID del consultorio, o {@code null} para cualquier
+     *                       consultorio.
+     * @param nombrePaciente el nombre del paciente, o {@code null} para no
+     *                       aplicar la regla del paciente.
+     * @param desde          el primer día, inclusivo.
+     * @param hasta          el último día, inclusivo.
+     * @param cantidad       el número máximo de horarios a devolver.
+     * @return los horarios libres, en orden.
+     */
+    public List<HorarioDisponible> buscar(Long doctorId, Long consultorioId, String nombrePaciente,
+            LocalDate desde, LocalDate hasta, int cantidad) {
+        if (doctorId == null && consultorioId == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Se debe indicar un doctor o un consultorio.");
+        }
+        if (hasta.isBefore(desde) || ChronoUnit.DAYS.between(desde, hasta) >= DIAS_MAXIMOS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "El rango debe ser de 1 a " + DIAS_MAXIMOS + " días.");
+        }
+        int limite = Math.max(1, Math.min(cantidad, CANTIDAD_MAXIMA));
+
+        // Una sola lectura por recurso para todo el rango; la regla del paciente
+        // revisa horas antes y después, por lo que se incluyen los días vecinos.
+        NavigableSet<LocalDateTime> doctor = doctorId != null
+                ? ocupacion.horariosDoctor(doctorId, desde, hasta)
+                : null;
+        NavigableSet<LocalDateTime> paciente = nombrePaciente != null && !nombrePaciente.isBlank()
+                ? ocupacion.horariosPaciente(nombrePaciente, desde.minusDays(1), hasta.plusDays(1))
+                : null;
+        Map<Long, NavigableSet<LocalDateTime>> consultorios = new LinkedHashMap<>();
+        if (consultorioId != null) {
+            consultorios.put(consultorioId, ocupacion.horariosConsultorio(consultorioId, desde, hasta));
+        } else {
+            for (Consultorio consultorio : consultoriosService.findAll()) {
+                consultorios.put(consultorio.getId(),
+                        ocupacion.horariosConsultorio(consultorio.getId(), desde, hasta));
+            }
+        }
+
+        LocalDateTime ahora = LocalDateTime.now();
+        Duration duracion = parametros.getDuracion();
+        Duration separacion = parametros.getSeparacionPaciente();
+        List<HorarioDisponible> disponibles = new ArrayList<>(limite);
+        for (LocalDate dia = desde; !dia.isAfter(hasta); dia = dia.plusDays(1)) {
+            // Un mismo doctor no puede tener más del máximo de citas en el día.
+            if (doctorId != null && ocupacion.citasDelDoctor(doctorId, dia, null) >= parametros.getMaximoDiario()) {
+                continue;
+            }
+            LocalDateTime cierreDia = dia.atTime(cierre, 0);
+            for (LocalDateTime horario = dia.atTime(apertura, 0); horario.isBefore(cierreDia);
+                    horario = horario.plus(duracion)) {
+                LocalDateTime inicio = horario;
+                LocalDateTime fin = inicio.plus(duracion);
+                if (!inicio.isAfter(ahora)) {
+                    continue;
+                }
+                // No se puede agendar cita para un mismo Dr. a la misma hora.
+                if (doctor != null && !libre(doctor, inicio, fin)) {
+                    continue;
+                }
+                // No se puede agendar cita para un paciente a la misma hora ni con menos
+                // de la separación mínima de diferencia.
+                if (paciente != null && !libre(paciente, inicio.minus(separacion), fin.plus(separacion))) {
+                    continue;
+                }
+                // No se puede agendar cita en un mismo consultorio a la misma hora.
+                Long consultorioLibre = consultorios.entrySet().stream()
+                        .filter(entrada -> libre(entrada.getValue(), inicio, fin))
+                        .map(Map.Entry::getKey)
+                        .findFirst()
+                        .orElse(null);
+                if (consultorioLibre == null) {
+                    continue;
+                }
+                disponibles.add(new HorarioDisponible(inicio, doctorId, consultorioLibre));
+                if (disponibles.size() == limite) {
+                    return disponibles;
+                }
+            }
+        }
+        return disponibles;
+    }
+
+    private static boolean libre(NavigableSet<LocalDateTime> ocupados, LocalDateTime inicio, LocalDateTime fin) {
+        return ocupados.subSet(inicio, true, fin, true).isEmpty();
+    }
+}
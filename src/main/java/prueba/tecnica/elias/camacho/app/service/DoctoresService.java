@@ -4,15 +4,22 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import prueba.tecnica.elias.camacho.app.domain.entity.Doctor;
 import prueba.tecnica.elias.camacho.app.domain.repository.DoctoresRepository;
+import prueba.tecnica.elias.camacho.configurations.CacheConfig;
 
 /**
  * Servicio para gestionar operaciones relacionadas con la entidad
  * {@link Doctor}.
+ * Las consultas se sirven desde la caché {@link CacheConfig}, que se invalida
+ * al guardar o eliminar doctores.
  * 
  * @see Doctor
  * @version 1.0.0
@@ -35,6 +42,7 @@ public class DoctoresService {
      * @return una lista de todos los doctores.
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.DOCTORES_LISTA, key = "'todos'")
     public List<Doctor> findAll() {
         return repository.findAll();
     }
@@ -47,6 +55,7 @@ public class DoctoresService {
      *         si no.
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.DOCTORES, key = "#id", unless = "#result == null")
     public Optional<Doctor> findById(Long id) {
         return repository.findById(id);
     }
@@ -58,6 +67,8 @@ public class DoctoresService {
      * @return el doctor guardado.
      */
     @Transactional
+    @Caching(put = @CachePut(cacheNames = CacheConfig.DOCTORES, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.DOCTORES_LISTA, allEntries = true))
     public Doctor save(Doctor doctor) {
         try {
             return repository.save(doctor);
@@ -72,6 +83,8 @@ public class DoctoresService {
      * @param id el ID del doctor a eliminar.
      */
     @Transactional
+    @Caching(evict = { @CacheEvict(cacheNames = CacheConfig.DOCTORES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.DOCTORES_LISTA, allEntries = true) })
     public void deleteById(Long id) {
         try {
             repository.deleteById(id);
@@ -0,0 +1,270 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import jakarta.annotation.PreDestroy;
+import prueba.tecnica.elias.camacho.app.domain.dto.EstadisticaOcupacion;
+import prueba.tecnica.elias.camacho.app.domain.dto.OcupacionDiaria;
+import prueba.tecnica.elias.camacho.app.domain.dto.ResultadoReconstruccion;
+import prueba.tecnica.elias.camacho.app.domain.entity.Consultorio;
+import prueba.tecnica.elias.camacho.app.domain.entity.Doctor;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaEvento;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
+import prueba.tecnica.elias.camacho.app.domain.repository.OcupacionDiariaJdbcRepository;
+import prueba.tecnica.elias.camacho.app.service.reglas.ParametrosReglas;
+
+/**
+ * Estadísticas de ocupación por doctor, especialidad, consultorio y piso. Se
+ * responden desde la tabla {@code cita_ocupacion_diaria}, que cada
+ * {@link CitaEvento} actualiza en la transacción que lo publica, sin recorrer
+ * la tabla de citas.
+ *
+ * <p>
+ * La capacidad de un doctor en un día es el máximo de citas diarias, sin pasar
+ * del número de horarios entre la apertura y el cierre; la de un consultorio
+ * es el número de horarios. Los doctores y consultorios eliminados no se
+ * incluyen.
+ *
+ * @see OcupacionDiariaJdbcRepository
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Service
+public class EstadisticasService {
+
+    /**
+     * Número máximo de días que se pueden consultar.
+     */
+    public static final int DIAS_MAXIMOS = 366;
+
+    private static final Logger log = LoggerFactory.getLogger(EstadisticasService.class);
+
+    private final OcupacionDiariaJdbcRepository repository;
+
+    private final DoctoresService doctoresService;
+
+    private final ConsultoriosService consultoriosService;
+
+    private final TransactionTemplate transaccion;
+
+    private final boolean habilitado;
+
+    private final int diasPorBloque;
+
+    private final ExecutorService reconstructores;
+
+    private final long horariosPorDia;
+
+    private final long capacidadDoctor;
+
+    public EstadisticasService(OcupacionDiariaJdbcRepository repository, DoctoresService doctoresService,
+            ConsultoriosService consultoriosService, ParametrosReglas parametros,
+            PlatformTransactionManager transactionManager,
+            @Value("${citas.estadisticas.habilitado:true}") boolean habilitado,
+            @Value("${citas.estadisticas.dias-por-bloque:31}") int diasPorBloque,
+            @Value("${citas.estadisticas.hilos-reconstruccion:4}") int hilos,
+            @Value("${citas.horario.apertura:8}") int apertura, @Value("${citas.horario.cierre:20}") int cierre) {
+        this.repository = repository;
+        this.doctoresService = doctoresService;
+        this.consultoriosService = consultoriosService;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.habilitado = habilitado;
+        this.diasPorBloque = diasPorBloque;
+        this.reconstructores = Executors.newFixedThreadPool(hilos);
+        this.horariosPorDia = Duration.ofHours(cierre - apertura).dividedBy(parametros.getDuracion());
+        this.capacidadDoctor = Math.min(parametros.getMaximoDiario(), horariosPorDia);
+    }
+
+    /**
+     * Actualiza la ocupación con un cambio de cita en la transacción en curso.
+     *
+     * @param evento el cambio.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(CitaEvento evento) {
+        if (!habilitado) {
+            return;
+        }
+        // Los días se actualizan en orden para no cruzar candados con la
+        // reconstrucción.
+        CitaSlot anterior = evento.anterior();
+        CitaSlot actual = evento.actual();
+        if (anterior != null && actual != null
+                && actual.horarioConsulta().toLocalDate().isBefore(anterior.horarioConsulta().toLocalDate())) {
+            sumar(actual, 1);
+            sumar(anterior, -1);
+            return;
+        }
+        if (anterior != null) {
+            sumar(anterior, -1);
+        }
+        if (actual != null) {
+            sumar(actual, 1);
+        }
+    }
+
+    /**
+     * Suma a la ocupación las citas válidas de la importación en curso, sin
+     * un {@link CitaEvento} por cada una.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarImportacion() {
+        if (habilitado) {
+            repository.sumarImportacion();
+        }
+    }
+
+    /**
+     * Consulta la ocupación por periodo y grupo.
+     *
+     * @param agrupacion cómo se agrupan los doctores o consultorios.
+     * @param periodo    si la ocupación es por día o por semana.
+     * @param desde      el primer día, inclusivo.
+     * @param hasta      el último día, inclusivo.
+     * @return la ocupación de cada periodo y grupo, ordenada por periodo.
+     */
+    @Transactional(readOnly = true)
+    public List<EstadisticaOcupacion> consultar(EstadisticaOcupacion.Agrupacion agrupacion,
+            EstadisticaOcupacion.Periodo periodo, LocalDate desde, LocalDate hasta) {
+        if (hasta.isBefore(desde) || ChronoUnit.DAYS.between(desde, hasta) >= DIAS_MAXIMOS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "El rango debe ser de 1 a " + DIAS_MAXIMOS + " días.");
+        }
+        boolean porDoctor = agrupacion == EstadisticaOcupacion.Agrupacion.DOCTOR
+                || agrupacion == EstadisticaOcupacion.Agrupacion.ESPECIALIDAD;
+        Map<Long, String> grupos = new HashMap<>();
+        Map<String, Long> capacidadDiaria = new TreeMap<>();
+        if (porDoctor) {
+            for (Doctor doctor : doctoresService.findAll()) {
+                String grupo = agrupacion == EstadisticaOcupacion.Agrupacion.DOCTOR
+                        ? String.valueOf(doctor.getId())
+                        : doctor.getEspecialidad();
+                grupos.put(doctor.getId(), grupo);
+                capacidadDiaria.merge(grupo, capacidadDoctor, Long::sum);
+            }
+        } else {
+            for (Consultorio consultorio : consultoriosService.findAll()) {
+                String grupo = agrupacion == EstadisticaOcupacion.Agrupacion.CONSULTORIO
+                        ? String.valueOf(consultorio.getId())
+                        : String.valueOf(consultorio.getPiso());
+                grupos.put(consultorio.getId(), grupo);
+                capacidadDiaria.merge(grupo, horariosPorDia, Long::sum);
+            }
+        }
+
+        Function<LocalDate, LocalDate> inicioPeriodo = periodo == EstadisticaOcupacion.Periodo.SEMANA
+                ? dia -> dia.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                : Function.identity();
+        Map<LocalDate, Map<String, Long>> citas = new TreeMap<>();
+        for (OcupacionDiaria ocupacion : repository.buscar(desde, hasta)) {
+            String grupo = grupos.get(porDoctor ? ocupacion.doctorId() : ocupacion.consultorioId());
+            if (grupo != null) {
+                citas.computeIfAbsent(inicioPeriodo.apply(ocupacion.dia()), k -> new HashMap<>())
+                        .merge(grupo, (long) ocupacion.citas(), Long::sum);
+            }
+        }
+
+        List<EstadisticaOcupacion> estadisticas = new ArrayList<>();
+        int diasPeriodo = periodo == EstadisticaOcupacion.Periodo.SEMANA ? 7 : 1;
+        for (LocalDate inicio = inicioPeriodo.apply(desde); !inicio.isAfter(hasta);
+                inicio = inicio.plusDays(diasPeriodo)) {
+            LocalDate fin = inicio.plusDays(diasPeriodo - 1L);
+            long dias = ChronoUnit.DAYS.between(inicio.isBefore(desde) ? desde : inicio,
+                    fin.isAfter(hasta) ? hasta : fin) + 1;
+            Map<String, Long> citasPeriodo = citas.getOrDefault(inicio, Map.of());
+            for (Map.Entry<String, Long> grupo : capacidadDiaria.entrySet()) {
+                long total = citasPeriodo.getOrDefault(grupo.getKey(), 0L);
+                long capacidad = grupo.getValue() * dias;
+                estadisticas.add(new EstadisticaOcupacion(inicio, grupo.getKey(), total, capacidad,
+                        capacidad > 0 ? (double) total / capacidad : 0));
+            }
+        }
+        return estadisticas;
+    }
+
+    /**
+     * Recalcula desde cero la ocupación de un rango de días a partir de las
+     * citas vigentes y archivadas. El rango se divide en bloques de
+     * {@code citas.estadisticas.dias-por-bloque} días que se recalculan en
+     * paralelo, cada uno en su propia transacción; las citas que se modifican
+     * mientras tanto se suman después de su bloque.
+     *
+     * @param desde el primer día, o {@code null} para el primer día con citas.
+     * @param hasta el último día, o {@code null} para el último día con citas.
+     * @return los días recalculados, el número de bloques y de filas.
+     */
+    public ResultadoReconstruccion reconstruir(LocalDate desde, LocalDate hasta) {
+        if (desde == null || hasta == null) {
+            LocalDate[] rango = repository.rango();
+            desde = desde != null ? desde : rango[0];
+            hasta = hasta != null ? hasta : rango[1];
+            if (desde == null || hasta == null) {
+                return new ResultadoReconstruccion(null, null, 0, 0);
+            }
+        }
+        if (hasta.isBefore(desde)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "El último día no puede ser anterior al primero.");
+        }
+
+        List<Future<Integer>> bloques = new ArrayList<>();
+        for (LocalDate inicio = desde; !inicio.isAfter(hasta); inicio = inicio.plusDays(diasPorBloque)) {
+            LocalDate inicioBloque = inicio;
+            LocalDate finBloque = inicio.plusDays(diasPorBloque - 1L).isAfter(hasta)
+                    ? hasta
+                    : inicio.plusDays(diasPorBloque - 1L);
+            bloques.add(reconstructores.submit(() -> transaccion.execute(
+                    estado -> repository.reconstruir(inicioBloque, finBloque))));
+        }
+        long filas = 0;
+        try {
+            for (Future<Integer> bloque : bloques) {
+                filas += bloque.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Se interrumpió la reconstrucción de la ocupación", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error al reconstruir la ocupación", e.getCause());
+        }
+        log.info("Ocupación del {} al {} reconstruida: {} bloques, {} filas", desde, hasta, bloques.size(), filas);
+        return new ResultadoReconstruccion(desde, hasta, bloques.size(), filas);
+    }
+
+    private void sumar(CitaSlot slot, int citas) {
+        repository.sumar(slot.horarioConsulta().toLocalDate(), slot.doctorId(), slot.consultorioId(), citas);
+    }
+
+    @PreDestroy
+    void cerrar() {
+        reconstructores.shutdownNow();
+    }
+}
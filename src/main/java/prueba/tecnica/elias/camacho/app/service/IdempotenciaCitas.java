@@ -0,0 +1,128 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+import prueba.tecnica.elias.camacho.app.service.reglas.CitaRechazadaException;
+
+/**
+ * Registro de las respuestas a las peticiones sobre {@link Cita} que traen el
+ * encabezado {@value #ENCABEZADO}. Un reintento con la misma clave recibe la
+ * respuesta original sin volver a validar ni escribir la cita, y los
+ * duplicados que llegan mientras la primera petición sigue en curso esperan su
+ * resultado en lugar de ejecutarse otra vez.
+ *
+ * <p>
+ * Se conservan las respuestas exitosas y los rechazos 4xx; los errores del
+ * servidor, como un 503 por no obtener el bloqueo, liberan la clave para que
+ * el reintento se ejecute. Las claves expiran después de
+ * {@code citas.idempotencia.vigencia} y se guardan a lo más
+ * {@code citas.idempotencia.maximo}. El registro es local a cada instancia.
+ *
+ * @see CitasService
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Component
+public class IdempotenciaCitas {
+
+    public static final String ENCABEZADO = "Idempotency-Key";
+
+    /**
+     * Encabezado que marca una respuesta repetida de una petición anterior.
+     */
+    public static final String REPETIDA = "Idempotent-Replayed";
+
+    private static final int LONGITUD_MAXIMA_CLAVE = 255;
+
+    /**
+     * Petición registrada con una clave.
+     *
+     * @param huella    el contenido de la petición, para detectar que la clave
+     *                  se reutilizó con otra petición.
+     * @param respuesta la respuesta, que se completa al terminar la petición.
+     */
+    private record Registro(String huella, CompletableFuture<ResponseEntity<?>> respuesta) {
+    }
+
+    private final Cache<String, Registro> registros;
+
+    public IdempotenciaCitas(@Value("${citas.idempotencia.maximo:100000}") long maximo,
+            @Value("${citas.idempotencia.vigencia:24h}") Duration vigencia) {
+        this.registros = Caffeine.newBuilder().maximumSize(maximo).expireAfterWrite(vigencia).build();
+    }
+
+    /**
+     * Ejecuta una petición una sola vez por clave.
+     *
+     * @param operacion el método y la ruta de la petición.
+     * @param clave     la clave de idempotencia, o {@code null} para ejecutar
+     *                  siempre.
+     * @param huella    el contenido de la petición.
+     * @param accion    la petición.
+     * @return la respuesta de la petición, o la de la primera petición con la
+     *         misma clave.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> ejecutar(String operacion, String clave, String huella,
+            Supplier<ResponseEntity<T>> accion) {
+        if (clave == null) {
+            return accion.get();
+        }
+        if (clave.isBlank() || clave.length() > LONGITUD_MAXIMA_CLAVE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "La clave de idempotencia debe tener de 1 a " + LONGITUD_MAXIMA_CLAVE + " caracteres.");
+        }
+        String llave = operacion + '\n' + clave;
+        Registro nuevo = new Registro(huella, new CompletableFuture<>());
+        Registro registro = registros.asMap().putIfAbsent(llave, nuevo);
+        if (registro == null) {
+            return registrar(llave, nuevo, accion);
+        }
+        if (!registro.huella().equals(huella)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "La clave de idempotencia ya se usó con otra petición.");
+        }
+        ResponseEntity<T> respuesta;
+        try {
+            respuesta = (ResponseEntity<T>) registro.respuesta().join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+        return ResponseEntity.status(respuesta.getStatusCode()).headers(respuesta.getHeaders())
+                .header(REPETIDA, "true").body(respuesta.getBody());
+    }
+
+    private <T> ResponseEntity<T> registrar(String llave, Registro registro, Supplier<ResponseEntity<T>> accion) {
+        RuntimeException error = new IllegalStateException("La petición original no terminó.");
+        try {
+            ResponseEntity<T> respuesta = accion.get();
+            registro.respuesta().complete(respuesta);
+            return respuesta;
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            if (!registro.respuesta().isDone()) {
+                if (!(error instanceof CitaRechazadaException || error instanceof ResponseStatusException rechazo
+                        && rechazo.getStatusCode().is4xxClientError())) {
+                    registros.asMap().remove(llave, registro);
+                }
+                registro.respuesta().completeExceptionally(error);
+            }
+        }
+    }
+}
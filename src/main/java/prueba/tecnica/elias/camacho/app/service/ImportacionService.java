@@ -0,0 +1,263 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import prueba.tecnica.elias.camacho.app.domain.dto.ReglasImportacion;
+import prueba.tecnica.elias.camacho.app.domain.dto.ResultadoImportacion;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaEvento;
+import prueba.tecnica.elias.camacho.app.domain.event.CitasImportadas;
+import prueba.tecnica.elias.camacho.app.domain.repository.ImportacionJdbcRepository;
+import prueba.tecnica.elias.camacho.app.service.reglas.ParametrosReglas;
+import prueba.tecnica.elias.camacho.app.service.reglas.ReglaConsultorio;
+import prueba.tecnica.elias.camacho.app.service.reglas.ReglaDoctor;
+import prueba.tecnica.elias.camacho.app.service.reglas.ReglaMaximoDiario;
+import prueba.tecnica.elias.camacho.app.service.reglas.ReglaPaciente;
+import prueba.tecnica.elias.camacho.configurations.CacheConfig;
+
+/**
+ * Servicio para importar y exportar en CSV las citas, los doctores y los
+ * consultorios, pensado para migrar datos de otros sistemas. Las filas se
+ * transfieren con el {@code COPY} de PostgreSQL con memoria acotada sin
+ * importar el tamaño del archivo.
+ *
+ * <p>
+ * Las citas importadas se validan en la base de datos con las mismas reglas de
+ * alta que {@link CitasService}, sin exigir que sean futuras, y reciben IDs
+ * nuevos. Todas se suman en bloque a las estadísticas de ocupación; las que
+ * caen a partir del día anterior se registran en bloque en el outbox como
+ * altas de {@link CitaEvento} y, una vez confirmada la importación, se
+ * publican por partes como {@link CitasImportadas} para el índice de
+ * ocupación y las agendas.
+ *
+ * @see ImportacionJdbcRepository
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Service
+public class ImportacionService {
+
+    /**
+     * Número máximo de filas rechazadas que se detallan en el resultado.
+     */
+    public static final int RECHAZOS_MAXIMOS = 1000;
+
+    /**
+     * Bloques de IDs de citas importadas que se leen y publican juntos.
+     */
+    private static final int BLOQUES_POR_EVENTO = 20;
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacionService.class);
+
+    private final ImportacionJdbcRepository repository;
+
+    private final BloqueoCitas bloqueo;
+
+    private final EstadisticasService estadisticasService;
+
+    private final ReglasImportacion reglas;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate lectura;
+
+    public ImportacionService(ImportacionJdbcRepository repository, BloqueoCitas bloqueo,
+            EstadisticasService estadisticasService, ParametrosReglas parametros, ReglaConsultorio reglaConsultorio,
+            ReglaDoctor reglaDoctor, ReglaPaciente reglaPaciente, ReglaMaximoDiario reglaMaximoDiario,
+            ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.bloqueo = bloqueo;
+        this.estadisticasService = estadisticasService;
+        this.reglas = new ReglasImportacion(parametros.getDuracion(), parametros.getSeparacionPaciente(),
+                parametros.getMaximoDiario(), reglaConsultorio.mensaje(), reglaDoctor.mensaje(),
+                reglaPaciente.mensaje(), reglaMaximoDiario.mensaje());
+        this.eventPublisher = eventPublisher;
+        // Las citas importadas se leen después de confirmar, cuando la transacción
+        // de la importación ya no admite sentencias. Sin marcarla de sólo lectura
+        // para que vaya a la primaria: una réplica atrasada aún no las tendría.
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Importa un CSV de citas con las columnas {@code id, doctor_id,
+     * consultorio_id, horario_consulta, nombre_paciente}. Las importaciones se
+     * validan y guardan de una en una; las reservas esperan mientras tanto en
+     * {@link BloqueoCitas} sólo si comparten franja con alguna cita del archivo
+     * a partir del día anterior.
+     *
+     * @param entrada   el CSV, con encabezado.
+     * @param todoONada si es {@code true} no se guarda ninguna cita cuando alguna
+     *                  es inválida; si es {@code false} se guardan las válidas.
+     * @return las filas leídas, las guardadas y las primeras rechazadas.
+     */
+    @Transactional
+    public ResultadoImportacion importarCitas(InputStream entrada, boolean todoONada) {
+        long filas = cargar(() -> repository.cargarCitas(entrada, OcupacionCitas::normalizarPaciente));
+        // El índice de ocupación sólo tiene las citas a partir del día anterior.
+        LocalDateTime indice = LocalDate.now().minusDays(1).atStartOfDay();
+        repository.bloquear();
+        // Las citas anteriores no se pueden agendar, por lo que no compiten con las reservas.
+        bloqueo.bloquearRecorrido(cita -> repository.recorrerDesde(indice, cita));
+
+        repository.validarCampos();
+        repository.validarReglas(reglas);
+        long rechazadas = repository.contarRechazadas();
+
+        long importadas = 0;
+        if (!todoONada || rechazadas == 0) {
+            estadisticasService.registrarImportacion();
+            List<Long> bloques;
+            try {
+                bloques = repository.insertarCitas(indice);
+            } catch (DataIntegrityViolationException e) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "El horario ya fue reservado.", e);
+            }
+            repository.registrarEventos(indice);
+            publicarAlConfirmar(bloques, indice);
+            importadas = filas - rechazadas;
+        }
+        log.info("Importación de citas: {} filas, {} guardadas, {} rechazadas", filas, importadas, rechazadas);
+        return new ResultadoImportacion(filas, importadas, rechazadas, repository.rechazos(RECHAZOS_MAXIMOS));
+    }
+
+    /**
+     * Importa un CSV de doctores con las columnas {@code id, nombre,
+     * apellido_paterno, apellido_materno, especialidad}. Los doctores con ID se
+     * insertan o actualizan con ese ID y los demás reciben uno nuevo.
+     *
+     * @param entrada el CSV, con encabezado.
+     * @return las filas leídas, las guardadas y las primeras rechazadas.
+     */
+    @Transactional
+    @Caching(evict = { @CacheEvict(cacheNames = CacheConfig.DOCTORES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.DOCTORES_LISTA, allEntries = true) })
+    public ResultadoImportacion importarDoctores(InputStream entrada) {
+        return cargar(() -> repository.importarDoctores(entrada, RECHAZOS_MAXIMOS));
+    }
+
+    /**
+     * Importa un CSV de consultorios con las columnas {@code id, numero, piso}.
+     * Los consultorios con ID se insertan o actualizan con ese ID y los demás
+     * reciben uno nuevo.
+     *
+     * @param entrada el CSV, con encabezado.
+     * @return las filas leídas, las guardadas y las primeras rechazadas.
+     */
+    @Transactional
+    @Caching(evict = { @CacheEvict(cacheNames = CacheConfig.CONSULTORIOS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.CONSULTORIOS_LISTA, allEntries = true) })
+    public ResultadoImportacion importarConsultorios(InputStream entrada) {
+        return cargar(() -> repository.importarConsultorios(entrada, RECHAZOS_MAXIMOS));
+    }
+
+    /**
+     * Exporta en CSV las citas vigentes y archivadas entre dos días, ordenadas
+     * por horario e ID.
+     *
+     * @param desde  el primer día, inclusivo.
+     * @param hasta  el último día, inclusivo.
+     * @param salida el destino del CSV.
+     * @return el número de citas exportadas.
+     */
+    @Transactional(readOnly = true)
+    public long exportarCitas(LocalDate desde, LocalDate hasta, OutputStream salida) {
+        if (hasta.isBefore(desde)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "El último día no puede ser anterior al primero.");
+        }
+        long citas = repository.exportarCitas(desde, hasta, salida);
+        log.info("Exportación de citas del {} al {}: {} citas", desde, hasta, citas);
+        return citas;
+    }
+
+    /**
+     * Exporta en CSV todos los doctores, ordenados por ID.
+     *
+     * @param salida el destino del CSV.
+     * @return el número de doctores exportados.
+     */
+    @Transactional(readOnly = true)
+    public long exportarDoctores(OutputStream salida) {
+        return repository.exportarDoctores(salida);
+    }
+
+    /**
+     * Exporta en CSV todos los consultorios, ordenados por ID.
+     *
+     * @param salida el destino del CSV.
+     * @return el número de consultorios exportados.
+     */
+    @Transactional(readOnly = true)
+    public long exportarConsultorios(OutputStream salida) {
+        return repository.exportarConsultorios(salida);
+    }
+
+    /**
+     * Publica las citas importadas como {@link CitasImportadas} una vez que la
+     * transacción se confirma y antes de liberar las franjas de
+     * {@link BloqueoCitas}. Las citas se leen en una transacción nueva por
+     * partes de {@value #BLOQUES_POR_EVENTO} bloques de IDs. La importación ya
+     * está confirmada, por lo que un error sólo se registra.
+     */
+    private void publicarAlConfirmar(List<Long> bloques, LocalDateTime desde) {
+        if (bloques.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    for (int i = 0; i < bloques.size(); i += BLOQUES_POR_EVENTO) {
+                        List<Long> parte = bloques.subList(i, Math.min(i + BLOQUES_POR_EVENTO, bloques.size()));
+                        eventPublisher.publishEvent(new CitasImportadas(
+                                lectura.execute(estado -> repository.buscarImportadas(parte, desde))));
+                    }
+                } catch (RuntimeException e) {
+                    log.error("No se pudieron publicar las citas importadas", e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Ejecuta una carga y responde 400 cuando el CSV no tiene el formato
+     * esperado, con el mensaje de PostgreSQL que indica la línea y la columna.
+     */
+    private static <T> T cargar(Supplier<T> carga) {
+        try {
+            return carga.get();
+        } catch (DataAccessException e) {
+            String estado = e.getMostSpecificCause() instanceof SQLException sql ? sql.getSQLState() : null;
+            // Clase 22: datos con formato o valor inválido.
+            if (estado != null && estado.startsWith("22")) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "El archivo no tiene el formato esperado: " + e.getMostSpecificCause().getMessage(), e);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+import prueba.tecnica.elias.camacho.app.domain.entity.Consultorio;
+import prueba.tecnica.elias.camacho.app.domain.entity.Doctor;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaEvento;
+import prueba.tecnica.elias.camacho.app.domain.event.CitasImportadas;
+import prueba.tecnica.elias.camacho.app.domain.event.ClaveAgenda;
+import prueba.tecnica.elias.camacho.app.domain.repository.CitasRepository;
+
+/**
+ * Caché de las agendas por día de cada doctor y de cada consultorio, ya
+ * serializadas en JSON. Una consulta que encuentra la agenda en la caché se
+ * responde con los bytes guardados, sin consultar la base de datos ni crear
+ * entidades.
+ *
+ * <p>
+ * Cada agenda guarda la versión de {@link VersionesAgenda} con la que se
+ * leyó y sólo se entrega mientras esa versión siga vigente. Cuando se confirma
+ * una modificación, las agendas afectadas que están en la caché se vuelven a
+ * leer en segundo plano. Las agendas de hoy y mañana se cargan al iniciar la
+ * aplicación y las del día siguiente cada medianoche. La caché se limita a
+ * {@code citas.agenda.tamano-maximo} bytes y descarta las agendas menos
+ * usadas. Las agendas siempre se leen de la base de datos primaria.
+ *
+ * @see VersionesAgenda
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Service
+public class InstantaneasAgenda {
+
+    private static final Logger log = LoggerFactory.getLogger(InstantaneasAgenda.class);
+
+    private static final Comparator<Cita> ORDEN = Comparator.comparing(Cita::getHorarioConsulta)
+            .thenComparing(Cita::getId);
+
+    private final CitasRepository repository;
+
+    private final DoctoresService doctoresService;
+
+    private final ConsultoriosService consultoriosService;
+
+    private final VersionesAgenda versiones;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate lectura;
+
+    private final boolean precargar;
+
+    private final Cache<ClaveAgenda, Instantanea> instantaneas;
+
+    private final Set<ClaveAgenda> pendientes = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService reconstructor = Executors.newSingleThreadExecutor();
+
+    public InstantaneasAgenda(CitasRepository repository, DoctoresService doctoresService,
+            ConsultoriosService consultoriosService, VersionesAgenda versiones, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager, MeterRegistry registry,
+            @Value("${citas.agenda.tamano-maximo:64MB}") DataSize tamanoMaximo,
+            @Value("${citas.agenda.precargar:true}") boolean precargar) {
+        this.repository = repository;
+        this.doctoresService = doctoresService;
+        this.consultoriosService = consultoriosService;
+        this.versiones = versiones;
+        this.objectMapper = objectMapper;
+        // Sin marcarla de sólo lectura para que vaya a la primaria: una agenda leída
+        // de una réplica atrasada se guardaría con la versión vigente y se entregaría
+        // hasta el siguiente cambio.
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.precargar = precargar;
+        this.instantaneas = Caffeine.newBuilder()
+                .maximumWeight(tamanoMaximo.toBytes())
+                .weigher((ClaveAgenda clave, Instantanea instantanea) -> instantanea.json().length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, instantaneas, "agendas");
+    }
+
+    /**
+     * Obtiene la agenda de un día de un doctor o de un consultorio en JSON. Si
+     * la agenda no está en la caché o cambió desde que se guardó, se lee de la
+     * base de datos y se guarda.
+     *
+     * @param clave la agenda.
+     * @return las citas de la agenda, ordenadas por horario e ID, en JSON.
+     */
+    public byte[] obtener(ClaveAgenda clave) {
+        Instantanea instantanea = instantaneas.getIfPresent(clave);
+        if (instantanea != null && instantanea.version() == versiones.version(clave)) {
+            return instantanea.json();
+        }
+        return guardar(clave, cargar(clave)).json();
+    }
+
+    /**
+     * Vuelve a leer en segundo plano las agendas afectadas por una modificación
+     * confirmada que están en la caché.
+     *
+     * @param evento el evento de la modificación.
+     */
+    @TransactionalEventListener
+    public void onCitaEvento(CitaEvento evento) {
+        for (ClaveAgenda clave : ClaveAgenda.de(evento)) {
+            if (instantaneas.getIfPresent(clave) != null && pendientes.add(clave)) {
+                reconstructor.execute(() -> reconstruir(clave));
+            }
+        }
+    }
+
+    /**
+     * Vuelve a leer en segundo plano las agendas en la caché afectadas por
+     * citas importadas, una vez que la importación se confirma.
+     *
+     * @param evento las citas importadas.
+     */
+    @EventListener
+    public void onCitasImportadas(CitasImportadas evento) {
+        evento.eventos().forEach(this::onCitaEvento);
+    }
+
+    /**
+     * Carga las agendas de hoy y de mañana al iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void precargarAlIniciar() {
+        if (precargar) {
+            LocalDate hoy = LocalDate.now();
+            precargar(hoy);
+            precargar(hoy.plusDays(1));
+        }
+    }
+
+    /**
+     * Carga cada medianoche las agendas del día siguiente.
+     */
+    @Scheduled(cron = "0 0 0 * * *")
+    public void precargarDiaSiguiente() {
+        if (precargar) {
+            precargar(LocalDate.now().plusDays(1));
+        }
+    }
+
+    /**
+     * Carga en la caché las agendas de un día de todos los doctores y
+     * consultorios, con una sola consulta para todo el día.
+     *
+     * @param dia el día.
+     */
+    public void precargar(LocalDate dia) {
+        List<ClaveAgenda> claves = new ArrayList<>();
+        for (Doctor doctor : doctoresService.findAll()) {
+            claves.add(ClaveAgenda.doctor(dia, doctor.getId()));
+        }
+        for (Consultorio consultorio : consultoriosService.findAll()) {
+            claves.add(ClaveAgenda.consultorio(dia, consultorio.getId()));
+        }
+        Map<ClaveAgenda, Long> versionesLeidas = new HashMap<>();
+        for (ClaveAgenda clave : claves) {
+            versionesLeidas.put(clave, versiones.version(clave));
+        }
+
+        List<Cita> citas = lectura.execute(estado -> repository.findByHorarioConsultaBetween(dia.atStartOfDay(),
+                dia.plusDays(1).atStartOfDay()));
+        Map<ClaveAgenda, List<Cita>> agendas = new HashMap<>();
+        for (Cita cita : citas) {
+            if (cita.getHorarioConsulta().toLocalDate().equals(dia)) {
+                agendas.computeIfAbsent(ClaveAgenda.doctor(dia, cita.getDoctor().getId()), k -> new ArrayList<>())
+                        .add(cita);
+                agendas.computeIfAbsent(ClaveAgenda.consultorio(dia, cita.getConsultorio().getId()),
+                        k -> new ArrayList<>()).add(cita);
+            }
+        }
+        for (ClaveAgenda clave : claves) {
+            guardar(clave, new Instantanea(versionesLeidas.get(clave),
+                    serializar(agendas.getOrDefault(clave, List.of()))));
+        }
+        log.info("Agendas del {} precargadas: {}", dia, claves.size());
+    }
+
+    private void reconstruir(ClaveAgenda clave) {
+        pendientes.remove(clave);
+        try {
+            guardar(clave, cargar(clave));
+        } catch (RuntimeException e) {
+            log.warn("No se pudo reconstruir la agenda {}", clave, e);
+            instantaneas.invalidate(clave);
+        }
+    }
+
+    /**
+     * Lee una agenda de la base de datos. La versión se lee antes que las
+     * citas, de modo que una agenda nunca queda con una versión más nueva que
+     * sus datos.
+     */
+    private Instantanea cargar(ClaveAgenda clave) {
+        long version = versiones.version(clave);
+        LocalDate dia = clave.dia();
+        List<Cita> citas = lectura.execute(estado -> clave.recurso() == ClaveAgenda.Recurso.DOCTOR
+                ? repository.findByDoctorIdAndHorarioConsultaBetween(clave.recursoId(), dia.atStartOfDay(),
+                        dia.plusDays(1).atStartOfDay())
+                : repository.findByConsultorioIdAndHorarioConsultaBetween(clave.recursoId(), dia.atStartOfDay(),
+                        dia.plusDays(1).atStartOfDay()));
+        return new Instantanea(version, serializar(citas.stream()
+                .filter(cita -> cita.getHorarioConsulta().toLocalDate().equals(dia))
+                .toList()));
+    }
+
+    /**
+     * Guarda una agenda salvo que la caché ya tenga una versión más nueva.
+     */
+    private Instantanea guardar(ClaveAgenda clave, Instantanea instantanea) {
+        instantaneas.asMap().merge(clave, instantanea,
+                (actual, nueva) -> nueva.version() >= actual.version() ? nueva : actual);
+        return instantanea;
+    }
+
+    private byte[] serializar(List<Cita> citas) {
+        try {
+            return objectMapper.writeValueAsBytes(citas.stream().sorted(ORDEN).toList());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la agenda", e);
+        }
+    }
+
+    @PreDestroy
+    void cerrar() {
+        reconstructor.shutdownNow();
+    }
+
+    /**
+     * Agenda serializada y la versión con la que se leyó.
+     */
+    private record Instantanea(long version, byte[] json) {
+    }
+}
@@ -0,0 +1,35 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import prueba.tecnica.elias.camacho.app.domain.event.CitaEventoPublicado;
+
+/**
+ * Destino que entrega los cambios de citas como eventos de la aplicación, a
+ * los {@code @EventListener} de {@link CitaEventoPublicado} del mismo proceso.
+ * Se usa con {@code citas.outbox.destino=local}.
+ *
+ * @see DestinoEventos
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Component
+@ConditionalOnProperty(name = "citas.outbox.destino", havingValue = "local")
+public class LocalDestinoEventos implements DestinoEventos {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public LocalDestinoEventos(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void publicar(List<CitaEventoPublicado> eventos) {
+        eventos.forEach(eventPublisher::publishEvent);
+    }
+}
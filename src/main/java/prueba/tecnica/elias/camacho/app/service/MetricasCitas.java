@@ -0,0 +1,70 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Métricas de las reglas de alta de citas: un timer con histograma y un
+ * contador de rechazos por regla, etiquetados con {@code regla}. Los medidores
+ * se crean una sola vez por regla para que medir cueste sólo dos lecturas del
+ * reloj.
+ *
+ * @see CitasService
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Component
+public class MetricasCitas {
+
+    private final MeterRegistry registry;
+
+    private final Map<String, Medidor> medidores = new ConcurrentHashMap<>();
+
+    public MetricasCitas(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Evalúa una regla midiendo su tiempo y contando si rechaza la cita.
+     *
+     * @param regla     el nombre de la regla.
+     * @param rechazada la evaluación de la regla; {@code true} si la cita no la
+     *                  cumple.
+     * @return el resultado de la evaluación.
+     */
+    public boolean evaluar(String regla, BooleanSupplier rechazada) {
+        Medidor medidor = medidores.computeIfAbsent(regla, this::crear);
+        long inicio = System.nanoTime();
+        boolean resultado = rechazada.getAsBoolean();
+        medidor.tiempo().record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        if (resultado) {
+            medidor.rechazos().increment();
+        }
+        return resultado;
+    }
+
+    private Medidor crear(String regla) {
+        Timer tiempo = Timer.builder("citas.validacion")
+                .description("Tiempo de evaluación de cada regla de alta de citas")
+                .tag("regla", regla)
+                .publishPercentileHistogram()
+                .register(registry);
+        Counter rechazos = Counter.builder("citas.validacion.rechazos")
+                .description("Citas rechazadas por cada regla de alta")
+                .tag("regla", regla)
+                .register(registry);
+        return new Medidor(tiempo, rechazos);
+    }
+
+    private record Medidor(Timer tiempo, Counter rechazos) {
+    }
+}
@@ -0,0 +1,595 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.annotation.PostConstruct;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaEvento;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
+import prueba.tecnica.elias.camacho.app.domain.event.CitasImportadas;
+import prueba.tecnica.elias.camacho.app.domain.repository.CitasJdbcRepository;
+import prueba.tecnica.elias.camacho.app.domain.repository.CitasRepository;
+
+/**
+ * Índice en memoria de la ocupación de horarios por doctor, consultorio y
+ * paciente. Cada recurso tiene por día un mapa de bits con un bit por minuto
+ * ocupado, lo que permite responder las reglas de alta de citas sin consultar
+ * la base de datos. Además, cada hora tiene un mapa de bits con un bit por ID
+ * de consultorio con citas en esa hora, para buscar consultorios libres sin
+ * revisarlos uno por uno.
+ *
+ * El índice se carga desde la tabla {@code cita} al iniciar la aplicación y se
+ * actualiza con los {@link CitaEvento} y las {@link CitasImportadas} una vez
+ * que cada transacción se confirma. Con varias instancias, {@link BloqueoCitas} vuelve a leer los
+ * recursos de cada reserva con {@link #recargar} antes de validarla.
+ *
+ * @see CitasService
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Component
+public class OcupacionCitas {
+
+    private static final Logger log = LoggerFactory.getLogger(OcupacionCitas.class);
+
+    private static final int MINUTOS_DIA = 24 * 60;
+
+    private final CitasRepository repository;
+
+    private final CitasJdbcRepository jdbcRepository;
+
+    private final Map<Clave, OcupacionDia> doctores = new ConcurrentHashMap<>();
+    private final Map<Clave, OcupacionDia> consultorios = new ConcurrentHashMap<>();
+    private final Map<Clave, OcupacionDia> pacientes = new ConcurrentHashMap<>();
+    private final Map<LocalDateTime, ConsultoriosOcupados> horasConsultorios = new ConcurrentHashMap<>();
+    private final Map<Clave, ConsultoriosOcupados> consultoriosDoctores = new ConcurrentHashMap<>();
+
+    public OcupacionCitas(CitasRepository repository, CitasJdbcRepository jdbcRepository) {
+        this.repository = repository;
+        this.jdbcRepository = jdbcRepository;
+    }
+
+    /**
+     * Carga en el índice las citas a partir del día anterior. Las citas pasadas
+     * no se pueden agendar ni editar, por lo que no se cargan.
+     */
+    @PostConstruct
+    public void cargar() {
+        LocalDateTime desde = LocalDate.now().minusDays(1).atStartOfDay();
+        int total = 0;
+        for (CitaSlot slot : repository.findSlotsDesde(desde)) {
+            registrar(slot);
+            total++;
+        }
+        log.info("Índice de ocupación cargado con {} citas", total);
+    }
+
+    /**
+     * Reemplaza la ocupación de los doctores, consultorios y pacientes indicados
+     * en un rango de días con la de la base de datos, para ver las citas que
+     * otras instancias confirmaron.
+     *
+     * @param doctorIds      los IDs de los doctores.
+     * @param consultorioIds los IDs de los consultorios.
+     * @param nombres        los nombres de los pacientes.
+     * @param desde          el primer día.
+     * @param hasta          el último día.
+     * @see #recargar(Map, Map, Map)
+     */
+    public void recargar(Set<Long> doctorIds, Set<Long> consultorioIds, Set<String> nombres, LocalDate desde,
+            LocalDate hasta) {
+        Set<LocalDate> dias = new HashSet<>(desde.datesUntil(hasta.plusDays(1)).toList());
+        Map<Long, Set<LocalDate>> diasDoctores = new HashMap<>();
+        doctorIds.forEach(doctorId -> diasDoctores.put(doctorId, dias));
+        Map<Long, Set<LocalDate>> diasConsultorios = new HashMap<>();
+        consultorioIds.forEach(consultorioId -> diasConsultorios.put(consultorioId, dias));
+        Map<String, Set<LocalDate>> diasPacientes = new HashMap<>();
+        nombres.forEach(nombre -> diasPacientes.put(nombre, dias));
+        recargar(diasDoctores, diasConsultorios, diasPacientes);
+    }
+
+    /**
+     * Reemplaza la ocupación de cada doctor, consultorio y paciente en los días
+     * indicados para él con la de la base de datos, para ver las citas que
+     * otras instancias confirmaron. Se debe invocar con sus franjas de
+     * {@link BloqueoCitas} tomadas y antes de cambiar citas en la transacción;
+     * los demás días no se tocan, porque otra transacción de esta instancia
+     * puede estar registrando en ellos una cita que la lectura no alcanzó a ver.
+     *
+     * @param diasDoctores     los días de cada doctor, por ID.
+     * @param diasConsultorios los días de cada consultorio, por ID.
+     * @param diasPacientes    los días de cada paciente, por nombre.
+     */
+    public void recargar(Map<Long, Set<LocalDate>> diasDoctores, Map<Long, Set<LocalDate>> diasConsultorios,
+            Map<String, Set<LocalDate>> diasPacientes) {
+        Map<String, Set<LocalDate>> diasClaves = new HashMap<>();
+        diasPacientes.forEach((nombre, dias) -> diasClaves.computeIfAbsent(normalizarPaciente(nombre),
+                k -> new HashSet<>()).addAll(dias));
+        TreeSet<LocalDate> todos = new TreeSet<>();
+        diasDoctores.values().forEach(todos::addAll);
+        diasConsultorios.values().forEach(todos::addAll);
+        diasClaves.values().forEach(todos::addAll);
+        if (todos.isEmpty()) {
+            return;
+        }
+        Map<Clave, OcupacionDia> porDoctor = new HashMap<>();
+        Map<Clave, OcupacionDia> porConsultorio = new HashMap<>();
+        Map<Clave, OcupacionDia> porPaciente = new HashMap<>();
+        Map<Clave, ConsultoriosOcupados> consultoriosPorDoctor = new HashMap<>();
+        Map<LocalDateTime, Map<Long, Integer>> horasPorConsultorio = new HashMap<>();
+        for (CitaSlot slot : jdbcRepository.buscarOcupacion(diasDoctores.keySet(), diasConsultorios.keySet(),
+                diasClaves.keySet(), todos.first().atStartOfDay(), todos.last().plusDays(1).atStartOfDay())) {
+            LocalDate dia = slot.horarioConsulta().toLocalDate();
+            int minuto = minutoDelDia(slot.horarioConsulta());
+            if (diasDoctores.containsKey(slot.doctorId())) {
+                agregar(porDoctor, new Clave(slot.doctorId(), dia), minuto);
+                agregarConsultorio(consultoriosPorDoctor, new Clave(slot.doctorId(), dia), slot.consultorioId());
+            }
+            if (diasConsultorios.containsKey(slot.consultorioId())) {
+                agregar(porConsultorio, new Clave(slot.consultorioId(), dia), minuto);
+                horasPorConsultorio.computeIfAbsent(hora(slot.horarioConsulta()), k -> new HashMap<>())
+                        .merge(slot.consultorioId(), 1, Integer::sum);
+            }
+            String paciente = normalizarPaciente(slot.nombrePaciente());
+            if (diasClaves.containsKey(paciente)) {
+                agregar(porPaciente, new Clave(paciente, dia), minuto);
+            }
+        }
+
+        diasDoctores.forEach((doctorId, dias) -> dias.forEach(dia -> {
+            reemplazar(doctores, porDoctor, new Clave(doctorId, dia));
+            reemplazar(consultoriosDoctores, consultoriosPorDoctor, new Clave(doctorId, dia));
+        }));
+        diasConsultorios.forEach((consultorioId, dias) -> dias.forEach(dia -> {
+            reemplazar(consultorios, porConsultorio, new Clave(consultorioId, dia));
+            for (LocalDateTime hora = dia.atStartOfDay(); hora.toLocalDate().equals(dia); hora = hora.plusHours(1)) {
+                int citas = horasPorConsultorio.getOrDefault(hora, Map.of()).getOrDefault(consultorioId, 0);
+                horasConsultorios.compute(hora, (k, ocupados) -> {
+                    if (ocupados == null && citas == 0) {
+                        return null;
+                    }
+                    ConsultoriosOcupados resultado = ocupados != null ? ocupados : new ConsultoriosOcupados();
+                    return resultado.fijar(Math.toIntExact(consultorioId), citas) ? resultado : null;
+                });
+            }
+        }));
+        diasClaves.forEach((paciente, dias) -> dias.forEach(dia -> reemplazar(pacientes, porPaciente,
+                new Clave(paciente, dia))));
+    }
+
+    /**
+     * Elimina del índice los días que ya pasaron.
+     */
+    @Scheduled(cron = "0 5 0 * * *")
+    public void depurar() {
+        LocalDate limite = LocalDate.now().minusDays(1);
+        doctores.keySet().removeIf(clave -> clave.dia().isBefore(limite));
+        consultorios.keySet().removeIf(clave -> clave.dia().isBefore(limite));
+        pacientes.keySet().removeIf(clave -> clave.dia().isBefore(limite));
+        horasConsultorios.keySet().removeIf(hora -> hora.toLocalDate().isBefore(limite));
+        consultoriosDoctores.keySet().removeIf(clave -> clave.dia().isBefore(limite));
+    }
+
+    /**
+     * Actualiza el índice cuando se confirma una modificación de una cita.
+     *
+     * @param evento el evento de la modificación.
+     */
+    @TransactionalEventListener
+    public void onCitaEvento(CitaEvento evento) {
+        if (evento.anterior() != null) {
+            liberar(evento.anterior());
+        }
+        if (evento.actual() != null) {
+            registrar(evento.actual());
+        }
+    }
+
+    /**
+     * Registra las citas importadas una vez que la importación se confirma.
+     *
+     * @param evento las citas importadas.
+     */
+    @EventListener
+    public void onCitasImportadas(CitasImportadas evento) {
+        for (CitaSlot slot : evento.citas()) {
+            registrar(slot);
+        }
+    }
+
+    /**
+     * Indica si el consultorio tiene citas en el rango indicado.
+     *
+     * @param consultorioId el ID del consultorio.
+     * @param inicio        el inicio del rango, inclusivo.
+     * @param fin           el fin del rango, inclusivo.
+     * @param excluir       la cita que no se debe contar, o {@code null}.
+     * @return {@code true} si hay al menos una cita en el rango.
+     */
+    public boolean consultorioOcupado(Long consultorioId, LocalDateTime inicio, LocalDateTime fin,
+            CitaSlot excluir) {
+        long propia = excluir != null && consultorioId.equals(excluir.consultorioId())
+                && enRango(excluir.horarioConsulta(), inicio, fin) ? 1 : 0;
+        return contar(consultorios, consultorioId, inicio, fin) > propia;
+    }
+
+    /**
+     * Indica si el doctor tiene citas en el rango indicado.
+     *
+     * @param doctorId el ID del doctor.
+     * @param inicio   el inicio del rango, inclusivo.
+     * @param fin      el fin del rango, inclusivo.
+     * @param excluir  la cita que no se debe contar, o {@code null}.
+     * @return {@code true} si hay al menos una cita en el rango.
+     */
+    public boolean doctorOcupado(Long doctorId, LocalDateTime inicio, LocalDateTime fin, CitaSlot excluir) {
+        long propia = excluir != null && doctorId.equals(excluir.doctorId())
+                && enRango(excluir.horarioConsulta(), inicio, fin) ? 1 : 0;
+        return contar(doctores, doctorId, inicio, fin) > propia;
+    }
+
+    /**
+     * Indica si el paciente tiene citas en el rango indicado. El nombre se
+     * compara normalizado, ver {@link #normalizarPaciente(String)}.
+     *
+     * @param nombrePaciente el nombre del paciente.
+     * @param inicio         el inicio del rango, inclusivo.
+     * @param fin            el fin del rango, inclusivo.
+     * @param excluir        la cita que no se debe contar, o {@code null}.
+     * @return {@code true} si hay al menos una cita en el rango.
+     */
+    public boolean pacienteOcupado(String nombrePaciente, LocalDateTime inicio, LocalDateTime fin,
+            CitaSlot excluir) {
+        String paciente = normalizarPaciente(nombrePaciente);
+        long propia = excluir != null && paciente.equals(normalizarPaciente(excluir.nombrePaciente()))
+                && enRango(excluir.horarioConsulta(), inicio, fin) ? 1 : 0;
+        return contar(pacientes, paciente, inicio, fin) > propia;
+    }
+
+    /**
+     * Cuenta las citas del doctor en el día indicado.
+     *
+     * @param doctorId el ID del doctor.
+     * @param dia      el día a consultar.
+     * @param excluir  la cita que no se debe contar, o {@code null}.
+     * @return el número de citas del doctor en el día.
+     */
+    public long citasDelDoctor(Long doctorId, LocalDate dia, CitaSlot excluir) {
+        OcupacionDia ocupacion = doctores.get(new Clave(doctorId, dia));
+        long total = ocupacion != null ? ocupacion.total() : 0;
+        if (excluir != null && doctorId.equals(excluir.doctorId())
+                && dia.equals(excluir.horarioConsulta().toLocalDate())) {
+            total--;
+        }
+        return total;
+    }
+
+    /**
+     * Cuenta las citas del consultorio en el día indicado.
+     *
+     * @param consultorioId el ID del consultorio.
+     * @param dia           el día a consultar.
+     * @return el número de citas del consultorio en el día.
+     */
+    public long citasDelConsultorio(Long consultorioId, LocalDate dia) {
+        OcupacionDia ocupacion = consultorios.get(new Clave(consultorioId, dia));
+        return ocupacion != null ? ocupacion.total() : 0;
+    }
+
+    /**
+     * Obtiene los consultorios con alguna cita en las horas que abarca el rango
+     * indicado. Un consultorio que no está en el resultado no tiene citas en el
+     * rango; uno que sí está puede tenerlas en otra parte de la hora, ver
+     * {@link #consultorioOcupado(Long, LocalDateTime, LocalDateTime, CitaSlot)}.
+     *
+     * @param inicio el inicio del rango, inclusivo.
+     * @param fin    el fin del rango, inclusivo.
+     * @return un mapa de bits con un bit encendido por ID de consultorio.
+     */
+    public BitSet consultoriosOcupados(LocalDateTime inicio, LocalDateTime fin) {
+        BitSet ocupados = new BitSet();
+        for (LocalDateTime hora = hora(inicio); !hora.isAfter(fin); hora = hora.plusHours(1)) {
+            ConsultoriosOcupados consultoriosHora = horasConsultorios.get(hora);
+            if (consultoriosHora != null) {
+                consultoriosHora.unir(ocupados);
+            }
+        }
+        return ocupados;
+    }
+
+    /**
+     * Obtiene los consultorios en los que el doctor tiene citas en el día
+     * indicado.
+     *
+     * @param doctorId el ID del doctor.
+     * @param dia      el día a consultar.
+     * @return un mapa de bits con un bit encendido por ID de consultorio.
+     */
+    public BitSet consultoriosDelDoctor(Long doctorId, LocalDate dia) {
+        BitSet ocupados = new BitSet();
+        ConsultoriosOcupados consultoriosDia = consultoriosDoctores.get(new Clave(doctorId, dia));
+        if (consultoriosDia != null) {
+            consultoriosDia.unir(ocupados);
+        }
+        return ocupados;
+    }
+
+    /**
+     * Obtiene los horarios ocupados por el doctor entre dos días.
+     *
+     * @param doctorId el ID del doctor.
+     * @param desde    el primer día, inclusivo.
+     * @param hasta    el último día, inclusivo.
+     * @return los horarios ocupados, ordenados.
+     */
+    public NavigableSet<LocalDateTime> horariosDoctor(Long doctorId, LocalDate desde, LocalDate hasta) {
+        return horarios(doctores, doctorId, desde, hasta);
+    }
+
+    /**
+     * Obtiene los horarios ocupados en el consultorio entre dos días.
+     *
+     * @param consultorioId el ID del consultorio.
+     * @param desde         el primer día, inclusivo.
+     * @param hasta         el último día, inclusivo.
+     * @return los horarios ocupados, ordenados.
+     */
+    public NavigableSet<LocalDateTime> horariosConsultorio(Long consultorioId, LocalDate desde, LocalDate hasta) {
+        return horarios(consultorios, consultorioId, desde, hasta);
+    }
+
+    /**
+     * Obtiene los horarios ocupados por el paciente entre dos días.
+     *
+     * @param nombrePaciente el nombre del paciente.
+     * @param desde          el primer día, inclusivo.
+     * @param hasta          el último día, inclusivo.
+     * @return los horarios ocupados, ordenados.
+     */
+    public NavigableSet<LocalDateTime> horariosPaciente(String nombrePaciente, LocalDate desde, LocalDate hasta) {
+        return horarios(pacientes, normalizarPaciente(nombrePaciente), desde, hasta);
+    }
+
+    /**
+     * Normaliza el nombre de un paciente para compararlo: sin acentos, en
+     * minúsculas y con un solo espacio entre palabras.
+     *
+     * @param nombre el nombre del paciente.
+     * @return el nombre normalizado.
+     */
+    public static String normalizarPaciente(String nombre) {
+        if (nombre == null) {
+            return "";
+        }
+        String sinAcentos = Normalizer.normalize(nombre, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return sinAcentos.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private void registrar(CitaSlot slot) {
+        LocalDate dia = slot.horarioConsulta().toLocalDate();
+        int minuto = minutoDelDia(slot.horarioConsulta());
+        agregar(doctores, new Clave(slot.doctorId(), dia), minuto);
+        agregar(consultorios, new Clave(slot.consultorioId(), dia), minuto);
+        agregar(pacientes, new Clave(normalizarPaciente(slot.nombrePaciente()), dia), minuto);
+        agregarConsultorio(horasConsultorios, hora(slot.horarioConsulta()), slot.consultorioId());
+        agregarConsultorio(consultoriosDoctores, new Clave(slot.doctorId(), dia), slot.consultorioId());
+    }
+
+    private void liberar(CitaSlot slot) {
+        LocalDate dia = slot.horarioConsulta().toLocalDate();
+        int minuto = minutoDelDia(slot.horarioConsulta());
+        quitar(doctores, new Clave(slot.doctorId(), dia), minuto);
+        quitar(consultorios, new Clave(slot.consultorioId(), dia), minuto);
+        quitar(pacientes, new Clave(normalizarPaciente(slot.nombrePaciente()), dia), minuto);
+        quitarConsultorio(horasConsultorios, hora(slot.horarioConsulta()), slot.consultorioId());
+        quitarConsultorio(consultoriosDoctores, new Clave(slot.doctorId(), dia), slot.consultorioId());
+    }
+
+    private static <V> void reemplazar(Map<Clave, V> mapa, Map<Clave, V> leidos, Clave clave) {
+        V valor = leidos.get(clave);
+        if (valor != null) {
+            mapa.put(clave, valor);
+        } else {
+            mapa.remove(clave);
+        }
+    }
+
+    private static void agregar(Map<Clave, OcupacionDia> mapa, Clave clave, int minuto) {
+        mapa.compute(clave, (k, ocupacion) -> {
+            OcupacionDia resultado = ocupacion != null ? ocupacion : new OcupacionDia();
+            resultado.agregar(minuto);
+            return resultado;
+        });
+    }
+
+    private static void quitar(Map<Clave, OcupacionDia> mapa, Clave clave, int minuto) {
+        mapa.computeIfPresent(clave, (k, ocupacion) -> ocupacion.quitar(minuto) ? ocupacion : null);
+    }
+
+    private static <K> void agregarConsultorio(Map<K, ConsultoriosOcupados> mapa, K clave, Long consultorioId) {
+        mapa.compute(clave, (k, ocupados) -> {
+            ConsultoriosOcupados resultado = ocupados != null ? ocupados : new ConsultoriosOcupados();
+            resultado.agregar(Math.toIntExact(consultorioId));
+            return resultado;
+        });
+    }
+
+    private static <K> void quitarConsultorio(Map<K, ConsultoriosOcupados> mapa, K clave, Long consultorioId) {
+        mapa.computeIfPresent(clave,
+                (k, ocupados) -> ocupados.quitar(Math.toIntExact(consultorioId)) ? ocupados : null);
+    }
+
+    private static long contar(Map<Clave, OcupacionDia> mapa, Object recurso, LocalDateTime inicio,
+            LocalDateTime fin) {
+        long total = 0;
+        for (LocalDate dia = inicio.toLocalDate(); !dia.isAfter(fin.toLocalDate()); dia = dia.plusDays(1)) {
+            OcupacionDia ocupacion = mapa.get(new Clave(recurso, dia));
+            if (ocupacion != null) {
+                int desde = dia.equals(inicio.toLocalDate()) ? minutoDelDia(inicio) : 0;
+                int hasta = dia.equals(fin.toLocalDate()) ? minutoDelDia(fin) : MINUTOS_DIA - 1;
+                total += ocupacion.contar(desde, hasta);
+            }
+        }
+        return total;
+    }
+
+    private static NavigableSet<LocalDateTime> horarios(Map<Clave, OcupacionDia> mapa, Object recurso,
+            LocalDate desde, LocalDate hasta) {
+        NavigableSet<LocalDateTime> horarios = new TreeSet<>();
+        for (LocalDate dia = desde; !dia.isAfter(hasta); dia = dia.plusDays(1)) {
+            OcupacionDia ocupacion = mapa.get(new Clave(recurso, dia));
+            if (ocupacion != null) {
+                BitSet minutos = ocupacion.minutos();
+                for (int i = minutos.nextSetBit(0); i >= 0; i = minutos.nextSetBit(i + 1)) {
+                    horarios.add(dia.atStartOfDay().plusMinutes(i));
+                }
+            }
+        }
+        return horarios;
+    }
+
+    private static boolean enRango(LocalDateTime horario, LocalDateTime inicio, LocalDateTime fin) {
+        return !horario.isBefore(inicio) && !horario.isAfter(fin);
+    }
+
+    private static LocalDateTime hora(LocalDateTime horario) {
+        return horario.truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private static int minutoDelDia(LocalDateTime horario) {
+        return horario.getHour() * 60 + horario.getMinute();
+    }
+
+    /**
+     * Clave de un recurso (doctor, consultorio o paciente) en un día.
+     */
+    private record Clave(Object recurso, LocalDate dia) {
+    }
+
+    /**
+     * Ocupación de un recurso en un día, con un bit por minuto. Los minutos con
+     * más de una cita se llevan aparte para poder liberarlos correctamente.
+     */
+    private static final class OcupacionDia {
+
+        private final BitSet minutos = new BitSet(MINUTOS_DIA);
+        private Map<Integer, Integer> repetidos;
+        private int total;
+
+        synchronized void agregar(int minuto) {
+            if (minutos.get(minuto)) {
+                if (repetidos == null) {
+                    repetidos = new HashMap<>();
+                }
+                repetidos.merge(minuto, 1, Integer::sum);
+            } else {
+                minutos.set(minuto);
+            }
+            total++;
+        }
+
+        /**
+         * @return {@code false} si el día quedó vacío.
+         */
+        synchronized boolean quitar(int minuto) {
+            if (repetidos != null && repetidos.containsKey(minuto)) {
+                repetidos.computeIfPresent(minuto, (k, n) -> n > 1 ? n - 1 : null);
+                total--;
+            } else if (minutos.get(minuto)) {
+                minutos.clear(minuto);
+                total--;
+            }
+            return total > 0;
+        }
+
+        synchronized long contar(int desde, int hasta) {
+            long conteo = 0;
+            for (int i = minutos.nextSetBit(desde); i >= 0 && i <= hasta; i = minutos.nextSetBit(i + 1)) {
+                conteo += 1 + (repetidos != null ? repetidos.getOrDefault(i, 0) : 0);
+            }
+            return conteo;
+        }
+
+        synchronized BitSet minutos() {
+            return (BitSet) minutos.clone();
+        }
+
+        synchronized int total() {
+            return total;
+        }
+    }
+
+    /**
+     * Consultorios con citas en una hora o de un doctor en un día, con un bit
+     * por ID de consultorio. Los consultorios con más de una cita se llevan
+     * aparte para poder liberarlos correctamente.
+     */
+    private static final class ConsultoriosOcupados {
+
+        private final BitSet consultorios = new BitSet();
+        private Map<Integer, Integer> repetidos;
+
+        synchronized void agregar(int consultorio) {
+            if (consultorios.get(consultorio)) {
+                if (repetidos == null) {
+                    repetidos = new HashMap<>();
+                }
+                repetidos.merge(consultorio, 1, Integer::sum);
+            } else {
+                consultorios.set(consultorio);
+            }
+        }
+
+        /**
+         * @return {@code false} si ya no quedan consultorios.
+         */
+        synchronized boolean quitar(int consultorio) {
+            if (repetidos != null && repetidos.containsKey(consultorio)) {
+                repetidos.computeIfPresent(consultorio, (k, n) -> n > 1 ? n - 1 : null);
+            } else {
+                consultorios.clear(consultorio);
+            }
+            return !consultorios.isEmpty();
+        }
+
+        /**
+         * @return {@code false} si ya no quedan consultorios.
+         */
+        synchronized boolean fijar(int consultorio, int citas) {
+            if (repetidos != null) {
+                repetidos.remove(consultorio);
+            }
+            if (citas > 1) {
+                if (repetidos == null) {
+                    repetidos = new HashMap<>();
+                }
+                repetidos.put(consultorio, citas - 1);
+            }
+            consultorios.set(consultorio, citas > 0);
+            return !consultorios.isEmpty();
+        }
+
+        synchronized void unir(BitSet destino) {
+            destino.or(consultorios);
+        }
+    }
+}
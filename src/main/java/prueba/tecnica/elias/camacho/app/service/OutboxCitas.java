@@ -0,0 +1,109 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.EventoOutbox;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaEvento;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaEventoPublicado;
+import prueba.tecnica.elias.camacho.app.domain.repository.EventosOutboxRepository;
+
+/**
+ * Bandeja de salida de los cambios de citas. Cada {@link CitaEvento} se guarda
+ * en la transacción que lo publica, así que el cambio y su registro se
+ * confirman o se descartan juntos.
+ *
+ * @see RelevoOutbox
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Component
+public class OutboxCitas {
+
+    /**
+     * Llave del candado de PostgreSQL que reserva la publicación a una sola
+     * instancia.
+     */
+    private static final long CANDADO_RELEVO = 0x63697461L;
+
+    private final EventosOutboxRepository repository;
+
+    private final ObjectMapper objectMapper;
+
+    public OutboxCitas(EventosOutboxRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Registra un cambio de cita en la transacción en curso.
+     *
+     * @param evento el cambio.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(CitaEvento evento) {
+        try {
+            repository.save(new EventoOutbox(evento, objectMapper.writeValueAsString(evento)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error al serializar el evento de la cita " + evento.citaId(), e);
+        }
+    }
+
+    /**
+     * Publica el siguiente lote de cambios pendientes y los marca como
+     * publicados. Si el destino falla, la transacción se revierte y el lote
+     * se vuelve a entregar en el siguiente intento.
+     *
+     * @param destino el destino de los cambios.
+     * @param tamano  el número máximo de cambios del lote.
+     * @return el número de cambios publicados; cero si otra instancia tiene el
+     *         turno.
+     * @throws Exception si el destino no recibió el lote.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int publicarLote(DestinoEventos destino, int tamano) throws Exception {
+        if (!repository.tomarTurno(CANDADO_RELEVO)) {
+            return 0;
+        }
+        List<EventoOutbox> lote = repository.findPendientes(Limit.of(tamano));
+        if (lote.isEmpty()) {
+            return 0;
+        }
+        destino.publicar(lote.stream().map(CitaEventoPublicado::de).toList());
+        repository.marcarPublicados(lote.stream().map(EventoOutbox::getId).toList(), LocalDateTime.now());
+        return lote.size();
+    }
+
+    /**
+     * Obtiene el número de cambios pendientes y la fecha del más antiguo.
+     *
+     * @return el número de cambios y la fecha, que es {@code null} si no hay
+     *         pendientes.
+     */
+    @Transactional
+    public Object[] resumenPendientes() {
+        return repository.resumenPendientes().get(0);
+    }
+
+    /**
+     * Elimina los cambios publicados antes de la fecha indicada.
+     *
+     * @param antesDe la fecha límite.
+     * @return el número de cambios eliminados.
+     */
+    @Transactional
+    public int depurar(LocalDateTime antesDe) {
+        return repository.deletePublicadosAntesDe(antesDe);
+    }
+}
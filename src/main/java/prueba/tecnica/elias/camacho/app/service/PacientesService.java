@@ -0,0 +1,72 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.Paciente;
+import prueba.tecnica.elias.camacho.app.domain.repository.PacientesRepository;
+
+/**
+ * Servicio para gestionar operaciones relacionadas con la entidad
+ * {@link Paciente}.
+ * 
+ * @see Paciente
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Service
+public class PacientesService {
+
+    /**
+     * Número máximo de sugerencias por búsqueda.
+     */
+    public static final int SUGERENCIAS_MAXIMAS = 50;
+
+    private final PacientesRepository repository;
+
+    public PacientesService(PacientesRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Obtiene el paciente con el nombre indicado, registrándolo si es la primera
+     * vez que se agenda.
+     *
+     * @param nombre el nombre del paciente.
+     * @return el paciente.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Paciente resolver(String nombre) {
+        String clave = OcupacionCitas.normalizarPaciente(nombre);
+        return repository.findByNombreNormalizado(clave).orElseGet(() -> {
+            repository.insertarSiNoExiste(nombre.strip(), clave);
+            return repository.findByNombreNormalizado(clave)
+                    .orElseThrow(() -> new IllegalStateException("No se pudo registrar el paciente " + nombre));
+        });
+    }
+
+    /**
+     * Busca pacientes cuyo nombre empieza con el texto indicado, sin importar
+     * acentos, mayúsculas ni espacios repetidos.
+     *
+     * @param prefijo el inicio del nombre.
+     * @param limite  el número máximo de pacientes.
+     * @return los pacientes en orden alfabético.
+     */
+    @Transactional(readOnly = true)
+    public List<Paciente> sugerir(String prefijo, int limite) {
+        String clave = OcupacionCitas.normalizarPaciente(prefijo);
+        if (clave.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Se debe indicar el inicio del nombre.");
+        }
+        int tamano = Math.max(1, Math.min(limite, SUGERENCIAS_MAXIMAS));
+        return repository.findByNombreNormalizadoStartingWithOrderByNombreNormalizado(clave, Limit.of(tamano));
+    }
+}
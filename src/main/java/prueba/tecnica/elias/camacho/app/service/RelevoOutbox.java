@@ -0,0 +1,123 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+ * Relevo que publica los cambios de la bandeja de salida al
+ * {@link DestinoEventos} configurado. En cada ciclo publica lotes hasta
+ * vaciar la bandeja; los cambios se entregan al menos una vez y en orden de
+ * ID, por lo que los de una misma cita llegan en el orden en que ocurrieron.
+ *
+ * <p>
+ * Expone {@code citas.outbox.pendientes}, {@code citas.outbox.retraso} (la
+ * antigüedad del cambio pendiente más viejo) y
+ * {@code citas.outbox.publicados}, y avisa en la bitácora cuando el retraso
+ * supera {@code citas.outbox.retraso-maximo}.
+ *
+ * @see OutboxCitas
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Component
+public class RelevoOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(RelevoOutbox.class);
+
+    private final OutboxCitas outbox;
+
+    private final DestinoEventos destino;
+
+    private final boolean habilitado;
+
+    private final int tamanoLote;
+
+    private final Duration retraso;
+
+    private final Duration retencion;
+
+    private final AtomicLong pendientes = new AtomicLong();
+
+    private final AtomicLong retrasoMs = new AtomicLong();
+
+    private final Counter publicados;
+
+    public RelevoOutbox(OutboxCitas outbox, DestinoEventos destino, MeterRegistry registry,
+            @Value("${citas.outbox.habilitado:true}") boolean habilitado,
+            @Value("${citas.outbox.tamano-lote:500}") int tamanoLote,
+            @Value("${citas.outbox.retraso-maximo:1m}") Duration retraso,
+            @Value("${citas.outbox.retencion:7d}") Duration retencion) {
+        this.outbox = outbox;
+        this.destino = destino;
+        this.habilitado = habilitado;
+        this.tamanoLote = tamanoLote;
+        this.retraso = retraso;
+        this.retencion = retencion;
+        Gauge.builder("citas.outbox.pendientes", pendientes, AtomicLong::get)
+                .description("Cambios de citas pendientes de publicar")
+                .register(registry);
+        TimeGauge.builder("citas.outbox.retraso", retrasoMs, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Antigüedad del cambio de cita pendiente más viejo")
+                .register(registry);
+        this.publicados = Counter.builder("citas.outbox.publicados")
+                .description("Cambios de citas publicados")
+                .register(registry);
+    }
+
+    /**
+     * Publica los cambios pendientes.
+     */
+    @Scheduled(fixedDelayString = "${citas.outbox.intervalo:1000}")
+    public void relevar() {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            int lote;
+            do {
+                lote = outbox.publicarLote(destino, tamanoLote);
+                publicados.increment(lote);
+            } while (lote == tamanoLote);
+        } catch (Exception e) {
+            log.warn("No se pudieron publicar los cambios de citas; se reintentará", e);
+        }
+        medir();
+    }
+
+    /**
+     * Elimina los cambios publicados hace más de
+     * {@code citas.outbox.retencion}.
+     */
+    @Scheduled(cron = "0 15 3 * * *")
+    public void depurar() {
+        if (habilitado) {
+            outbox.depurar(LocalDateTime.now().minus(retencion));
+        }
+    }
+
+    private void medir() {
+        Object[] resumen = outbox.resumenPendientes();
+        pendientes.set(((Number) resumen[0]).longValue());
+        LocalDateTime masAntiguo = (LocalDateTime) resumen[1];
+        long antiguedad = masAntiguo != null ? Duration.between(masAntiguo, LocalDateTime.now()).toMillis() : 0;
+        retrasoMs.set(antiguedad);
+        if (antiguedad > retraso.toMillis()) {
+            log.warn("Hay {} cambios de citas sin publicar; el más antiguo tiene {} s", pendientes.get(),
+                    antiguedad / 1000);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaEvento;
+import prueba.tecnica.elias.camacho.app.domain.event.CitasImportadas;
+import prueba.tecnica.elias.camacho.app.domain.event.ClaveAgenda;
+
+/**
+ * Servicio que envía por Server-Sent Events los cambios de la agenda de un día
+ * de un doctor o de un consultorio. Las conexiones inactivas no ocupan hilos:
+ * cada suscripción es una petición asíncrona que sólo usa un hilo virtual
+ * mientras se le escriben sus cambios pendientes, en orden.
+ *
+ * Cada suscripción guarda a lo más {@value #PENDIENTES_MAXIMOS} cambios sin
+ * enviar; un cliente que no los alcanza a leer se desconecta para que vuelva a
+ * cargar la agenda al reconectarse, sin retrasar a los demás.
+ *
+ * @see CitaEvento
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Service
+public class SuscripcionesAgenda {
+
+    /**
+     * Tiempo tras el cual se cierra una suscripción; el cliente se reconecta.
+     */
+    private static final long DURACION_MILISEGUNDOS = 30 * 60 * 1000L;
+
+    /**
+     * Número máximo de cambios sin enviar por suscripción.
+     */
+    private static final int PENDIENTES_MAXIMOS = 100;
+
+    private final Map<ClaveAgenda, Set<Suscripcion>> suscripciones = new ConcurrentHashMap<>();
+
+    private final ExecutorService distribuidor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Registra una suscripción a la agenda de un día.
+     *
+     * @param clave la agenda a la que se suscribe el cliente.
+     * @return el emisor de eventos de la suscripción.
+     */
+    public SseEmitter suscribir(ClaveAgenda clave) {
+        SseEmitter emitter = new SseEmitter(DURACION_MILISEGUNDOS);
+        Suscripcion suscripcion = new Suscripcion(clave, emitter);
+        suscripciones.computeIfAbsent(clave, k -> ConcurrentHashMap.newKeySet()).add(suscripcion);
+        emitter.onCompletion(() -> quitar(suscripcion));
+        emitter.onTimeout(() -> quitar(suscripcion));
+        emitter.onError(e -> quitar(suscripcion));
+        return emitter;
+    }
+
+    /**
+     * Envía el cambio a las agendas afectadas una vez que la transacción se
+     * confirma.
+     *
+     * @param evento el evento de la modificación.
+     */
+    @TransactionalEventListener
+    public void onCitaEvento(CitaEvento evento) {
+        for (ClaveAgenda clave : ClaveAgenda.de(evento)) {
+            Set<Suscripcion> suscritas = suscripciones.get(clave);
+            if (suscritas != null) {
+                for (Suscripcion suscripcion : suscritas) {
+                    suscripcion.publicar(SseEmitter.event().name(evento.tipo().name()).data(evento));
+                }
+            }
+        }
+    }
+
+    /**
+     * Envía las citas importadas a las agendas afectadas una vez que la
+     * importación se confirma, como altas.
+     *
+     * @param evento las citas importadas.
+     */
+    @EventListener
+    public void onCitasImportadas(CitasImportadas evento) {
+        evento.eventos().forEach(this::onCitaEvento);
+    }
+
+    /**
+     * Envía un comentario a todas las suscripciones para detectar las conexiones
+     * cerradas por el cliente y elimina las agendas de días pasados.
+     */
+    @Scheduled(fixedRate = 30000)
+    public void latido() {
+        LocalDate hoy = LocalDate.now();
+        suscripciones.forEach((clave, suscritas) -> {
+            for (Suscripcion suscripcion : suscritas) {
+                if (clave.dia().isBefore(hoy)) {
+                    suscripcion.emitter().complete();
+                } else {
+                    suscripcion.publicar(SseEmitter.event().comment("latido"));
+                }
+            }
+        });
+    }
+
+    /**
+     * Obtiene el número de suscripciones abiertas.
+     *
+     * @return el número de suscripciones.
+     */
+    public int total() {
+        return suscripciones.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    void cerrar() {
+        distribuidor.shutdownNow();
+        suscripciones.values().forEach(suscritas -> suscritas.forEach(suscripcion -> suscripcion.emitter().complete()));
+    }
+
+    private void quitar(Suscripcion suscripcion) {
+        suscripciones.computeIfPresent(suscripcion.clave(), (k, suscritas) -> {
+            suscritas.remove(suscripcion);
+            return suscritas.isEmpty() ? null : suscritas;
+        });
+    }
+
+    /**
+     * Una suscripción con sus cambios pendientes. Sólo un hilo a la vez le
+     * escribe, de modo que los cambios llegan en el orden en que se publicaron.
+     */
+    private final class Suscripcion {
+
+        private final ClaveAgenda clave;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pendientes =
+                new ArrayBlockingQueue<>(PENDIENTES_MAXIMOS);
+        private final AtomicBoolean enviando = new AtomicBoolean();
+
+        Suscripcion(ClaveAgenda clave, SseEmitter emitter) {
+            this.clave = clave;
+            this.emitter = emitter;
+        }
+
+        ClaveAgenda clave() {
+            return clave;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        void publicar(SseEmitter.SseEventBuilder evento) {
+            if (!pendientes.offer(evento)) {
+                // El cliente no alcanza a leer los cambios.
+                quitar(this);
+                emitter.complete();
+                return;
+            }
+            if (enviando.compareAndSet(false, true)) {
+                distribuidor.execute(this::enviarPendientes);
+            }
+        }
+
+        private void enviarPendientes() {
+            do {
+                SseEmitter.SseEventBuilder evento;
+                while ((evento = pendientes.poll()) != null) {
+                    try {
+                        emitter.send(evento);
+                    } catch (IOException | IllegalStateException e) {
+                        pendientes.clear();
+                        quitar(this);
+                        break;
+                    }
+                }
+                enviando.set(false);
+                // Un cambio publicado justo antes de soltar la bandera no debe quedar esperando.
+            } while (!pendientes.isEmpty() && enviando.compareAndSet(false, true));
+        }
+    }
+}
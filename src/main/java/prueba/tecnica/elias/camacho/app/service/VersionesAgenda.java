@@ -0,0 +1,157 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import prueba.tecnica.elias.camacho.app.domain.event.CitaEvento;
+import prueba.tecnica.elias.camacho.app.domain.event.CitasImportadas;
+import prueba.tecnica.elias.camacho.app.domain.event.ClaveAgenda;
+
+/**
+ * Contadores de versión de las agendas por día de cada doctor y de cada
+ * consultorio, y de cada cita. Se incrementan cuando se confirma una
+ * modificación y sirven para generar ETags fuertes sin consultar la base de
+ * datos.
+ *
+ * Las versiones de las citas se guardan en cubetas por hash del ID: dos citas
+ * pueden compartir versión, lo que sólo provoca respuestas completas de más,
+ * nunca un 304 incorrecto. Las versiones de días pasados no se eliminan: una
+ * cita pasada aún se puede eliminar y su agenda debe cambiar de versión.
+ *
+ * <p>
+ * Con varias instancias, {@link AvisosCitas} aplica también los cambios
+ * confirmados en las demás, por lo que una instancia no responde 304 con una
+ * versión que otra ya cambió. Si los avisos se interrumpen, todas las
+ * versiones cambian a la vez al reconectarse.
+ *
+ * @see CitasService
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Service
+public class VersionesAgenda {
+
+    private static final int CUBETAS_CITAS = 1 << 16;
+
+    /**
+     * Distingue las versiones de cada arranque de la aplicación, ya que los
+     * contadores empiezan en cero.
+     */
+    private final String epoca = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    private final Map<ClaveAgenda, AtomicLong> agendas = new ConcurrentHashMap<>();
+
+    private final Map<LocalDate, AtomicLong> dias = new ConcurrentHashMap<>();
+
+    private final AtomicLongArray citas = new AtomicLongArray(CUBETAS_CITAS);
+
+    /**
+     * Se suma a todas las versiones; aumenta cuando pudieron perderse cambios
+     * de otras instancias.
+     */
+    private final AtomicLong base = new AtomicLong();
+
+    /**
+     * Incrementa las versiones afectadas por una modificación confirmada en
+     * esta instancia.
+     *
+     * @param evento el evento de la modificación.
+     */
+    @TransactionalEventListener
+    public void onCitaEvento(CitaEvento evento) {
+        aplicar(evento);
+    }
+
+    /**
+     * Incrementa las versiones afectadas por citas importadas una vez que la
+     * importación se confirma.
+     *
+     * @param evento las citas importadas.
+     */
+    @EventListener
+    public void onCitasImportadas(CitasImportadas evento) {
+        evento.eventos().forEach(this::aplicar);
+    }
+
+    /**
+     * Incrementa las versiones afectadas por una modificación confirmada en
+     * cualquier instancia.
+     *
+     * @param evento el evento de la modificación.
+     */
+    public void aplicar(CitaEvento evento) {
+        for (ClaveAgenda clave : ClaveAgenda.de(evento)) {
+            agendas.computeIfAbsent(clave, k -> new AtomicLong()).incrementAndGet();
+            dias.computeIfAbsent(clave.dia(), k -> new AtomicLong()).incrementAndGet();
+        }
+        citas.incrementAndGet(cubeta(evento.citaId()));
+    }
+
+    /**
+     * Cambia todas las versiones a la vez, para cuando no se sabe qué cambió.
+     */
+    public void invalidarTodas() {
+        base.incrementAndGet();
+    }
+
+    /**
+     * Obtiene la versión de la agenda de un día de un doctor o de un
+     * consultorio.
+     *
+     * @param clave la agenda.
+     * @return la versión, que aumenta con cada modificación confirmada.
+     */
+    public long version(ClaveAgenda clave) {
+        AtomicLong version = agendas.get(clave);
+        return base.get() + (version != null ? version.get() : 0);
+    }
+
+    /**
+     * Genera el ETag de la agenda de un día de un doctor o de un consultorio.
+     *
+     * @param clave la agenda.
+     * @return el ETag.
+     */
+    public String etagAgenda(ClaveAgenda clave) {
+        return etag(clave.recurso().name().charAt(0) + "-" + clave.dia() + "-" + clave.recursoId(),
+                version(clave));
+    }
+
+    /**
+     * Genera el ETag de todas las citas de un día.
+     *
+     * @param dia el día.
+     * @return el ETag.
+     */
+    public String etagDia(LocalDate dia) {
+        AtomicLong version = dias.get(dia);
+        return etag("F-" + dia, base.get() + (version != null ? version.get() : 0));
+    }
+
+    /**
+     * Genera el ETag de una cita.
+     *
+     * @param id el ID de la cita.
+     * @return el ETag.
+     */
+    public String etagCita(Long id) {
+        return etag("C-" + id, base.get() + citas.get(cubeta(id)));
+    }
+
+    private String etag(String recurso, long version) {
+        return "\"" + recurso + "-" + epoca + "-" + version + "\"";
+    }
+
+    private static int cubeta(Long id) {
+        return Math.floorMod(id.hashCode(), CUBETAS_CITAS);
+    }
+}
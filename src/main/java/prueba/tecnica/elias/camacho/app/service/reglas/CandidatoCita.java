@@ -0,0 +1,43 @@
+package prueba.tecnica.elias.camacho.app.service.reglas;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
+import prueba.tecnica.elias.camacho.app.service.OcupacionCitas;
+
+/**
+ * Cita que se quiere agendar, con los datos que necesitan las reglas ya
+ * resueltos una sola vez para todas.
+ *
+ * @param doctorId      el ID del doctor.
+ * @param consultorioId el ID del consultorio.
+ * @param paciente      el nombre normalizado del paciente, ver
+ *                      {@link OcupacionCitas#normalizarPaciente(String)}.
+ * @param inicio        el inicio de la cita.
+ * @param fin           el fin de la cita.
+ * @param anterior      el estado guardado de la cita si se está editando, para
+ *                      no contarla contra sí misma, o {@code null} si es nueva.
+ * @param pendientes    las citas aceptadas del mismo lote que aún no se
+ *                      guardan.
+ *
+ * @see ReglaCita
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public record CandidatoCita(Long doctorId, Long consultorioId, String paciente, LocalDateTime inicio,
+        LocalDateTime fin, CitaSlot anterior, List<CitaSlot> pendientes) {
+
+    /**
+     * Indica si un horario cae en el rango indicado, ambos extremos incluidos.
+     *
+     * @param horario el horario.
+     * @param inicio  el inicio del rango.
+     * @param fin     el fin del rango.
+     * @return {@code true} si el horario está en el rango.
+     */
+    public static boolean enRango(LocalDateTime horario, LocalDateTime inicio, LocalDateTime fin) {
+        return !horario.isBefore(inicio) && !horario.isAfter(fin);
+    }
+}
@@ -0,0 +1,31 @@
+package prueba.tecnica.elias.camacho.app.service.reglas;
+
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * Rechazo de una cita que no cumple una o más reglas de negocio. Es un
+ * resultado esperado y frecuente, por lo que no captura la pila de llamadas;
+ * {@code GlobalExceptionHandler} lo responde con un estado 400.
+ *
+ * @see MotorReglasCitas
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Getter
+public class CitaRechazadaException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Los mensajes de las reglas que no se cumplen, en orden de evaluación.
+     */
+    private final List<String> violaciones;
+
+    public CitaRechazadaException(List<String> violaciones) {
+        super(violaciones.get(0), null, false, false);
+        this.violaciones = violaciones;
+    }
+}
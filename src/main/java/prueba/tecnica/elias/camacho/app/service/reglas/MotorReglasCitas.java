@@ -0,0 +1,81 @@
+package prueba.tecnica.elias.camacho.app.service.reglas;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
+import prueba.tecnica.elias.camacho.app.service.MetricasCitas;
+import prueba.tecnica.elias.camacho.app.service.OcupacionCitas;
+
+/**
+ * Evalúa todas las {@link ReglaCita} registradas sobre una cita y reporta
+ * todas las que no se cumplen. Los datos de la cita se resuelven una sola vez
+ * en un {@link CandidatoCita}; las reglas se responden con el índice en memoria
+ * {@link OcupacionCitas}. Cada regla se mide con {@link MetricasCitas}.
+ *
+ * @see ReglaCita
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Component
+public class MotorReglasCitas {
+
+    private final List<ReglaCita> reglas;
+
+    private final ParametrosReglas parametros;
+
+    private final MetricasCitas metricas;
+
+    public MotorReglasCitas(List<ReglaCita> reglas, ParametrosReglas parametros, MetricasCitas metricas) {
+        this.reglas = List.copyOf(reglas);
+        this.parametros = parametros;
+        this.metricas = metricas;
+    }
+
+    /**
+     * Verifica todas las reglas de una cita.
+     *
+     * @param cita       la cita a verificar.
+     * @param anterior   el estado guardado de la cita si se está editando, o
+     *                   {@code null} si es nueva.
+     * @param pendientes las citas aceptadas del mismo lote que aún no se guardan.
+     * @return los mensajes de las reglas que no se cumplen, vacío si la cita es
+     *         válida.
+     */
+    public List<String> verificar(Cita cita, CitaSlot anterior, List<CitaSlot> pendientes) {
+        CandidatoCita candidato = new CandidatoCita(cita.getDoctor().getId(), cita.getConsultorio().getId(),
+                OcupacionCitas.normalizarPaciente(cita.getNombrePaciente()), cita.getHorarioConsulta(),
+                cita.getHorarioConsulta().plus(parametros.getDuracion()), anterior, pendientes);
+        List<String> violaciones = null;
+        for (ReglaCita regla : reglas) {
+            String[] mensaje = new String[1];
+            metricas.evaluar(regla.nombre(), () -> (mensaje[0] = regla.verificar(candidato)) != null);
+            if (mensaje[0] != null) {
+                if (violaciones == null) {
+                    violaciones = new ArrayList<>(reglas.size());
+                }
+                violaciones.add(mensaje[0]);
+            }
+        }
+        return violaciones != null ? violaciones : List.of();
+    }
+
+    /**
+     * Verifica todas las reglas de una cita y la rechaza si no cumple alguna.
+     *
+     * @param cita     la cita a verificar.
+     * @param anterior el estado guardado de la cita si se está editando, o
+     *                 {@code null} si es nueva.
+     * @throws CitaRechazadaException si la cita no cumple alguna regla.
+     */
+    public void validar(Cita cita, CitaSlot anterior) {
+        List<String> violaciones = verificar(cita, anterior, List.of());
+        if (!violaciones.isEmpty()) {
+            throw new CitaRechazadaException(violaciones);
+        }
+    }
+}
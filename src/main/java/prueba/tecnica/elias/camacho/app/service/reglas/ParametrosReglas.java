@@ -0,0 +1,45 @@
+package prueba.tecnica.elias.camacho.app.service.reglas;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+
+/**
+ * Parámetros de las reglas de alta de citas de cada hospital, configurables
+ * con {@code citas.reglas}.
+ *
+ * @see ReglaCita
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Getter
+@Component
+public class ParametrosReglas {
+
+    /**
+     * Duración de una cita.
+     */
+    private final Duration duracion;
+
+    /**
+     * Tiempo mínimo entre dos citas del mismo paciente.
+     */
+    private final Duration separacionPaciente;
+
+    /**
+     * Número máximo de citas de un doctor en un día.
+     */
+    private final int maximoDiario;
+
+    public ParametrosReglas(@Value("${citas.reglas.duracion:1h}") Duration duracion,
+            @Value("${citas.reglas.separacion-paciente:2h}") Duration separacionPaciente,
+            @Value("${citas.reglas.maximo-diario:8}") int maximoDiario) {
+        this.duracion = duracion;
+        this.separacionPaciente = separacionPaciente;
+        this.maximoDiario = maximoDiario;
+    }
+}
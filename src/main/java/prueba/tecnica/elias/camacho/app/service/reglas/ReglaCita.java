@@ -0,0 +1,34 @@
+package prueba.tecnica.elias.camacho.app.service.reglas;
+
+/**
+ * Regla de negocio para agendar una cita. Cada bean que implementa esta
+ * interfaz se evalúa en {@link MotorReglasCitas}, en el orden de su
+ * {@link org.springframework.core.annotation.Order}; para agregar una regla
+ * basta registrar un bean nuevo.
+ *
+ * <p>
+ * Las reglas se evalúan en memoria contra {@link CandidatoCita} y el índice de
+ * ocupación, sin consultar la base de datos.
+ *
+ * @see MotorReglasCitas
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public interface ReglaCita {
+
+    /**
+     * Obtiene el nombre de la regla, que etiqueta sus métricas.
+     *
+     * @return el nombre de la regla.
+     */
+    String nombre();
+
+    /**
+     * Verifica la regla.
+     *
+     * @param candidato la cita a verificar.
+     * @return el mensaje de la regla si la cita no la cumple, o {@code null}.
+     */
+    String verificar(CandidatoCita candidato);
+}
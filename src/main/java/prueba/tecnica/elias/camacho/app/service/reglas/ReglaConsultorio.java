@@ -0,0 +1,49 @@
+package prueba.tecnica.elias.camacho.app.service.reglas;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import prueba.tecnica.elias.camacho.app.service.OcupacionCitas;
+
+/**
+ * No se puede agendar cita en un mismo consultorio a la misma hora.
+ *
+ * @see ReglaCita
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Component
+@Order(10)
+public class ReglaConsultorio implements ReglaCita {
+
+    private final OcupacionCitas ocupacion;
+
+    public ReglaConsultorio(OcupacionCitas ocupacion) {
+        this.ocupacion = ocupacion;
+    }
+
+    /**
+     * Obtiene el mensaje de la regla, para validarla fuera del índice.
+     *
+     * @return el mensaje con el que se rechaza una cita.
+     */
+    public String mensaje() {
+        return "No se puede agendar cita en el mismo consultorio a la misma hora.";
+    }
+
+    @Override
+    public String nombre() {
+        return "consultorio";
+    }
+
+    @Override
+    public String verificar(CandidatoCita c) {
+        if (ocupacion.consultorioOcupado(c.consultorioId(), c.inicio(), c.fin(), c.anterior())
+                || c.pendientes().stream().anyMatch(p -> c.consultorioId().equals(p.consultorioId())
+                        && CandidatoCita.enRango(p.horarioConsulta(), c.inicio(), c.fin()))) {
+            return mensaje();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,49 @@
+package prueba.tecnica.elias.camacho.app.service.reglas;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import prueba.tecnica.elias.camacho.app.service.OcupacionCitas;
+
+/**
+ * No se puede agendar cita para un mismo Dr. a la misma hora.
+ *
+ * @see ReglaCita
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Component
+@Order(20)
+public class ReglaDoctor implements ReglaCita {
+
+    private final OcupacionCitas ocupacion;
+
+    public ReglaDoctor(OcupacionCitas ocupacion) {
+        this.ocupacion = ocupacion;
+    }
+
+    /**
+     * Obtiene el mensaje de la regla, para validarla fuera del índice.
+     *
+     * @return el mensaje con el que se rechaza una cita.
+     */
+    public String mensaje() {
+        return "No se puede agendar cita para un mismo Dr. a la misma hora.";
+    }
+
+    @Override
+    public String nombre() {
+        return "doctor";
+    }
+
+    @Override
+    public String verificar(CandidatoCita c) {
+        if (ocupacion.doctorOcupado(c.doctorId(), c.inicio(), c.fin(), c.anterior())
+                || c.pendientes().stream().anyMatch(p -> c.doctorId().equals(p.doctorId())
+                        && CandidatoCita.enRango(p.horarioConsulta(), c.inicio(), c.fin()))) {
+            return mensaje();
+        }
+        return null;
+    }
+}
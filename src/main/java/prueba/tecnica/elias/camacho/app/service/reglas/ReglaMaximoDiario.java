@@ -0,0 +1,54 @@
+package prueba.tecnica.elias.camacho.app.service.reglas;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import prueba.tecnica.elias.camacho.app.service.OcupacionCitas;
+
+/**
+ * Un mismo doctor no puede tener más de {@code citas.reglas.maximo-diario}
+ * citas en el día.
+ *
+ * @see ReglaCita
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Component
+@Order(40)
+public class ReglaMaximoDiario implements ReglaCita {
+
+    private final OcupacionCitas ocupacion;
+
+    private final ParametrosReglas parametros;
+
+    public ReglaMaximoDiario(OcupacionCitas ocupacion, ParametrosReglas parametros) {
+        this.ocupacion = ocupacion;
+        this.parametros = parametros;
+    }
+
+    /**
+     * Obtiene el mensaje de la regla, para validarla fuera del índice.
+     *
+     * @return el mensaje con el que se rechaza una cita.
+     */
+    public String mensaje() {
+        return "Un mismo doctor no puede tener más de " + parametros.getMaximoDiario() + " citas en el día.";
+    }
+
+    @Override
+    public String nombre() {
+        return "maximoDiario";
+    }
+
+    @Override
+    public String verificar(CandidatoCita c) {
+        long pendientes = c.pendientes().stream().filter(p -> c.doctorId().equals(p.doctorId())
+                && p.horarioConsulta().toLocalDate().equals(c.inicio().toLocalDate())).count();
+        if (ocupacion.citasDelDoctor(c.doctorId(), c.inicio().toLocalDate(), c.anterior())
+                + pendientes >= parametros.getMaximoDiario()) {
+            return mensaje();
+        }
+        return null;
+    }
+}
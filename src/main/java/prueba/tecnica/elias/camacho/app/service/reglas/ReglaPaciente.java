@@ -0,0 +1,69 @@
+package prueba.tecnica.elias.camacho.app.service.reglas;
+
+import java.time.LocalDateTime;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import prueba.tecnica.elias.camacho.app.service.OcupacionCitas;
+
+/**
+ * No se puede agendar cita para un paciente a la misma hora ni con menos de
+ * {@code citas.reglas.separacion-paciente} de diferencia.
+ *
+ * @see ReglaCita
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Component
+@Order(30)
+public class ReglaPaciente implements ReglaCita {
+
+    private final OcupacionCitas ocupacion;
+
+    private final ParametrosReglas parametros;
+
+    private final String mensaje;
+
+    public ReglaPaciente(OcupacionCitas ocupacion, ParametrosReglas parametros) {
+        this.ocupacion = ocupacion;
+        this.parametros = parametros;
+        this.mensaje = "No se puede agendar cita para un paciente a la misma hora ni con menos de "
+                + texto(parametros.getSeparacionPaciente().toMinutes()) + " de diferencia para el mismo día.";
+    }
+
+    /**
+     * Obtiene el mensaje de la regla, para validarla fuera del índice.
+     *
+     * @return el mensaje con el que se rechaza una cita.
+     */
+    public String mensaje() {
+        return mensaje;
+    }
+
+    @Override
+    public String nombre() {
+        return "paciente";
+    }
+
+    @Override
+    public String verificar(CandidatoCita c) {
+        LocalDateTime desde = c.inicio().minus(parametros.getSeparacionPaciente());
+        LocalDateTime hasta = c.fin().plus(parametros.getSeparacionPaciente());
+        if (ocupacion.pacienteOcupado(c.paciente(), desde, hasta, c.anterior())
+                || c.pendientes().stream().anyMatch(p -> c.paciente().equals(
+                        OcupacionCitas.normalizarPaciente(p.nombrePaciente()))
+                        && CandidatoCita.enRango(p.horarioConsulta(), desde, hasta))) {
+            return mensaje;
+        }
+        return null;
+    }
+
+    private static String texto(long minutos) {
+        if (minutos % 60 != 0) {
+            return minutos + " minutos";
+        }
+        return minutos == 60 ? "1 hora" : minutos / 60 + " horas";
+    }
+}
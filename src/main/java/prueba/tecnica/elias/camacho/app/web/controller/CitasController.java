@@ -1,19 +1,45 @@
 package prueba.tecnica.elias.camacho.app.web.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import prueba.tecnica.elias.camacho.app.domain.dto.HorarioDisponible;
+import prueba.tecnica.elias.camacho.app.domain.dto.PaginaCitas;
+import prueba.tecnica.elias.camacho.app.domain.dto.PaginaHistorico;
+import prueba.tecnica.elias.camacho.app.domain.dto.ResultadoCita;
+import prueba.tecnica.elias.camacho.app.domain.dto.SolicitudCita;
 import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
+import prueba.tecnica.elias.camacho.app.domain.event.ClaveAgenda;
+import prueba.tecnica.elias.camacho.app.service.ArchivoCitasService;
 import prueba.tecnica.elias.camacho.app.service.CitasService;
+import prueba.tecnica.elias.camacho.app.service.DisponibilidadService;
+import prueba.tecnica.elias.camacho.app.service.IdempotenciaCitas;
+import prueba.tecnica.elias.camacho.app.service.InstantaneasAgenda;
+import prueba.tecnica.elias.camacho.app.service.SuscripcionesAgenda;
+import prueba.tecnica.elias.camacho.app.service.VersionesAgenda;
 
 /**
  * Controlador REST para gestionar operaciones relacionadas con la entidad
@@ -29,47 +55,161 @@ import prueba.tecnica.elias.camacho.app.service.CitasService;
 @Validated
 public class CitasController {
 
+    /**
+     * Encabezado con el token para pedir la siguiente página de citas.
+     */
+    public static final String CURSOR_SIGUIENTE = "X-Cursor-Siguiente";
+
+    /**
+     * Tipo de contenido de JSON delimitado por saltos de línea.
+     */
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     @Autowired
     private final CitasService citasService;
 
-    public CitasController(CitasService citasService) {
+    private final DisponibilidadService disponibilidadService;
+
+    private final SuscripcionesAgenda suscripcionesAgenda;
+
+    private final VersionesAgenda versionesAgenda;
+
+    private final ArchivoCitasService archivoCitasService;
+
+    private final IdempotenciaCitas idempotenciaCitas;
+
+    private final InstantaneasAgenda instantaneasAgenda;
+
+    private final ObjectMapper objectMapper;
+
+    public CitasController(CitasService citasService, DisponibilidadService disponibilidadService,
+            SuscripcionesAgenda suscripcionesAgenda, VersionesAgenda versionesAgenda,
+            ArchivoCitasService archivoCitasService, IdempotenciaCitas idempotenciaCitas,
+            InstantaneasAgenda instantaneasAgenda, ObjectMapper objectMapper) {
         this.citasService = citasService;
+        this.disponibilidadService = disponibilidadService;
+        this.suscripcionesAgenda = suscripcionesAgenda;
+        this.versionesAgenda = versionesAgenda;
+        this.archivoCitasService = archivoCitasService;
+        this.idempotenciaCitas = idempotenciaCitas;
+        this.instantaneasAgenda = instantaneasAgenda;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * Obtiene todas las citas.
+     * Obtiene las citas por páginas, ordenadas por horario e ID. Si hay más
+     * citas, la respuesta incluye el encabezado {@value #CURSOR_SIGUIENTE} con el
+     * cursor para pedir la siguiente página.
      * 
-     * @return una lista de todas las citas.
+     * @param cursor el cursor de la página anterior, o nada para la primera.
+     * @param limite el número máximo de citas de la página.
+     * @return una página de citas.
      */
     @GetMapping
-    public ResponseEntity<List<Cita>> getAllCitas() {
-        List<Cita> citas = citasService.findAll();
-        return new ResponseEntity<>(citas, HttpStatus.OK);
+    public ResponseEntity<List<Cita>> getAllCitas(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limite) {
+        return paginada(citasService.findPagina(cursor, limite, null, null));
     }
 
     /**
-     * Obtiene una cita por su ID.
+     * Exporta todas las citas como JSON delimitado por saltos de línea, leyendo
+     * de la base de datos con un cursor y memoria acotada.
      * 
-     * @param id el ID de la cita.
+     * @return el flujo de citas, una por línea.
+     */
+    @GetMapping(value = "/stream", produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamCitas() {
+        StreamingResponseBody cuerpo = salida -> {
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(salida)) {
+                citasService.exportarCitas(cita -> {
+                    try {
+                        writer.write(cita);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON)).body(cuerpo);
+    }
+
+    /**
+     * Obtiene una cita por su ID. Responde 304 sin consultar la base de datos si
+     * el ETag de {@code If-None-Match} sigue vigente.
+     * 
+     * @param id      el ID de la cita.
+     * @param request la petición, para revisar {@code If-None-Match}.
      * @return la cita encontrada, o un estado 404 si no se encuentra.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Cita> getCitaById(@PathVariable @NotNull Long id) {
+    public ResponseEntity<Cita> getCitaById(@PathVariable @NotNull Long id, WebRequest request) {
+        if (request.checkNotModified(versionesAgenda.etagCita(id))) {
+            return null;
+        }
         Optional<Cita> cita = citasService.findById(id);
         return cita.map(value -> new ResponseEntity<>(value, HttpStatus.OK))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     /**
-     * Crea una nueva cita.
+     * Crea una nueva cita. Un reintento con el mismo encabezado
+     * {@value IdempotenciaCitas#ENCABEZADO} recibe la respuesta original.
      * 
-     * @param cita la cita a crear.
+     * @param cita  la cita a crear.
+     * @param clave la clave de idempotencia de la petición.
      * @return la cita creada.
      */
     @PostMapping
-    public ResponseEntity<Cita> createCita(@Valid @RequestBody Cita cita) {
-        Cita nuevaCita = citasService.save(cita);
-        return new ResponseEntity<>(nuevaCita, HttpStatus.CREATED);
+    public ResponseEntity<Cita> createCita(@Valid @RequestBody Cita cita,
+            @RequestHeader(name = IdempotenciaCitas.ENCABEZADO, required = false) String clave) {
+        return idempotenciaCitas.ejecutar("POST /api/v1/citas", clave, huella(cita), () -> {
+            Cita nuevaCita = citasService.save(cita);
+            return new ResponseEntity<>(nuevaCita, HttpStatus.CREATED);
+        });
+    }
+
+    /**
+     * Crea una nueva cita en un consultorio libre elegido por el servidor. Un
+     * reintento con el mismo encabezado {@value IdempotenciaCitas#ENCABEZADO}
+     * recibe la respuesta original.
+     * 
+     * @param solicitud el doctor, el horario y el paciente de la cita.
+     * @param clave     la clave de idempotencia de la petición.
+     * @return la cita creada, con su consultorio.
+     */
+    @PostMapping("/asignar")
+    public ResponseEntity<Cita> createCitaConAsignacion(@Valid @RequestBody SolicitudCita solicitud,
+            @RequestHeader(name = IdempotenciaCitas.ENCABEZADO, required = false) String clave) {
+        return idempotenciaCitas.ejecutar("POST /api/v1/citas/asignar", clave, huella(solicitud), () -> {
+            Cita nuevaCita = citasService.agendarConAsignacion(solicitud);
+            return new ResponseEntity<>(nuevaCita, HttpStatus.CREATED);
+        });
+    }
+
+    /**
+     * Crea un lote de citas. Las citas que no cumplen sus validaciones se
+     * reportan como rechazadas en su resultado, sin rechazar el lote completo.
+     * 
+     * @param citas     las citas a crear.
+     * @param todoONada si es {@code true} no se crea ninguna cita cuando alguna es
+     *                  inválida.
+     * @return el resultado de cada cita: 201 si todas se crearon, 207 si sólo se
+     *         crearon algunas, o 400 si no se creó ninguna o el lote está vacío.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<ResultadoCita>> createCitas(@RequestBody List<Cita> citas,
+            @RequestParam(defaultValue = "false") boolean todoONada) {
+        List<ResultadoCita> resultados = citasService.saveAll(citas, todoONada);
+        long guardadas = resultados.stream().filter(ResultadoCita::guardada).count();
+        HttpStatus status;
+        if (guardadas == resultados.size()) {
+            status = HttpStatus.CREATED;
+        } else if (guardadas > 0) {
+            status = HttpStatus.MULTI_STATUS;
+        } else {
+            status = HttpStatus.BAD_REQUEST;
+        }
+        return new ResponseEntity<>(resultados, status);
     }
 
     /**
@@ -99,32 +239,165 @@ public class CitasController {
     }
 
     /**
-     * Cancela una cita por su ID.
+     * Cancela una cita por su ID. Un reintento con el mismo encabezado
+     * {@value IdempotenciaCitas#ENCABEZADO} recibe la respuesta original.
      * 
-     * @param id el ID de la cita a cancelar.
+     * @param id    el ID de la cita a cancelar.
+     * @param clave la clave de idempotencia de la petición.
      * @return un estado 204 si se cancela correctamente, o un estado 404 si no se
      *         encuentra.
      */
     @PostMapping("/{id}/cancelar")
-    public ResponseEntity<Void> cancelarCita(@PathVariable @NotNull Long id) {
-        citasService.cancelarCita(id);
-        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    public ResponseEntity<Void> cancelarCita(@PathVariable @NotNull Long id,
+            @RequestHeader(name = IdempotenciaCitas.ENCABEZADO, required = false) String clave) {
+        return idempotenciaCitas.ejecutar("POST /api/v1/citas/cancelar", clave, String.valueOf(id), () -> {
+            citasService.cancelarCita(id);
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        });
     }
 
     /**
-     * Consulta citas por fecha, consultorio y doctor.
+     * Consulta citas por fecha, consultorio y doctor. Sin fecha, las citas se
+     * entregan por páginas igual que en {@link #getAllCitas(String, int)}. La
+     * agenda de un día de un consultorio o de un doctor se entrega ya
+     * serializada desde {@link InstantaneasAgenda}.
      * 
      * @param fecha         la fecha de las citas.
      * @param consultorioId el ID del consultorio de las citas.
      * @param doctorId      el ID del doctor de las citas.
-     * @return una lista de citas que coinciden con los criterios de búsqueda.
+     * @param cursor        el cursor de la página anterior cuando no hay fecha.
+     * @param limite        el número máximo de citas por página cuando no hay
+     *                      fecha.
+     * @param request       la petición, para revisar {@code If-None-Match}.
+     * @return una lista de citas que coinciden con los criterios de búsqueda, o
+     *         un estado 304 sin consultar la base de datos si la agenda del día
+     *         no ha cambiado.
      */
     @GetMapping("/buscar")
-    public ResponseEntity<List<Cita>> buscarCitas(
+    public ResponseEntity<?> buscarCitas(
             @RequestParam(required = false) LocalDateTime fecha,
             @RequestParam(required = false) Long consultorioId,
-            @RequestParam(required = false) Long doctorId) {
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limite,
+            WebRequest request) {
+        if (fecha == null) {
+            return paginada(citasService.findPagina(cursor, limite, consultorioId, doctorId));
+        }
+        LocalDate dia = fecha.toLocalDate();
+        ClaveAgenda clave = null;
+        if (consultorioId != null) {
+            clave = ClaveAgenda.consultorio(dia, consultorioId);
+        } else if (doctorId != null) {
+            clave = ClaveAgenda.doctor(dia, doctorId);
+        }
+        String etag = clave != null ? versionesAgenda.etagAgenda(clave) : versionesAgenda.etagDia(dia);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        if (clave != null) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                    .body(instantaneasAgenda.obtener(clave));
+        }
         List<Cita> citas = citasService.buscarCitas(fecha, consultorioId, doctorId);
         return new ResponseEntity<>(citas, HttpStatus.OK);
     }
+
+    /**
+     * Consulta los siguientes horarios libres para un doctor, un consultorio o
+     * ambos, con las mismas reglas que se aplican al crear una cita.
+     * 
+     * @param doctorId       el ID del doctor.
+     * @param consultorioId  el ID del consultorio; sin él se busca en cualquier
+     *                       consultorio.
+     * @param nombrePaciente el nombre del paciente, para aplicar su regla de 2
+     *                       horas.
+     * @param desde          el primer día a revisar.
+     * @param hasta          el último día a revisar; por omisión, el mismo día.
+     * @param cantidad       el número máximo de horarios a devolver.
+     * @return los horarios libres, en orden.
+     */
+    @GetMapping("/disponibilidad")
+    public ResponseEntity<List<HorarioDisponible>> getDisponibilidad(
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) Long consultorioId,
+            @RequestParam(required = false) String nombrePaciente,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(defaultValue = "10") int cantidad) {
+        List<HorarioDisponible> disponibles = disponibilidadService.buscar(doctorId, consultorioId, nombrePaciente,
+                desde, hasta != null ? hasta : desde, cantidad);
+        return new ResponseEntity<>(disponibles, HttpStatus.OK);
+    }
+
+    /**
+     * Se suscribe a los cambios de la agenda de un día de un doctor o de un
+     * consultorio. Cada alta, edición, cancelación o eliminación que afecte la
+     * agenda se envía como un evento con el estado anterior y el actual de la
+     * cita.
+     * 
+     * @param fecha         el día de la agenda.
+     * @param doctorId      el ID del doctor.
+     * @param consultorioId el ID del consultorio, si no se indica doctor.
+     * @return el flujo de eventos de la agenda.
+     */
+    @GetMapping(value = "/suscripcion", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter suscribirAgenda(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha,
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) Long consultorioId) {
+        if (doctorId != null) {
+            return suscripcionesAgenda.suscribir(ClaveAgenda.doctor(fecha, doctorId));
+        }
+        if (consultorioId != null) {
+            return suscripcionesAgenda.suscribir(ClaveAgenda.consultorio(fecha, consultorioId));
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Se debe indicar un doctor o un consultorio.");
+    }
+
+    /**
+     * Consulta las citas archivadas de meses pasados, por páginas igual que en
+     * {@link #getAllCitas(String, int)}.
+     * 
+     * @param desde         el primer día.
+     * @param hasta         el último día.
+     * @param doctorId      el ID del doctor de las citas.
+     * @param consultorioId el ID del consultorio de las citas.
+     * @param cursor        el cursor de la página anterior, o nada para la
+     *                      primera.
+     * @param limite        el número máximo de citas de la página.
+     * @return una página de citas archivadas.
+     */
+    @GetMapping("/historico")
+    public ResponseEntity<List<CitaSlot>> getHistorico(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) Long consultorioId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limite) {
+        PaginaHistorico pagina = archivoCitasService.buscarHistorico(desde, hasta, doctorId, consultorioId, cursor,
+                limite);
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok();
+        if (pagina.siguiente() != null) {
+            respuesta.header(CURSOR_SIGUIENTE, pagina.siguiente());
+        }
+        return respuesta.body(pagina.citas());
+    }
+
+    private String huella(Object peticion) {
+        try {
+            return objectMapper.writeValueAsString(peticion);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ResponseEntity<List<Cita>> paginada(PaginaCitas pagina) {
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok();
+        if (pagina.siguiente() != null) {
+            respuesta.header(CURSOR_SIGUIENTE, pagina.siguiente());
+        }
+        return respuesta.body(pagina.citas());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package prueba.tecnica.elias.camacho.app.web.controller;
+
+import java.time.LocalDateTime;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
+import prueba.tecnica.elias.camacho.app.service.CitasReactivoService;
+import reactor.core.publisher.Flux;
+
+/**
+ * Controlador REST reactivo para las consultas de agenda de {@link Cita}. Las
+ * respuestas en JSON delimitado por saltos de línea se escriben conforme
+ * llegan las filas y la lectura se detiene mientras el cliente no consume, sin
+ * ocupar un hilo por petición mientras se espera a la base de datos.
+ * 
+ * @see CitasController
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@RestController
+@RequestMapping("/api/v1/reactivo/citas")
+@ConditionalOnProperty("citas.reactivo.url")
+public class CitasReactivoController {
+
+    private final CitasReactivoService citasReactivoService;
+
+    public CitasReactivoController(CitasReactivoService citasReactivoService) {
+        this.citasReactivoService = citasReactivoService;
+    }
+
+    /**
+     * Obtiene todas las citas ordenadas por horario e ID.
+     * 
+     * @return las citas, una por línea.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CitaSlot> getAllCitas() {
+        return citasReactivoService.findAll();
+    }
+
+    /**
+     * Busca las citas de un día con los mismos criterios que
+     * {@link CitasController}.
+     * 
+     * @param fecha         la fecha de las citas.
+     * @param consultorioId el ID del consultorio de las citas.
+     * @param doctorId      el ID del doctor de las citas.
+     * @return las citas que coinciden con los criterios de búsqueda.
+     */
+    @GetMapping(value = "/buscar", produces = { MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.APPLICATION_JSON_VALUE })
+    public Flux<CitaSlot> buscarCitas(@RequestParam LocalDateTime fecha,
+            @RequestParam(required = false) Long consultorioId,
+            @RequestParam(required = false) Long doctorId) {
+        return citasReactivoService.buscarCitas(fecha, consultorioId, doctorId);
+    }
+}
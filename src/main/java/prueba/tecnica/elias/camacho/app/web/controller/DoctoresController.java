@@ -8,7 +8,10 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import prueba.tecnica.elias.camacho.app.domain.dto.ResultadoAusencia;
+import prueba.tecnica.elias.camacho.app.domain.dto.SolicitudAusencia;
 import prueba.tecnica.elias.camacho.app.domain.entity.Doctor;
+import prueba.tecnica.elias.camacho.app.service.CitasService;
 import prueba.tecnica.elias.camacho.app.service.DoctoresService;
 
 import java.util.List;
@@ -31,8 +34,11 @@ public class DoctoresController {
     @Autowired
     private final DoctoresService doctorService;
 
-    public DoctoresController(DoctoresService doctorService) {
+    private final CitasService citasService;
+
+    public DoctoresController(DoctoresService doctorService, CitasService citasService) {
         this.doctorService = doctorService;
+        this.citasService = citasService;
     }
 
     /**
@@ -103,4 +109,18 @@ public class DoctoresController {
         doctorService.deleteById(id);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
-}
\ No newline at end of file
+
+    /**
+     * Registra la ausencia de un doctor y cancela o mueve sus citas de esos días
+     * según la política indicada.
+     * 
+     * @param id        el ID del doctor ausente.
+     * @param solicitud los días de la ausencia y la política a aplicar.
+     * @return lo que pasó con cada cita, o un estado 404 si el doctor no existe.
+     */
+    @PostMapping("/{id}/ausencia")
+    public ResponseEntity<List<ResultadoAusencia>> registrarAusencia(@PathVariable @NotNull Long id,
+            @RequestBody SolicitudAusencia solicitud) {
+        return new ResponseEntity<>(citasService.registrarAusencia(id, solicitud), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,71 @@
+package prueba.tecnica.elias.camacho.app.web.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import prueba.tecnica.elias.camacho.app.domain.dto.EstadisticaOcupacion;
+import prueba.tecnica.elias.camacho.app.domain.dto.ResultadoReconstruccion;
+import prueba.tecnica.elias.camacho.app.service.EstadisticasService;
+
+/**
+ * Controlador REST de las estadísticas de ocupación de doctores y
+ * consultorios.
+ * 
+ * @see EstadisticasService
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@RestController
+@RequestMapping("/api/v1/estadisticas")
+public class EstadisticasController {
+
+    private final EstadisticasService estadisticasService;
+
+    public EstadisticasController(EstadisticasService estadisticasService) {
+        this.estadisticasService = estadisticasService;
+    }
+
+    /**
+     * Consulta la ocupación por doctor, especialidad, consultorio o piso, por
+     * día o por semana.
+     * 
+     * @param agrupar cómo se agrupan los doctores o consultorios.
+     * @param periodo si la ocupación es por día o por semana.
+     * @param desde   el primer día.
+     * @param hasta   el último día; por omisión, el mismo día.
+     * @return la ocupación de cada periodo y grupo.
+     */
+    @GetMapping
+    public ResponseEntity<List<EstadisticaOcupacion>> getEstadisticas(
+            @RequestParam(defaultValue = "DOCTOR") EstadisticaOcupacion.Agrupacion agrupar,
+            @RequestParam(defaultValue = "DIA") EstadisticaOcupacion.Periodo periodo,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return new ResponseEntity<>(estadisticasService.consultar(agrupar, periodo, desde,
+                hasta != null ? hasta : desde), HttpStatus.OK);
+    }
+
+    /**
+     * Recalcula desde cero la ocupación de un rango de días.
+     * 
+     * @param desde el primer día; por omisión, el primer día con citas.
+     * @param hasta el último día; por omisión, el último día con citas.
+     * @return los días recalculados, el número de bloques y de filas.
+     */
+    @PostMapping("/reconstruir")
+    public ResponseEntity<ResultadoReconstruccion> reconstruir(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return new ResponseEntity<>(estadisticasService.reconstruir(desde, hasta), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,148 @@
+package prueba.tecnica.elias.camacho.app.web.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.function.Function;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import jakarta.servlet.http.HttpServletRequest;
+import prueba.tecnica.elias.camacho.app.domain.dto.ResultadoImportacion;
+import prueba.tecnica.elias.camacho.app.service.ImportacionService;
+
+/**
+ * Controlador REST para importar y exportar en CSV las citas, los doctores y
+ * los consultorios. Los archivos se leen y escriben conforme llegan, sin
+ * cargarlos completos en memoria.
+ *
+ * @see ImportacionService
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class ImportacionController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final ImportacionService importacionService;
+
+    public ImportacionController(ImportacionService importacionService) {
+        this.importacionService = importacionService;
+    }
+
+    /**
+     * Exporta las citas vigentes y archivadas entre dos días.
+     *
+     * @param desde el primer día.
+     * @param hasta el último día.
+     * @return el CSV de citas, ordenadas por horario e ID.
+     */
+    @GetMapping(value = "/citas/csv", produces = TEXT_CSV)
+    public ResponseEntity<StreamingResponseBody> exportarCitas(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return csv("citas", salida -> importacionService.exportarCitas(desde, hasta, salida));
+    }
+
+    /**
+     * Importa citas desde un CSV con las columnas de la exportación. Las citas
+     * reciben IDs nuevos.
+     *
+     * @param request   la petición, con el CSV en el cuerpo.
+     * @param todoONada si es {@code true} no se importa ninguna cita cuando
+     *                  alguna es inválida.
+     * @return el resultado: 201 si todas se importaron, 207 si sólo se
+     *         importaron algunas, o 400 si no se importó ninguna.
+     * @throws IOException si no se puede leer el cuerpo de la petición.
+     */
+    @PostMapping(value = "/citas/csv", consumes = TEXT_CSV)
+    public ResponseEntity<ResultadoImportacion> importarCitas(HttpServletRequest request,
+            @RequestParam(defaultValue = "false") boolean todoONada) throws IOException {
+        return resultado(importacionService.importarCitas(request.getInputStream(), todoONada));
+    }
+
+    /**
+     * Exporta todos los doctores.
+     *
+     * @return el CSV de doctores, ordenados por ID.
+     */
+    @GetMapping(value = "/doctores/csv", produces = TEXT_CSV)
+    public ResponseEntity<StreamingResponseBody> exportarDoctores() {
+        return csv("doctores", importacionService::exportarDoctores);
+    }
+
+    /**
+     * Importa doctores desde un CSV con las columnas de la exportación. Los
+     * doctores con ID se insertan o actualizan con ese ID.
+     *
+     * @param request la petición, con el CSV en el cuerpo.
+     * @return el resultado: 201 si todos se importaron, 207 si sólo se
+     *         importaron algunos, o 400 si no se importó ninguno.
+     * @throws IOException si no se puede leer el cuerpo de la petición.
+     */
+    @PostMapping(value = "/doctores/csv", consumes = TEXT_CSV)
+    public ResponseEntity<ResultadoImportacion> importarDoctores(HttpServletRequest request) throws IOException {
+        return resultado(importacionService.importarDoctores(request.getInputStream()));
+    }
+
+    /**
+     * Exporta todos los consultorios.
+     *
+     * @return el CSV de consultorios, ordenados por ID.
+     */
+    @GetMapping(value = "/consultorios/csv", produces = TEXT_CSV)
+    public ResponseEntity<StreamingResponseBody> exportarConsultorios() {
+        return csv("consultorios", importacionService::exportarConsultorios);
+    }
+
+    /**
+     * Importa consultorios desde un CSV con las columnas de la exportación. Los
+     * consultorios con ID se insertan o actualizan con ese ID.
+     *
+     * @param request la petición, con el CSV en el cuerpo.
+     * @return el resultado: 201 si todos se importaron, 207 si sólo se
+     *         importaron algunos, o 400 si no se importó ninguno.
+     * @throws IOException si no se puede leer el cuerpo de la petición.
+     */
+    @PostMapping(value = "/consultorios/csv", consumes = TEXT_CSV)
+    public ResponseEntity<ResultadoImportacion> importarConsultorios(HttpServletRequest request)
+            throws IOException {
+        return resultado(importacionService.importarConsultorios(request.getInputStream()));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> csv(String nombre,
+            Function<OutputStream, Long> exportacion) {
+        StreamingResponseBody cuerpo = exportacion::apply;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TEXT_CSV))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(nombre + ".csv").build().toString())
+                .body(cuerpo);
+    }
+
+    private static ResponseEntity<ResultadoImportacion> resultado(ResultadoImportacion resultado) {
+        HttpStatus status;
+        if (resultado.completa()) {
+            status = HttpStatus.CREATED;
+        } else if (resultado.importadas() > 0) {
+            status = HttpStatus.MULTI_STATUS;
+        } else {
+            status = HttpStatus.BAD_REQUEST;
+        }
+        return new ResponseEntity<>(resultado, status);
+    }
+}
@@ -0,0 +1,46 @@
+package prueba.tecnica.elias.camacho.app.web.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import prueba.tecnica.elias.camacho.app.domain.entity.Paciente;
+import prueba.tecnica.elias.camacho.app.service.PacientesService;
+
+/**
+ * Controlador REST para consultar la entidad {@link Paciente}. Los pacientes se
+ * registran al agendar su primera cita.
+ * 
+ * @see Paciente
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@RestController
+@RequestMapping("/api/v1/pacientes")
+public class PacientesController {
+
+    private final PacientesService pacientesService;
+
+    public PacientesController(PacientesService pacientesService) {
+        this.pacientesService = pacientesService;
+    }
+
+    /**
+     * Sugiere pacientes mientras se captura su nombre.
+     * 
+     * @param prefijo el inicio del nombre.
+     * @param limite  el número máximo de pacientes.
+     * @return los pacientes cuyo nombre empieza con el prefijo.
+     */
+    @GetMapping
+    public ResponseEntity<List<Paciente>> sugerirPacientes(@RequestParam String prefijo,
+            @RequestParam(defaultValue = "10") int limite) {
+        return new ResponseEntity<>(pacientesService.sugerir(prefijo, limite), HttpStatus.OK);
+    }
+}
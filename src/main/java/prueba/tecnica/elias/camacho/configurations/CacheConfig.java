@@ -0,0 +1,51 @@
+package prueba.tecnica.elias.camacho.configurations;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Habilita la caché en memoria de los catálogos de doctores y consultorios.
+ * El tamaño, la expiración y las estadísticas se configuran con
+ * {@code spring.cache.caffeine.spec} en {@code application.yml}.
+ *
+ * <p>
+ * Dentro de una transacción, los {@code @CachePut} y {@code @CacheEvict} se
+ * aplican hasta que ésta se confirma, y se descartan si se revierte; así otra
+ * petición no vuelve a cargar en la caché el estado anterior mientras la
+ * transacción sigue abierta, ni ve un cambio que nunca se confirmó.
+ *
+ * @see prueba.tecnica.elias.camacho.app.service.DoctoresService
+ * @see prueba.tecnica.elias.camacho.app.service.ConsultoriosService
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String DOCTORES = "doctores";
+    public static final String DOCTORES_LISTA = "doctoresLista";
+    public static final String CONSULTORIOS = "consultorios";
+    public static final String CONSULTORIOS_LISTA = "consultoriosLista";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${spring.cache.caffeine.spec:}") String especificacion,
+            @Value("${spring.cache.cache-names:}") List<String> nombres) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        if (!especificacion.isBlank()) {
+            caffeine.setCacheSpecification(especificacion);
+        }
+        if (!nombres.isEmpty()) {
+            caffeine.setCacheNames(nombres);
+        }
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
@@ -4,11 +4,16 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.server.ResponseStatusException;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import prueba.tecnica.elias.camacho.app.service.reglas.CitaRechazadaException;
+
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -22,4 +27,29 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(response, ex.getStatusCode());
     }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Map<String, Object>> handleConstraintViolationException(ConstraintViolationException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.BAD_REQUEST.value());
+        response.put("message", "La petición no cumple las validaciones.");
+        response.put("violaciones", ex.getConstraintViolations().stream().map(ConstraintViolation::getMessage)
+                .sorted().toList());
+        response.put("path", "/api/v1/citas");
+
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(CitaRechazadaException.class)
+    public ResponseEntity<Map<String, Object>> handleCitaRechazadaException(CitaRechazadaException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.BAD_REQUEST.value());
+        response.put("message", ex.getMessage());
+        response.put("violaciones", ex.getViolaciones());
+        response.put("path", "/api/v1/citas");
+
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package prueba.tecnica.elias.camacho.configurations;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del modo de hilos virtuales, que se activa con
+ * {@code spring.threads.virtual.enabled=true}. Tomcat atiende cada petición y
+ * el ejecutor de tareas asíncronas corre cada tarea en un hilo virtual, por lo
+ * que el número de peticiones simultáneas deja de estar acotado por el pool de
+ * hilos; {@link LimitePeticionesFilter} vuelve a acotarlo para que no se
+ * formen más peticiones de las que el pool de conexiones puede atender.
+ *
+ * @see LimitePeticionesFilter
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class HilosVirtualesConfig {
+
+    @Bean
+    public LimitePeticionesFilter limitePeticionesFilter(
+            @Value("${citas.hilos-virtuales.peticiones-concurrentes:100}") int peticionesConcurrentes,
+            @Value("${citas.hilos-virtuales.espera:2s}") Duration espera) {
+        return new LimitePeticionesFilter(peticionesConcurrentes, espera);
+    }
+}
@@ -0,0 +1,58 @@
+package prueba.tecnica.elias.camacho.configurations;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro para que un cliente lea sus propias escrituras aunque la réplica aún
+ * no las tenga. Cada petición que modifica datos deja una cookie de vida
+ * corta; mientras el cliente la envíe, o envíe el encabezado
+ * {@value #LEER_PRIMARIA}, sus lecturas van a la base de datos primaria.
+ *
+ * @see RutaDataSource
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public class LecturaPropiaFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "citas-escritura";
+
+    public static final String LEER_PRIMARIA = "X-Leer-Primaria";
+
+    private final Duration ventana;
+
+    public LecturaPropiaFilter(Duration ventana) {
+        this.ventana = ventana;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String metodo = request.getMethod();
+        boolean escritura = !HttpMethod.GET.matches(metodo) && !HttpMethod.HEAD.matches(metodo)
+                && !HttpMethod.OPTIONS.matches(metodo);
+        if (escritura) {
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, "1").path("/")
+                    .maxAge(ventana).httpOnly(true).sameSite("Lax").build().toString());
+        }
+        RutaDataSource.leerDePrimaria(escritura || WebUtils.getCookie(request, COOKIE) != null
+                || Boolean.parseBoolean(request.getHeader(LEER_PRIMARIA)));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RutaDataSource.leerDePrimaria(false);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package prueba.tecnica.elias.camacho.configurations;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro que limita las peticiones que se atienden al mismo tiempo. Las que
+ * exceden el límite esperan un tiempo acotado y, si no obtienen turno, se
+ * rechazan con 503 en lugar de acumularse frente al pool de conexiones hasta
+ * agotar su tiempo de espera.
+ *
+ * @see HilosVirtualesConfig
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public class LimitePeticionesFilter extends OncePerRequestFilter {
+
+    private final Semaphore turnos;
+
+    private final long espera;
+
+    public LimitePeticionesFilter(int peticionesConcurrentes, Duration espera) {
+        this.turnos = new Semaphore(peticionesConcurrentes, true);
+        this.espera = espera.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean turno;
+        try {
+            turno = turnos.tryAcquire(espera, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            turno = false;
+        }
+        if (!turno) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "El servicio está saturado.");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            turnos.release();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package prueba.tecnica.elias.camacho.configurations;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Separa las lecturas de las escrituras cuando se configura una réplica con
+ * {@code citas.replica.url}. La primaria se configura con
+ * {@code spring.datasource} y la réplica hereda el usuario, la contraseña y el
+ * driver salvo que se indiquen en {@code citas.replica}; el pool de cada una se
+ * ajusta con {@code spring.datasource.hikari} y {@code citas.replica.hikari}.
+ *
+ * @see RutaDataSource
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@Configuration
+@ConditionalOnProperty("citas.replica.url")
+public class ReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primariaDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("citas.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+            @Value("${citas.replica.url}") String url,
+            @Value("${citas.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${citas.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                .url(url).username(username).password(password).build();
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public RutaDataSource rutaDataSource(@Qualifier("primariaDataSource") DataSource primaria,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${citas.replica.retraso-maximo:5s}") Duration retrasoMaximo) {
+        return new RutaDataSource(primaria, replica, retrasoMaximo);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSourceRuteado(RutaDataSource rutaDataSource) {
+        return new LazyConnectionDataSourceProxy(rutaDataSource);
+    }
+
+    @Bean
+    public LecturaPropiaFilter lecturaPropiaFilter(
+            @Value("${citas.replica.lectura-propia:10s}") Duration ventana) {
+        return new LecturaPropiaFilter(ventana);
+    }
+}
@@ -0,0 +1,107 @@
+package prueba.tecnica.elias.camacho.configurations;
+
+import java.time.Duration;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link DataSource} que envía las transacciones de sólo lectura a la réplica
+ * y todo lo demás a la base de datos primaria. Las lecturas regresan a la
+ * primaria mientras la réplica no responde o su retraso supera el máximo
+ * tolerado, y también cuando la petición actual pide leer sus propias
+ * escrituras.
+ *
+ * <p>
+ * Debe envolverse en un
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * para que la conexión se elija cuando la transacción ya está marcada como de
+ * sólo lectura.
+ *
+ * @see ReplicaConfig
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public final class RutaDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(RutaDataSource.class);
+
+    /**
+     * Retraso de la réplica en milisegundos; es cero si no está en
+     * recuperación o si ya aplicó todo lo que recibió.
+     */
+    private static final String CONSULTA_RETRASO = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private static final ThreadLocal<Boolean> LECTURA_PROPIA = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Destinos de las conexiones.
+     */
+    public enum Destino {
+        PRIMARIA, REPLICA
+    }
+
+    private final JdbcTemplate replica;
+
+    private final long retrasoMaximo;
+
+    private volatile boolean replicaDisponible;
+
+    public RutaDataSource(DataSource primaria, DataSource replica, Duration retrasoMaximo) {
+        setTargetDataSources(Map.of(Destino.PRIMARIA, primaria, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primaria);
+        this.replica = new JdbcTemplate(replica);
+        this.retrasoMaximo = retrasoMaximo.toMillis();
+    }
+
+    /**
+     * Indica si las lecturas del hilo actual deben ir a la primaria.
+     *
+     * @param valor {@code true} para leer de la primaria.
+     */
+    public static void leerDePrimaria(boolean valor) {
+        if (valor) {
+            LECTURA_PROPIA.set(true);
+        } else {
+            LECTURA_PROPIA.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaDisponible && !LECTURA_PROPIA.get()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Destino.REPLICA;
+        }
+        return Destino.PRIMARIA;
+    }
+
+    /**
+     * Mide el retraso de la réplica y decide si puede atender lecturas.
+     */
+    @Scheduled(fixedDelay = 5000)
+    public void verificarReplica() {
+        boolean disponible;
+        try {
+            Number retraso = replica.queryForObject(CONSULTA_RETRASO, Number.class);
+            disponible = retraso != null && retraso.longValue() <= retrasoMaximo;
+        } catch (RuntimeException e) {
+            disponible = false;
+        }
+        if (disponible != replicaDisponible) {
+            log.info(disponible ? "La réplica vuelve a atender lecturas"
+                    : "La réplica no responde o va retrasada; las lecturas van a la primaria");
+            replicaDisponible = disponible;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+-- La regla del paciente ya no consulta la base de datos por paciente: se
+-- revisa en OcupacionCitas, y las demás búsquedas por paciente se acotan por
+-- horario con idx_cita_horario_id. El índice sólo encarecía cada alta.
+DROP INDEX IF EXISTS idx_cita_paciente_horario;
@@ -0,0 +1,5 @@
+-- Regla del paciente: ID del paciente y rango de horario, en las citas
+-- vigentes y en las archivadas. Vuelve a crear el índice que quitó V10, ya
+-- que las búsquedas por paciente filtran por paciente_id.
+CREATE INDEX IF NOT EXISTS idx_cita_paciente_horario ON cita (paciente_id, horario_consulta);
+CREATE INDEX IF NOT EXISTS idx_cita_historico_paciente_horario ON cita_historico (paciente_id, horario_consulta);
@@ -0,0 +1,31 @@
+-- Avisa de los cambios de cita una vez por sentencia en lugar de una vez por
+-- registro de la bandeja de salida, para que una importación o un lote no
+-- envíen un aviso por cada cita. Una sentencia de un solo cambio envía el
+-- cambio, como antes; una de varios envía '*', que invalida todas las
+-- versiones de las agendas, ya que el aviso no puede pasar de 8000 bytes.
+CREATE OR REPLACE FUNCTION avisar_cambios_cita()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    cambios BIGINT;
+    cambio TEXT;
+BEGIN
+    SELECT count(*), min(payload) INTO cambios, cambio FROM nuevas;
+    IF cambios = 1 THEN
+        PERFORM pg_notify('cita_cambios', cambio);
+    ELSIF cambios > 1 THEN
+        PERFORM pg_notify('cita_cambios', '*');
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS cita_outbox_aviso ON cita_outbox;
+
+DROP FUNCTION IF EXISTS avisar_cambio_cita();
+
+CREATE TRIGGER cita_outbox_aviso
+AFTER INSERT ON cita_outbox
+REFERENCING NEW TABLE AS nuevas
+FOR EACH STATEMENT EXECUTE FUNCTION avisar_cambios_cita();
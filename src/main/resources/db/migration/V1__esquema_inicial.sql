@@ -0,0 +1,34 @@
+-- Esquema inicial de la aplicación. Usa IF NOT EXISTS para poder aplicarse
+-- también sobre bases creadas antes con ddl-auto: update.
+
+CREATE TABLE IF NOT EXISTS doctor (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre VARCHAR(255) NOT NULL,
+    apellido_paterno VARCHAR(255) NOT NULL,
+    apellido_materno VARCHAR(255) NOT NULL,
+    especialidad VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS consultorio (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    numero INTEGER NOT NULL,
+    piso INTEGER NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS cita (
+    id BIGINT PRIMARY KEY,
+    consultorio_id BIGINT NOT NULL REFERENCES consultorio (id),
+    doctor_id BIGINT NOT NULL REFERENCES doctor (id),
+    horario_consulta TIMESTAMP(6) NOT NULL,
+    nombre_paciente VARCHAR(255) NOT NULL
+);
+
+-- IDs de cita asignados por bloques de 50 para insertar en lotes.
+CREATE SEQUENCE IF NOT EXISTS cita_seq INCREMENT BY 50;
+
+SELECT setval('cita_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM cita));
+
+-- Un doctor y un consultorio no pueden tener dos citas en el mismo horario.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_cita_doctor_horario ON cita (doctor_id, horario_consulta);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_cita_consultorio_horario ON cita (consultorio_id, horario_consulta);
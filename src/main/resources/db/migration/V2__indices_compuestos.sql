@@ -0,0 +1,15 @@
+-- Los índices sobre las llaves primarias son redundantes.
+DROP INDEX IF EXISTS idx_cita_id;
+DROP INDEX IF EXISTS idx_doctor_id;
+DROP INDEX IF EXISTS idx_consultorio_id;
+
+-- Búsquedas por doctor y por consultorio en un rango de horario: las cubren
+-- uk_cita_doctor_horario y uk_cita_consultorio_horario.
+
+-- Regla del paciente: nombre_paciente y rango de horario.
+CREATE INDEX IF NOT EXISTS idx_cita_paciente_horario ON cita (nombre_paciente, horario_consulta);
+
+-- Citas de un día, paginación por (horario_consulta, id) y carga del índice de
+-- ocupación; las columnas incluidas permiten leer sólo del índice.
+CREATE INDEX IF NOT EXISTS idx_cita_horario_id ON cita (horario_consulta, id)
+    INCLUDE (doctor_id, consultorio_id, nombre_paciente);
@@ -0,0 +1,86 @@
+-- Convierte la tabla cita en una tabla particionada por mes de
+-- horario_consulta. Las particiones de meses pasados se mueven a
+-- cita_historico con archivar_particiones_cita.
+
+-- Crea la partición del mes indicado, moviendo las citas de ese mes que hayan
+-- caído en la partición por omisión.
+CREATE OR REPLACE FUNCTION crear_particion_cita(mes DATE) RETURNS VOID AS $$
+DECLARE
+    inicio DATE := date_trunc('month', mes)::DATE;
+    fin DATE := (date_trunc('month', mes) + INTERVAL '1 month')::DATE;
+    nombre TEXT := 'cita_p' || to_char(inicio, 'YYYY_MM');
+BEGIN
+    IF to_regclass(nombre) IS NOT NULL THEN
+        RETURN;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE cita INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', nombre);
+    EXECUTE format('WITH movidas AS (DELETE FROM cita_default WHERE horario_consulta >= %L '
+            || 'AND horario_consulta < %L RETURNING *) INSERT INTO %I SELECT * FROM movidas', inicio, fin, nombre);
+    EXECUTE format('ALTER TABLE cita ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', nombre, inicio, fin);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Separa de cita las particiones de los meses anteriores a la fecha indicada y
+-- las adjunta a cita_historico. Regresa el número de particiones archivadas.
+CREATE OR REPLACE FUNCTION archivar_particiones_cita(antes_de DATE) RETURNS INTEGER AS $$
+DECLARE
+    particion RECORD;
+    inicio DATE;
+    total INTEGER := 0;
+BEGIN
+    FOR particion IN
+        SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'cita'::REGCLASS AND c.relname ~ '^cita_p[0-9]{4}_[0-9]{2}$'
+        ORDER BY c.relname
+    LOOP
+        inicio := to_date(substr(particion.relname, 7), 'YYYY_MM');
+        IF inicio + INTERVAL '1 month' <= antes_de THEN
+            EXECUTE format('ALTER TABLE cita DETACH PARTITION %I', particion.relname);
+            EXECUTE format('ALTER TABLE cita_historico ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                    particion.relname, inicio, (inicio + INTERVAL '1 month')::DATE);
+            total := total + 1;
+        END IF;
+    END LOOP;
+    RETURN total;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE cita RENAME TO cita_sin_particiones;
+
+CREATE TABLE cita (
+    id BIGINT NOT NULL,
+    consultorio_id BIGINT NOT NULL,
+    doctor_id BIGINT NOT NULL,
+    horario_consulta TIMESTAMP(6) NOT NULL,
+    nombre_paciente VARCHAR(255) NOT NULL
+) PARTITION BY RANGE (horario_consulta);
+
+CREATE TABLE cita_default PARTITION OF cita DEFAULT;
+
+CREATE TABLE cita_historico (LIKE cita INCLUDING DEFAULTS) PARTITION BY RANGE (horario_consulta);
+
+-- Particiones para los meses con citas y para los próximos 3 meses.
+SELECT crear_particion_cita(mes::DATE)
+FROM (
+    SELECT DISTINCT date_trunc('month', horario_consulta) AS mes FROM cita_sin_particiones
+    UNION
+    SELECT generate_series(date_trunc('month', LOCALTIMESTAMP), date_trunc('month', LOCALTIMESTAMP) + INTERVAL '3 months',
+            INTERVAL '1 month')
+) meses;
+
+INSERT INTO cita (id, consultorio_id, doctor_id, horario_consulta, nombre_paciente)
+SELECT id, consultorio_id, doctor_id, horario_consulta, nombre_paciente FROM cita_sin_particiones;
+
+DROP TABLE cita_sin_particiones;
+
+-- En una tabla particionada toda llave única debe incluir horario_consulta.
+ALTER TABLE cita ADD CONSTRAINT cita_pkey PRIMARY KEY (id, horario_consulta);
+ALTER TABLE cita ADD CONSTRAINT cita_consultorio_id_fkey FOREIGN KEY (consultorio_id) REFERENCES consultorio (id);
+ALTER TABLE cita ADD CONSTRAINT cita_doctor_id_fkey FOREIGN KEY (doctor_id) REFERENCES doctor (id);
+
+CREATE UNIQUE INDEX uk_cita_doctor_horario ON cita (doctor_id, horario_consulta);
+CREATE UNIQUE INDEX uk_cita_consultorio_horario ON cita (consultorio_id, horario_consulta);
+CREATE INDEX idx_cita_paciente_horario ON cita (nombre_paciente, horario_consulta);
+CREATE INDEX idx_cita_horario_id ON cita (horario_consulta, id) INCLUDE (doctor_id, consultorio_id, nombre_paciente);
+
+CREATE INDEX idx_cita_historico_horario ON cita_historico (horario_consulta, id);
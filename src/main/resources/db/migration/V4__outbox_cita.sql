@@ -0,0 +1,19 @@
+-- Bandeja de salida de los cambios de citas: cada alta, edición, cancelación
+-- o eliminación inserta un registro en la misma transacción, y el relevo lo
+-- publica a los sistemas externos y lo marca como publicado.
+CREATE SEQUENCE IF NOT EXISTS cita_outbox_seq;
+
+CREATE TABLE IF NOT EXISTS cita_outbox (
+    id BIGINT PRIMARY KEY,
+    cita_id BIGINT NOT NULL,
+    tipo VARCHAR(20) NOT NULL,
+    payload TEXT NOT NULL,
+    creado TIMESTAMP NOT NULL,
+    publicado TIMESTAMP
+);
+
+-- Sólo los pendientes, en el orden en que se publican.
+CREATE INDEX IF NOT EXISTS idx_cita_outbox_pendientes ON cita_outbox (id) WHERE publicado IS NULL;
+
+-- Depuración de los ya publicados.
+CREATE INDEX IF NOT EXISTS idx_cita_outbox_publicado ON cita_outbox (publicado) WHERE publicado IS NOT NULL;
@@ -0,0 +1,47 @@
+-- Pacientes identificados por su nombre normalizado: sin acentos, sin
+-- espacios repetidos ni en los extremos y en minúsculas, igual que
+-- OcupacionCitas.normalizarPaciente.
+CREATE TABLE paciente (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre VARCHAR(255) NOT NULL,
+    nombre_normalizado VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_paciente_nombre_normalizado UNIQUE (nombre_normalizado)
+);
+
+-- Búsqueda por prefijo del nombre normalizado sin depender de la collation.
+CREATE INDEX idx_paciente_prefijo ON paciente (nombre_normalizado varchar_pattern_ops);
+
+CREATE FUNCTION normalizar_paciente(nombre TEXT) RETURNS TEXT AS $$
+    SELECT lower(regexp_replace(btrim(translate(nombre,
+            'ÁÀÂÄÃÅáàâäãåÉÈÊËéèêëÍÌÎÏíìîïÓÒÔÖÕóòôöõÚÙÛÜúùûüÑñÇçÝýÿ',
+            'AAAAAAaaaaaaEEEEeeeeIIIIiiiiOOOOOoooooUUUUuuuuNnCcYyy')), '\s+', ' ', 'g'));
+$$ LANGUAGE sql IMMUTABLE;
+
+-- Un paciente por nombre normalizado, con el nombre de su cita más reciente.
+INSERT INTO paciente (nombre, nombre_normalizado)
+SELECT DISTINCT ON (clave) btrim(nombre_paciente), clave
+FROM (
+    SELECT nombre_paciente, horario_consulta, normalizar_paciente(nombre_paciente) AS clave FROM cita
+    UNION ALL
+    SELECT nombre_paciente, horario_consulta, normalizar_paciente(nombre_paciente) FROM cita_historico
+) citas
+ORDER BY clave, horario_consulta DESC;
+
+-- Las particiones archivadas deben tener las mismas columnas que cita para
+-- poder pasar a cita_historico.
+ALTER TABLE cita ADD COLUMN paciente_id BIGINT;
+ALTER TABLE cita_historico ADD COLUMN paciente_id BIGINT;
+
+UPDATE cita SET paciente_id = paciente.id
+FROM paciente WHERE paciente.nombre_normalizado = normalizar_paciente(cita.nombre_paciente);
+UPDATE cita_historico SET paciente_id = paciente.id
+FROM paciente WHERE paciente.nombre_normalizado = normalizar_paciente(cita_historico.nombre_paciente);
+
+ALTER TABLE cita ALTER COLUMN paciente_id SET NOT NULL;
+ALTER TABLE cita ADD CONSTRAINT cita_paciente_id_fkey FOREIGN KEY (paciente_id) REFERENCES paciente (id);
+
+-- Regla del paciente: ID del paciente y rango de horario.
+DROP INDEX idx_cita_paciente_horario;
+CREATE INDEX idx_cita_paciente_horario ON cita (paciente_id, horario_consulta);
+
+DROP FUNCTION normalizar_paciente(TEXT);
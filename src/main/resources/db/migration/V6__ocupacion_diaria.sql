@@ -0,0 +1,19 @@
+-- Número de citas por día, doctor y consultorio. Las altas, ediciones y
+-- cancelaciones la actualizan en la misma transacción, y las estadísticas de
+-- ocupación se responden desde aquí sin recorrer la tabla cita. Las citas
+-- archivadas en cita_historico se conservan.
+CREATE TABLE IF NOT EXISTS cita_ocupacion_diaria (
+    dia DATE NOT NULL,
+    doctor_id BIGINT NOT NULL,
+    consultorio_id BIGINT NOT NULL,
+    citas INTEGER NOT NULL,
+    PRIMARY KEY (dia, doctor_id, consultorio_id)
+);
+
+INSERT INTO cita_ocupacion_diaria (dia, doctor_id, consultorio_id, citas)
+SELECT horario_consulta::DATE, doctor_id, consultorio_id, COUNT(*)
+FROM (SELECT horario_consulta, doctor_id, consultorio_id FROM cita
+      UNION ALL
+      SELECT horario_consulta, doctor_id, consultorio_id FROM cita_historico) citas
+GROUP BY horario_consulta::DATE, doctor_id, consultorio_id
+ON CONFLICT DO NOTHING;
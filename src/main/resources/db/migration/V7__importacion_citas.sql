@@ -0,0 +1,8 @@
+-- La importación masiva de citas calcula la clave del paciente en la base de
+-- datos, igual que OcupacionCitas.normalizarPaciente: sin acentos, sin
+-- espacios repetidos ni en los extremos y en minúsculas.
+CREATE OR REPLACE FUNCTION normalizar_paciente(nombre TEXT) RETURNS TEXT AS $$
+    SELECT lower(regexp_replace(btrim(translate(nombre,
+            'ÁÀÂÄÃÅáàâäãåÉÈÊËéèêëÍÌÎÏíìîïÓÒÔÖÕóòôöõÚÙÛÜúùûüÑñÇçÝýÿ',
+            'AAAAAAaaaaaaEEEEeeeeIIIIiiiiOOOOOoooooUUUUuuuuNnCcYyy')), '\s+', ' ', 'g'));
+$$ LANGUAGE sql IMMUTABLE;
@@ -0,0 +1,21 @@
+-- Candados de las franjas de BloqueoCitas compartidos entre instancias. Cada
+-- franja es un candado consultivo (clase, franja) que se libera al terminar la
+-- transacción. Se toman en orden ascendente, igual que los candados locales, y
+-- la espera máxima sólo aplica dentro de la función.
+CREATE OR REPLACE FUNCTION bloquear_franjas_cita(clase INTEGER, franjas INTEGER[], espera_ms INTEGER)
+RETURNS INTEGER
+LANGUAGE plpgsql
+SET lock_timeout = 0
+AS $$
+DECLARE
+    franja INTEGER;
+    tomadas INTEGER := 0;
+BEGIN
+    PERFORM set_config('lock_timeout', espera_ms || 'ms', true);
+    FOR franja IN SELECT DISTINCT f FROM unnest(franjas) AS f ORDER BY f LOOP
+        PERFORM pg_advisory_xact_lock(clase, franja);
+        tomadas := tomadas + 1;
+    END LOOP;
+    RETURN tomadas;
+END;
+$$;
@@ -0,0 +1,18 @@
+-- Avisa a todas las instancias de cada cambio de cita registrado en la bandeja
+-- de salida. PostgreSQL entrega los avisos al confirmarse la transacción y los
+-- descarta si se revierte, igual que el cambio.
+CREATE OR REPLACE FUNCTION avisar_cambio_cita()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    PERFORM pg_notify('cita_cambios', NEW.payload);
+    RETURN NULL;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS cita_outbox_aviso ON cita_outbox;
+
+CREATE TRIGGER cita_outbox_aviso
+AFTER INSERT ON cita_outbox
+FOR EACH ROW EXECUTE FUNCTION avisar_cambio_cita();
@@ -0,0 +1,95 @@
+package prueba.tecnica.elias.camacho;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import db.migration.V11__clave_paciente;
+
+/**
+ * Migración de las claves de pacientes que calculó la función
+ * {@code normalizar_paciente} a las de
+ * {@link prueba.tecnica.elias.camacho.app.service.OcupacionCitas#normalizarPaciente(String)}.
+ *
+ * @see V11__clave_paciente
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+class ClavePacienteTest extends PruebaIntegracion {
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void laBaseDeDatosNoDefineOtraClaveDePaciente() {
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regprocedure('normalizar_paciente(text)') IS NULL",
+                Boolean.class)).isTrue();
+    }
+
+    @Test
+    void losPacientesConLaMismaClaveSeUnen() {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Dermatología");
+        long consultorio = consultorio(4);
+        // Claves que calculaba normalizar_paciente: sin quitar la Š ni el tabulador inicial.
+        long conAcento = paciente("Šárka Novák " + dia, "šarka novak " + dia);
+        long sinAcento = paciente("Sarka  Novak " + dia, "sarka novak " + dia);
+        long conTabulador = paciente("\tEva Rosa " + dia, " eva rosa " + dia);
+        long primera = cita(doctor, consultorio, dia.atTime(9, 0), "Šárka Novák " + dia, conAcento);
+        long segunda = cita(doctor, consultorio, dia.atTime(11, 0), "Sarka  Novak " + dia, sinAcento);
+        long tercera = cita(doctor, consultorio, dia.atTime(13, 0), "\tEva Rosa " + dia, conTabulador);
+
+        transactionTemplate.executeWithoutResult(estado -> jdbcTemplate.execute((ConnectionCallback<Void>) conexion -> {
+            new V11__clave_paciente().migrate(contexto(conexion));
+            return null;
+        }));
+
+        assertThat(pacienteDe(primera)).isEqualTo(Math.min(conAcento, sinAcento));
+        assertThat(pacienteDe(segunda)).isEqualTo(Math.min(conAcento, sinAcento));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM paciente WHERE id IN (?, ?)", Long.class,
+                conAcento, sinAcento)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT nombre_normalizado FROM paciente WHERE id = ?",
+                String.class, pacienteDe(tercera))).isEqualTo("eva rosa " + dia);
+    }
+
+    private long paciente(String nombre, String clave) {
+        return jdbcTemplate.queryForObject("INSERT INTO paciente (nombre, nombre_normalizado) VALUES (?, ?) "
+                + "RETURNING id", Long.class, nombre, clave);
+    }
+
+    private long cita(long doctorId, long consultorioId, LocalDateTime horario, String nombre, long pacienteId) {
+        return jdbcTemplate.queryForObject("INSERT INTO cita (id, doctor_id, consultorio_id, horario_consulta, "
+                + "nombre_paciente, paciente_id) VALUES (nextval('cita_seq'), ?, ?, ?, ?, ?) RETURNING id",
+                Long.class, doctorId, consultorioId, Timestamp.valueOf(horario), nombre, pacienteId);
+    }
+
+    private long pacienteDe(long citaId) {
+        return jdbcTemplate.queryForObject("SELECT paciente_id FROM cita WHERE id = ?", Long.class, citaId);
+    }
+
+    private static Context contexto(Connection conexion) {
+        return new Context() {
+
+            @Override
+            public Configuration getConfiguration() {
+                return null;
+            }
+
+            @Override
+            public Connection getConnection() {
+                return conexion;
+            }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package prueba.tecnica.elias.camacho;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * Guarda las sentencias que ejecuta el hilo actual mientras se captura, con
+ * sus parámetros, para obtener después su plan de ejecución en PostgreSQL.
+ *
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+public class ConsultasEjecutadas implements QueryExecutionListener {
+
+    private final ThreadLocal<List<QueryInfo>> capturadas = new ThreadLocal<>();
+
+    /**
+     * Ejecuta una operación y guarda las sentencias que ejecutó.
+     *
+     * @param operacion la operación.
+     * @return las sentencias, en orden.
+     */
+    public List<QueryInfo> capturar(Runnable operacion) {
+        capturadas.set(new ArrayList<>());
+        try {
+            operacion.run();
+            return capturadas.get();
+        } finally {
+            capturadas.remove();
+        }
+    }
+
+    /**
+     * Obtiene el plan de una sentencia con sus mismos parámetros, sin permitir
+     * recorridos secuenciales donde exista un índice utilizable.
+     *
+     * @param jdbcTemplate el acceso a la base de datos.
+     * @param consulta     la sentencia capturada.
+     * @return el plan, una línea por nodo.
+     */
+    public static String explicar(JdbcTemplate jdbcTemplate, QueryInfo consulta) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) conexion -> {
+            conexion.createStatement().execute("SET enable_seqscan = off");
+            try (PreparedStatement statement = conexion.prepareStatement("EXPLAIN " + consulta.getQuery())) {
+                if (!consulta.getParametersList().isEmpty()) {
+                    for (ParameterSetOperation parametro : consulta.getParametersList().get(0)) {
+                        parametro.getMethod().invoke(statement, parametro.getArgs());
+                    }
+                }
+                StringBuilder plan = new StringBuilder();
+                try (var filas = statement.executeQuery()) {
+                    while (filas.next()) {
+                        plan.append(filas.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("No se pudo repetir la sentencia " + consulta.getQuery(), e);
+            } finally {
+                conexion.createStatement().execute("RESET enable_seqscan");
+            }
+        });
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<QueryInfo> lista = capturadas.get();
+        if (lista != null) {
+            lista.addAll(queryInfoList);
+        }
+    }
+}
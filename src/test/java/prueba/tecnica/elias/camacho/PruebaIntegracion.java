@@ -0,0 +1,165 @@
+package prueba.tecnica.elias.camacho;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import net.ttddyy.dsproxy.listener.QueryCountStrategy;
+import net.ttddyy.dsproxy.listener.ThreadQueryCountHolder;
+import prueba.tecnica.elias.camacho.app.service.OcupacionCitas;
+
+/**
+ * Base de las pruebas de integración: levanta la aplicación completa sobre un
+ * PostgreSQL embebido, con las migraciones de Flyway, particiones y funciones
+ * reales, y con las consultas reactivas habilitadas. La base de datos se
+ * comparte entre todas las pruebas, por lo que cada prueba crea sus propios
+ * doctores y consultorios y usa días distintos. El relevo de la bandeja de
+ * salida está apagado para que las pruebas del outbox lo ejecuten a su ritmo.
+ *
+ * <p>
+ * PostgreSQL no se ejecuta como root, por lo que las pruebas se deben correr
+ * con un usuario sin privilegios.
+ *
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(PruebaIntegracion.Configuracion.class)
+public abstract class PruebaIntegracion {
+
+    private static final EmbeddedPostgres POSTGRES = iniciar();
+
+    private static final AtomicInteger DIAS = new AtomicInteger();
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void propiedades(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", PruebaIntegracion::url);
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("citas.archivo.habilitado", () -> "false");
+        registry.add("citas.outbox.destino", () -> "local");
+        registry.add("citas.outbox.habilitado", () -> "false");
+        registry.add("decorator.datasource.datasource-proxy.count-query", () -> "true");
+        registry.add("citas.reactivo.url", () -> "r2dbc:postgresql://localhost:" + POSTGRES.getPort() + "/postgres");
+    }
+
+    /**
+     * URL JDBC de la base de datos de las pruebas.
+     *
+     * @return la URL.
+     */
+    protected static String url() {
+        return POSTGRES.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true";
+    }
+
+    /**
+     * Argumentos para levantar otra instancia de la aplicación sobre la misma
+     * base de datos.
+     *
+     * @return los argumentos de línea de comandos.
+     */
+    protected static String[] argumentosInstancia() {
+        return List.of("--server.port=0", "--spring.main.banner-mode=off", "--spring.datasource.url=" + url(),
+                "--spring.datasource.username=postgres", "--spring.datasource.password=",
+                "--citas.archivo.habilitado=false", "--citas.outbox.destino=local",
+                "--citas.outbox.habilitado=false").toArray(String[]::new);
+    }
+
+    /**
+     * Un día futuro que ninguna otra prueba usa, para no depender del orden de
+     * las pruebas.
+     *
+     * @return un día hábil a partir de 30 días después de hoy.
+     */
+    protected static LocalDate diaLibre() {
+        return LocalDate.now().plusDays(30 + 3L * DIAS.incrementAndGet());
+    }
+
+    /**
+     * Registra un doctor nuevo.
+     *
+     * @param especialidad la especialidad del doctor.
+     * @return su ID.
+     */
+    protected long doctor(String especialidad) {
+        return jdbcTemplate.queryForObject("INSERT INTO doctor (nombre, apellido_paterno, apellido_materno, "
+                + "especialidad) VALUES ('Doctor', 'Paterno', 'Materno', ?) RETURNING id", Long.class,
+                especialidad);
+    }
+
+    /**
+     * Registra un consultorio nuevo.
+     *
+     * @param piso el piso del consultorio.
+     * @return su ID.
+     */
+    protected long consultorio(int piso) {
+        return jdbcTemplate.queryForObject("INSERT INTO consultorio (numero, piso) "
+                + "VALUES (100 + (SELECT count(*) FROM consultorio), ?) RETURNING id", Long.class, piso);
+    }
+
+    /**
+     * Registra una cita directamente en la base de datos, sin pasar por las
+     * reglas de alta ni por el índice de ocupación.
+     *
+     * @param doctorId      el ID del doctor.
+     * @param consultorioId el ID del consultorio.
+     * @param horario       el horario de la cita.
+     * @param paciente      el nombre del paciente.
+     * @return el ID de la cita.
+     */
+    protected long insertarCita(long doctorId, long consultorioId, LocalDateTime horario, String paciente) {
+        jdbcTemplate.update("INSERT INTO paciente (nombre, nombre_normalizado) VALUES (?, ?) "
+                + "ON CONFLICT (nombre_normalizado) DO NOTHING", paciente, OcupacionCitas.normalizarPaciente(paciente));
+        return jdbcTemplate.queryForObject("INSERT INTO cita (id, doctor_id, consultorio_id, horario_consulta, "
+                + "nombre_paciente, paciente_id) SELECT nextval('cita_seq'), ?, ?, ?, ?, id FROM paciente "
+                + "WHERE nombre_normalizado = ? RETURNING id", Long.class, doctorId, consultorioId,
+                Timestamp.valueOf(horario), paciente, OcupacionCitas.normalizarPaciente(paciente));
+    }
+
+    /**
+     * Cuenta las sentencias de cada hilo por separado en
+     * {@link net.ttddyy.dsproxy.QueryCountHolder}, sin mezclar las de las
+     * tareas en segundo plano, y permite capturarlas con
+     * {@link ConsultasEjecutadas}.
+     */
+    @TestConfiguration
+    static class Configuracion {
+
+        @Bean
+        QueryCountStrategy queryCountStrategy() {
+            return new ThreadQueryCountHolder();
+        }
+
+        @Bean
+        ConsultasEjecutadas consultasEjecutadas() {
+            return new ConsultasEjecutadas();
+        }
+    }
+
+    private static EmbeddedPostgres iniciar() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo iniciar PostgreSQL", e);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package prueba.tecnica.elias.camacho.app.domain.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+
+import net.ttddyy.dsproxy.QueryInfo;
+import prueba.tecnica.elias.camacho.ConsultasEjecutadas;
+import prueba.tecnica.elias.camacho.PruebaIntegracion;
+
+/**
+ * Planes de las consultas frecuentes sobre la tabla particionada de citas:
+ * cada una debe poder resolverse con un índice en todas las particiones.
+ *
+ * @see CitasRepository
+ * @see CitasJdbcRepository
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+class IndicesCitaTest extends PruebaIntegracion {
+
+    @Autowired
+    private CitasRepository citasRepository;
+
+    @Autowired
+    private CitasJdbcRepository citasJdbcRepository;
+
+    @Autowired
+    private ConsultasEjecutadas consultasEjecutadas;
+
+    @Test
+    void lasConsultasFrecuentesUsanIndices() {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Geriatría");
+        long consultorio = consultorio(7);
+        long id = insertarCita(doctor, consultorio, dia.atTime(9, 0), "Paciente Índices");
+        llenarDia(dia);
+        LocalDateTime inicio = dia.atStartOfDay();
+        LocalDateTime fin = dia.plusDays(1).atStartOfDay();
+
+        assertUsaIndices(() -> citasRepository.findById(id), "\\(id = '" + id + "'::bigint\\)");
+        assertUsaIndices(() -> citasRepository.findPagina(inicio, 0L, Limit.of(100)),
+                "\\(ROW\\(horario_consulta, id\\) > ");
+        assertUsaIndices(() -> citasRepository.findPaginaPorDoctor(doctor, inicio, 0L, Limit.of(100)),
+                "\\(\\(doctor_id = .*\\) AND \\(horario_consulta >= ");
+        assertUsaIndices(() -> citasRepository.findPaginaPorConsultorio(consultorio, inicio, 0L, Limit.of(100)),
+                "\\(\\(consultorio_id = .*\\) AND \\(horario_consulta >= ");
+        assertUsaIndices(() -> citasRepository.findPaginaPorDoctorYConsultorio(doctor, consultorio, inicio, 0L,
+                Limit.of(100)), "\\(\\((doctor|consultorio)_id = .*\\) AND \\(horario_consulta >= ");
+        assertUsaIndices(() -> citasRepository.findByHorarioConsultaBetween(inicio, fin),
+                "\\(\\(horario_consulta >= .*\\) AND \\(horario_consulta <= ");
+        assertUsaIndices(() -> citasRepository.findByDoctorIdAndHorarioConsultaBetween(doctor, inicio, fin),
+                "\\(\\(doctor_id = .*\\) AND \\(horario_consulta >= ");
+        assertUsaIndices(() -> citasRepository.findByConsultorioIdAndHorarioConsultaBetween(consultorio, inicio,
+                fin), "\\(\\(consultorio_id = .*\\) AND \\(horario_consulta >= ");
+        assertUsaIndices(() -> citasJdbcRepository.buscarOcupacion(List.of(doctor), List.of(consultorio),
+                List.of("paciente indices"), inicio, fin),
+                "\\(\\(doctor_id = ANY \\(.*\\)\\) AND \\(horario_consulta >= ",
+                "\\(\\(consultorio_id = ANY \\(.*\\)\\) AND \\(horario_consulta >= ",
+                "\\(\\(paciente_id = p\\.id\\) AND \\(horario_consulta >= ");
+    }
+
+    @Test
+    void laOcupacionDelPacienteSeBuscaPorSuIdYHorario() {
+        LocalDate dia = diaLibre();
+        insertarCita(doctor("Geriatría"), consultorio(7), dia.atTime(9, 0), "Paciente Índice Propio");
+        llenarDia(dia);
+
+        List<QueryInfo> sentencias = consultasEjecutadas.capturar(() -> citasJdbcRepository.buscarOcupacion(
+                List.of(), List.of(), List.of("paciente indice propio"), dia.atStartOfDay(),
+                dia.plusDays(1).atStartOfDay()));
+
+        assertThat(ConsultasEjecutadas.explicar(jdbcTemplate, sentencias.get(0)))
+                .containsPattern("Index Cond: \\(\\(paciente_id = p\\.id\\) AND \\(horario_consulta >=");
+    }
+
+    @Test
+    void noQuedanIndicesDeConsultasEliminadas() {
+        List<String> indices = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE tablename = 'cita'", String.class);
+
+        assertThat(indices).containsExactlyInAnyOrder("cita_pkey", "uk_cita_doctor_horario",
+                "uk_cita_consultorio_horario", "idx_cita_horario_id", "idx_cita_paciente_horario");
+    }
+
+    /**
+     * Llena el día con una cita por minuto de otro doctor, consultorio y
+     * paciente, para que el rango de horario no baste para encontrar las citas
+     * de la prueba y el planificador prefiera el índice de cada filtro.
+     */
+    private void llenarDia(LocalDate dia) {
+        long relleno = insertarCita(doctor("Geriatría"), consultorio(7), dia.atTime(0, 0),
+                "Paciente Relleno " + dia);
+        jdbcTemplate.update("INSERT INTO cita (id, doctor_id, consultorio_id, horario_consulta, nombre_paciente, "
+                + "paciente_id) SELECT nextval('cita_seq'), doctor_id, consultorio_id, horario_consulta + minuto "
+                + "* INTERVAL '1 minute', nombre_paciente, paciente_id FROM cita, generate_series(1, 1439) minuto "
+                + "WHERE id = ?", relleno);
+        // Estadísticas de todas las tablas, porque las de los catálogos que dejaron
+        // las otras pruebas también deciden el orden de las uniones.
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    /**
+     * Verifica que ninguna sentencia recorra secuencialmente las citas y que
+     * el plan filtre con un índice por cada condición esperada.
+     *
+     * @param consulta    la operación que ejecuta las sentencias.
+     * @param condiciones expresiones que debe cumplir algún {@code Index Cond}.
+     */
+    private void assertUsaIndices(Runnable consulta, String... condiciones) {
+        List<QueryInfo> sentencias = consultasEjecutadas.capturar(consulta);
+        assertThat(sentencias).isNotEmpty();
+        StringBuilder planes = new StringBuilder();
+        for (QueryInfo sentencia : sentencias) {
+            String plan = ConsultasEjecutadas.explicar(jdbcTemplate, sentencia);
+            assertThat(plan).as(sentencia.getQuery()).doesNotContain("Seq Scan on cita");
+            planes.append(plan);
+        }
+        for (String condicion : condiciones) {
+            assertThat(planes.toString()).as(sentencias.get(0).getQuery()).containsPattern("Index Cond: " + condicion);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import prueba.tecnica.elias.camacho.PruebaIntegracion;
+import prueba.tecnica.elias.camacho.app.domain.dto.RechazoImportacion;
+import prueba.tecnica.elias.camacho.app.domain.dto.ResultadoImportacion;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
+import prueba.tecnica.elias.camacho.app.domain.repository.CitasJdbcRepository;
+import prueba.tecnica.elias.camacho.app.service.reglas.ReglaConsultorio;
+import prueba.tecnica.elias.camacho.app.service.reglas.ReglaPaciente;
+import prueba.tecnica.elias.camacho.app.web.controller.CitasController;
+
+/**
+ * Archivo de las particiones mensuales de citas en {@code cita_historico} y
+ * su consulta por páginas.
+ *
+ * @see ArchivoCitasService
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+class ArchivoCitasServiceTest extends PruebaIntegracion {
+
+    private static final String ENCABEZADO = "id,doctor_id,consultorio_id,horario_consulta,nombre_paciente\n";
+
+    private static final ParameterizedTypeReference<List<CitaSlot>> CITAS = new ParameterizedTypeReference<>() {
+    };
+
+    @Autowired
+    private CitasJdbcRepository jdbcRepository;
+
+    @Autowired
+    private ImportacionService importacionService;
+
+    @Autowired
+    private ReglaConsultorio reglaConsultorio;
+
+    @Autowired
+    private ReglaPaciente reglaPaciente;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void elMesArchivadoSeConsultaPorPaginasYLasReglasLoSiguenViendo() {
+        LocalDate dia = LocalDate.of(2002, 5, 14);
+        long doctor = doctor("Geriatría");
+        long consultorio = consultorio(8);
+        jdbcTemplate.queryForList("SELECT crear_particion_cita(?)", Date.valueOf(dia));
+        long primera = insertarCita(doctor, consultorio, dia.atTime(9, 0), "Archivo Uno");
+        long segunda = insertarCita(doctor, consultorio, dia.atTime(11, 0), "Archivo Dos");
+        long tercera = insertarCita(doctor, consultorio, dia.plusDays(1).atTime(9, 0), "Archivo Tres");
+
+        // El archivo está apagado en las pruebas; se usa una instancia propia.
+        new ArchivoCitasService(jdbcRepository, true, 12).mantenerParticiones();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT i.inhparent::REGCLASS::TEXT FROM pg_inherits i "
+                + "WHERE i.inhrelid = 'cita_p2002_05'::REGCLASS", String.class)).isEqualTo("cita_historico");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cita WHERE doctor_id = ?", Long.class,
+                doctor)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cita_historico WHERE doctor_id = ?",
+                Long.class, doctor)).isEqualTo(3);
+
+        List<Long> ids = new ArrayList<>();
+        List<Integer> paginas = new ArrayList<>();
+        String cursor = null;
+        do {
+            ResponseEntity<List<CitaSlot>> pagina = restTemplate.exchange("/api/v1/citas/historico?desde="
+                    + dia.withDayOfMonth(1) + "&hasta=" + dia.withDayOfMonth(31) + "&doctorId=" + doctor
+                    + "&limite=2" + (cursor != null ? "&cursor=" + cursor : ""), HttpMethod.GET, null, CITAS);
+            assertThat(pagina.getStatusCode()).isEqualTo(HttpStatus.OK);
+            pagina.getBody().stream().map(CitaSlot::id).forEach(ids::add);
+            paginas.add(pagina.getBody().size());
+            cursor = pagina.getHeaders().getFirst(CitasController.CURSOR_SIGUIENTE);
+        } while (cursor != null);
+        assertThat(ids).containsExactly(primera, segunda, tercera);
+        assertThat(paginas).containsExactly(2, 1);
+
+        ResultadoImportacion resultado = importacionService.importarCitas(new ByteArrayInputStream((ENCABEZADO
+                + "," + doctor("Geriatría") + "," + consultorio + "," + dia + " 09:00,Archivo Cuatro\n"
+                + "," + doctor("Geriatría") + "," + consultorio(8) + "," + dia + " 12:00,Archivo Dos\n")
+                .getBytes(StandardCharsets.UTF_8)), false);
+
+        assertThat(resultado.rechazos()).containsExactly(new RechazoImportacion(1, reglaConsultorio.mensaje()),
+                new RechazoImportacion(2, reglaPaciente.mensaje()));
+    }
+}
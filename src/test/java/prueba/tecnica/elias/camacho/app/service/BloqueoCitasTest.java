@@ -0,0 +1,133 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+
+import prueba.tecnica.elias.camacho.Application;
+import prueba.tecnica.elias.camacho.PruebaIntegracion;
+
+/**
+ * Reservas simultáneas en dos instancias de la aplicación sobre la misma base
+ * de datos: las reglas de alta se deben cumplir aunque cada instancia tenga su
+ * propio índice de ocupación y sus propios candados locales.
+ *
+ * @see BloqueoCitas
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+class BloqueoCitasTest extends PruebaIntegracion {
+
+    private static final DateTimeFormatter HORARIO = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static ConfigurableApplicationContext otraInstancia;
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @BeforeAll
+    static void iniciarOtraInstancia() {
+        otraInstancia = new SpringApplicationBuilder(Application.class).run(argumentosInstancia());
+    }
+
+    @AfterAll
+    static void cerrarOtraInstancia() {
+        otraInstancia.close();
+    }
+
+    @Test
+    void unPacienteSoloObtieneUnaDeVariasReservasSimultaneas() throws Exception {
+        LocalDate dia = diaLibre();
+        List<Map<String, Object>> citas = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            citas.add(cita(doctor("Pediatría"), consultorio(1), dia.atTime(10, 0).plusMinutes(i),
+                    "Paciente Concurrente " + dia));
+        }
+
+        List<HttpStatus> respuestas = reservar(citas);
+
+        assertThat(respuestas).filteredOn(HttpStatus.CREATED::equals).hasSize(1);
+        assertThat(respuestas).allMatch(status -> status == HttpStatus.CREATED || status.is4xxClientError());
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM cita WHERE nombre_paciente = ?",
+                Long.class, "Paciente Concurrente " + dia)).isEqualTo(1);
+    }
+
+    @Test
+    void unDoctorNoExcedeElMaximoDiarioConReservasSimultaneas() throws Exception {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Cardiología");
+        List<Map<String, Object>> citas = new ArrayList<>();
+        // Separadas 61 minutos: la regla del doctor incluye el fin de la cita,
+        // por lo que citas a horas exactas seguidas chocarían entre sí.
+        for (int i = 0; i < 12; i++) {
+            citas.add(cita(doctor, consultorio(2), dia.atTime(8, 0).plusMinutes(61L * i),
+                    "Paciente " + i + " " + dia));
+        }
+
+        List<HttpStatus> respuestas = reservar(citas);
+
+        assertThat(respuestas).filteredOn(HttpStatus.CREATED::equals).hasSize(8);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM cita WHERE doctor_id = ?", Long.class,
+                doctor)).isEqualTo(8);
+    }
+
+    /**
+     * Envía todas las reservas a la vez, alternando entre las dos instancias.
+     */
+    private List<HttpStatus> reservar(List<Map<String, Object>> citas) throws Exception {
+        int otroPuerto = ((WebServerApplicationContext) otraInstancia).getWebServer().getPort();
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Callable<HttpStatus>> reservas = new ArrayList<>();
+        for (int i = 0; i < citas.size(); i++) {
+            String url = "http://localhost:" + (i % 2 == 0 ? puerto : otroPuerto) + "/api/v1/citas";
+            Map<String, Object> cita = citas.get(i);
+            reservas.add(() -> {
+                salida.await();
+                return HttpStatus.valueOf(restTemplate.postForEntity(url, cita, Map.class).getStatusCode().value());
+            });
+        }
+        try (ExecutorService hilos = Executors.newFixedThreadPool(citas.size())) {
+            List<Future<HttpStatus>> futuros = new ArrayList<>();
+            for (Callable<HttpStatus> reserva : reservas) {
+                futuros.add(hilos.submit(reserva));
+            }
+            salida.countDown();
+            List<HttpStatus> respuestas = new ArrayList<>();
+            for (Future<HttpStatus> futuro : futuros) {
+                respuestas.add(futuro.get());
+            }
+            return respuestas;
+        }
+    }
+
+    private static Map<String, Object> cita(long doctorId, long consultorioId, LocalDateTime horario,
+            String paciente) {
+        return Map.of("doctor", Map.of("id", doctorId), "consultorio", Map.of("id", consultorioId),
+                "horarioConsulta", horario.format(HORARIO), "nombrePaciente", paciente);
+    }
+}
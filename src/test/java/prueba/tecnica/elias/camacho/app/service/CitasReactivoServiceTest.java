@@ -0,0 +1,32 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
+
+/**
+ * Consultas de agenda de {@link CitasReactivoService}.
+ *
+ * @see ConsultasAgendaPruebas
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+class CitasReactivoServiceTest extends ConsultasAgendaPruebas {
+
+    @Autowired
+    private CitasReactivoService citasReactivoService;
+
+    @Override
+    protected List<CitaSlot> buscar(LocalDateTime fecha, Long consultorioId, Long doctorId) {
+        return citasReactivoService.buscarCitas(fecha, consultorioId, doctorId).collectList().block();
+    }
+
+    @Override
+    protected List<CitaSlot> recorrer() {
+        return citasReactivoService.findAll().collectList().block();
+    }
+}
@@ -0,0 +1,35 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
+
+/**
+ * Consultas de agenda de {@link CitasService}.
+ *
+ * @see ConsultasAgendaPruebas
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+class CitasServiceAgendaTest extends ConsultasAgendaPruebas {
+
+    @Autowired
+    private CitasService citasService;
+
+    @Override
+    protected List<CitaSlot> buscar(LocalDateTime fecha, Long consultorioId, Long doctorId) {
+        return citasService.buscarCitas(fecha, consultorioId, doctorId).stream().map(CitaSlot::de).toList();
+    }
+
+    @Override
+    protected List<CitaSlot> recorrer() {
+        List<CitaSlot> citas = new ArrayList<>();
+        citasService.exportarCitas(citas::add);
+        return citas;
+    }
+}
@@ -0,0 +1,256 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+import prueba.tecnica.elias.camacho.PruebaIntegracion;
+import prueba.tecnica.elias.camacho.app.domain.dto.CursorCitas;
+import prueba.tecnica.elias.camacho.app.domain.dto.PaginaCitas;
+import prueba.tecnica.elias.camacho.app.domain.dto.ResultadoAusencia;
+import prueba.tecnica.elias.camacho.app.domain.dto.SolicitudAusencia;
+import prueba.tecnica.elias.camacho.app.domain.dto.SolicitudCita;
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+import prueba.tecnica.elias.camacho.app.domain.entity.Consultorio;
+import prueba.tecnica.elias.camacho.app.domain.entity.Doctor;
+import prueba.tecnica.elias.camacho.app.service.reglas.CitaRechazadaException;
+import prueba.tecnica.elias.camacho.app.service.reglas.ReglaDoctor;
+import prueba.tecnica.elias.camacho.configurations.CacheConfig;
+
+/**
+ * Pruebas de las consultas de {@link CitasService} contra PostgreSQL.
+ *
+ * @see CitasService
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+class CitasServiceTest extends PruebaIntegracion {
+
+    @Autowired
+    private CitasService citasService;
+
+    @Autowired
+    private DisponibilidadService disponibilidadService;
+
+    @Autowired
+    private OcupacionCitas ocupacion;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ReglaDoctor reglaDoctor;
+
+    @Test
+    void lasPaginasRecorrenLasCitasEnOrdenConCadaFiltro() {
+        LocalDate dia = diaLibre();
+        long doctorA = doctor("Dermatología");
+        long doctorB = doctor("Dermatología");
+        long consultorioX = consultorio(4);
+        long consultorioY = consultorio(4);
+        long primera = insertarCita(doctorA, consultorioX, dia.atTime(9, 0), "Página Uno");
+        long segunda = insertarCita(doctorB, consultorioY, dia.atTime(9, 0), "Página Dos");
+        long tercera = insertarCita(doctorA, consultorioY, dia.atTime(10, 0), "Página Tres");
+        long cuarta = insertarCita(doctorB, consultorioX, dia.atTime(11, 0), "Página Cuatro");
+        long quinta = insertarCita(doctorA, consultorioX, dia.atTime(12, 0), "Página Cinco");
+        String desde = new CursorCitas(dia.atStartOfDay(), 0L).codificar();
+
+        assertThat(recorrer(desde, null, doctorA, 10)).containsExactly(primera, tercera, quinta);
+        assertThat(recorrer(desde, consultorioX, null, 10)).containsExactly(primera, cuarta, quinta);
+        assertThat(recorrer(desde, consultorioX, doctorA, 10)).containsExactly(primera, quinta);
+        assertThat(recorrer(desde, null, null, 5)).containsExactly(primera, segunda, tercera, cuarta, quinta);
+    }
+
+    @Test
+    void unaPaginaQueTerminaJustoEnLaUltimaCitaNoTieneSiguiente() {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Dermatología");
+        long consultorio = consultorio(4);
+        long primera = insertarCita(doctor, consultorio, dia.atTime(9, 0), "Página Exacta Uno");
+        long segunda = insertarCita(doctor, consultorio, dia.atTime(11, 0), "Página Exacta Dos");
+        String desde = new CursorCitas(dia.atStartOfDay(), 0L).codificar();
+
+        PaginaCitas completa = citasService.findPagina(desde, 2, null, doctor);
+        PaginaCitas parcial = citasService.findPagina(desde, 1, null, doctor);
+
+        assertThat(completa.citas()).extracting(Cita::getId).containsExactly(primera, segunda);
+        assertThat(completa.siguiente()).isNull();
+        assertThat(parcial.citas()).extracting(Cita::getId).containsExactly(primera);
+        assertThat(parcial.siguiente()).isEqualTo(new CursorCitas(dia.atTime(9, 0), primera).codificar());
+    }
+
+    @Test
+    void laAsignacionUsaElSiguienteConsultorioApartadoSiElPrimeroSeOcupo() {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Cardiología");
+        long otroDoctor = doctor("Cardiología");
+        long primero = consultorio(41);
+        long segundo = consultorio(41);
+        insertarCita(doctor, primero, dia.atTime(8, 0), "Asignación Uno " + dia);
+        insertarCita(otroDoctor, segundo, dia.atTime(8, 0), "Asignación Dos " + dia);
+        insertarCita(otroDoctor, segundo, dia.atTime(12, 0), "Asignación Tres " + dia);
+        ocupacion.recargar(Set.of(doctor, otroDoctor), Set.of(primero, segundo), Set.of(), dia, dia);
+        cacheManager.getCache(CacheConfig.CONSULTORIOS_LISTA).clear();
+        // Otra instancia ocupa el consultorio preferido sin que el índice lo sepa.
+        insertarCita(doctor("Cardiología"), primero, dia.atTime(10, 0), "Asignación Cuatro " + dia);
+
+        Cita cita = citasService.agendarConAsignacion(new SolicitudCita(doctor, dia.atTime(10, 0),
+                "Asignación Cinco " + dia));
+
+        assertThat(cita.getConsultorio().getId()).isEqualTo(segundo);
+    }
+
+    @Test
+    void unaCitaQueCruzaLaMedianocheVeLasCitasDelDiaSiguienteQueConfirmoOtraInstancia() {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Anestesiología");
+        // Otra instancia agenda al doctor después de la medianoche sin que el
+        // índice lo sepa.
+        insertarCita(doctor, consultorio(6), dia.plusDays(1).atTime(0, 15), "Medianoche Uno " + dia);
+
+        assertThatThrownBy(() -> citasService.save(nueva(doctor, consultorio(6), dia.atTime(23, 30),
+                "Medianoche Dos " + dia))).isInstanceOf(CitaRechazadaException.class)
+                .hasMessage(reglaDoctor.mensaje());
+    }
+
+    @Test
+    void laAusenciaRecorreLaCitaAlSiguienteHorarioQueSigueLibre() {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Neurología");
+        long consultorio = consultorio(5);
+        long id = insertarCita(doctor, consultorio, dia.atTime(9, 0), "Recorrido Uno " + dia);
+        LocalDateTime primerLibre = disponibilidadService.buscar(doctor, consultorio, "Recorrido Uno " + dia,
+                dia.plusDays(1), dia.plusDays(1), 1).get(0).horarioConsulta();
+        // Otra instancia ocupa el primer horario libre sin que el índice lo sepa.
+        insertarCita(doctor("Neurología"), consultorio, primerLibre, "Recorrido Dos " + dia);
+
+        List<ResultadoAusencia> resultados = citasService.registrarAusencia(doctor,
+                new SolicitudAusencia(dia, dia, SolicitudAusencia.Politica.RECORRER));
+
+        assertThat(resultados).hasSize(1);
+        assertThat(resultados.get(0).citaId()).isEqualTo(id);
+        assertThat(resultados.get(0).accion()).isEqualTo(ResultadoAusencia.Accion.RECORRIDA);
+        assertThat(resultados.get(0).horarioConsulta()).isAfter(primerLibre);
+    }
+
+    @Test
+    void laAusenciaCancelaLasCitasFuturasDelDoctor() {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Neurología");
+        long otroDoctor = doctor("Neurología");
+        long consultorio = consultorio(5);
+        long primera = insertarCita(doctor, consultorio, dia.atTime(9, 0), "Cancelación Uno " + dia);
+        long segunda = insertarCita(doctor, consultorio, dia.plusDays(1).atTime(12, 0), "Cancelación Dos " + dia);
+        long ajena = insertarCita(otroDoctor, consultorio, dia.atTime(11, 0), "Cancelación Tres " + dia);
+
+        List<ResultadoAusencia> resultados = citasService.registrarAusencia(doctor,
+                new SolicitudAusencia(dia, dia.plusDays(1), SolicitudAusencia.Politica.CANCELAR));
+
+        assertThat(resultados).extracting(ResultadoAusencia::citaId).containsExactly(primera, segunda);
+        assertThat(resultados).extracting(ResultadoAusencia::accion)
+                .containsOnly(ResultadoAusencia.Accion.CANCELADA);
+        assertThat(citasService.findById(primera)).isEmpty();
+        assertThat(citasService.findById(segunda)).isEmpty();
+        assertThat(citasService.findById(ajena)).isPresent();
+    }
+
+    @Test
+    void laAusenciaReasignaLaCitaAlSuplenteLibreYDejaSinCambioLaQueNoTieneSuplente() {
+        LocalDate dia = diaLibre();
+        String especialidad = "Ausencia " + dia;
+        long doctor = doctor(especialidad);
+        long suplente = doctor(especialidad);
+        long consultorio = consultorio(5);
+        long otroConsultorio = consultorio(5);
+        long libre = insertarCita(doctor, consultorio, dia.atTime(9, 0), "Reasignación Uno " + dia);
+        long ocupada = insertarCita(doctor, consultorio, dia.atTime(13, 0), "Reasignación Dos " + dia);
+        // El único suplente ya tiene una cita a la misma hora que la segunda.
+        insertarCita(suplente, otroConsultorio, dia.atTime(13, 0), "Reasignación Tres " + dia);
+
+        List<ResultadoAusencia> resultados = citasService.registrarAusencia(doctor,
+                new SolicitudAusencia(dia, dia, SolicitudAusencia.Politica.REASIGNAR));
+
+        assertThat(resultados).extracting(ResultadoAusencia::citaId).containsExactly(libre, ocupada);
+        assertThat(resultados.get(0).accion()).isEqualTo(ResultadoAusencia.Accion.REASIGNADA);
+        assertThat(resultados.get(0).doctorId()).isEqualTo(suplente);
+        assertThat(resultados.get(0).horarioConsulta()).isEqualTo(dia.atTime(9, 0));
+        assertThat(resultados.get(1).accion()).isEqualTo(ResultadoAusencia.Accion.SIN_CAMBIO);
+        assertThat(resultados.get(1).doctorId()).isEqualTo(doctor);
+        assertThat(resultados.get(1).mensaje()).isNotBlank();
+        assertThat(citasService.findById(libre).orElseThrow().getDoctor().getId()).isEqualTo(suplente);
+        assertThat(citasService.findById(ocupada).orElseThrow().getDoctor().getId()).isEqualTo(doctor);
+    }
+
+    @Test
+    void cadaLecturaCargaLasCitasConSuDoctorYConsultorioEnUnaSolaConsulta() {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Oftalmología");
+        long consultorio = consultorio(5);
+        long id = insertarCita(doctor, consultorio, dia.atTime(9, 0), "Consulta Uno");
+        insertarCita(doctor, consultorio, dia.atTime(10, 0), "Consulta Dos");
+        String desde = new CursorCitas(dia.atStartOfDay(), 0L).codificar();
+
+        assertThat(selects(() -> citasService.findById(id).orElseThrow())).isEqualTo(1);
+        assertThat(selects(() -> citasService.findPagina(desde, 10, null, null).citas())).isEqualTo(1);
+        assertThat(selects(() -> citasService.findPagina(desde, 10, consultorio, doctor).citas())).isEqualTo(1);
+        assertThat(selects(() -> citasService.buscarCitas(dia.atStartOfDay(), null, null))).isEqualTo(1);
+        assertThat(selects(() -> citasService.buscarCitas(dia.atStartOfDay(), consultorio, null))).isEqualTo(1);
+        assertThat(selects(() -> citasService.buscarCitas(dia.atStartOfDay(), null, doctor))).isEqualTo(1);
+    }
+
+    /**
+     * Cuenta los SELECT que ejecuta una lectura, incluidos los que haría al
+     * recorrer el doctor y el consultorio de las citas leídas.
+     */
+    private static long selects(Supplier<Object> lectura) {
+        QueryCountHolder.clear();
+        Object leido = lectura.get();
+        List<?> citas = leido instanceof List<?> lista ? lista : List.of(leido);
+        assertThat(citas).isNotEmpty();
+        for (Object cita : citas) {
+            assertThat(((Cita) cita).getDoctor().getEspecialidad()).isNotNull();
+            assertThat(((Cita) cita).getConsultorio().getPiso()).isPositive();
+        }
+        return QueryCountHolder.getGrandTotal().getSelect();
+    }
+
+    /**
+     * Pide páginas de dos citas a partir del cursor hasta juntar el máximo
+     * indicado o llegar al final.
+     */
+    private List<Long> recorrer(String cursor, Long consultorioId, Long doctorId, int maximo) {
+        List<Long> ids = new ArrayList<>();
+        while (cursor != null && ids.size() < maximo) {
+            PaginaCitas pagina = citasService.findPagina(cursor, 2, consultorioId, doctorId);
+            pagina.citas().stream().map(Cita::getId).limit(maximo - ids.size()).forEach(ids::add);
+            cursor = pagina.siguiente();
+        }
+        return ids;
+    }
+
+    private static Cita nueva(long doctorId, long consultorioId, LocalDateTime horario, String paciente) {
+        Doctor doctor = new Doctor();
+        doctor.setId(doctorId);
+        Consultorio consultorio = new Consultorio();
+        consultorio.setId(consultorioId);
+        Cita cita = new Cita();
+        cita.setDoctor(doctor);
+        cita.setConsultorio(consultorio);
+        cita.setHorarioConsulta(horario);
+        cita.setNombrePaciente(paciente);
+        return cita;
+    }
+}
@@ -0,0 +1,114 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import prueba.tecnica.elias.camacho.PruebaIntegracion;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
+
+/**
+ * Pruebas comunes de las consultas de agenda, que la versión bloqueante y la
+ * reactiva deben responder igual. Cada implementación sólo indica cómo
+ * consultar.
+ *
+ * @see CitasService
+ * @see CitasReactivoService
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+abstract class ConsultasAgendaPruebas extends PruebaIntegracion {
+
+    private LocalDate dia;
+
+    private long doctor;
+
+    private long otroDoctor;
+
+    private long consultorio;
+
+    private long otroConsultorio;
+
+    private long primera;
+
+    private long segunda;
+
+    private long tercera;
+
+    private long otroDia;
+
+    /**
+     * Busca las citas de un día como {@code GET /citas/buscar}.
+     *
+     * @param fecha         la fecha de las citas.
+     * @param consultorioId el ID del consultorio, o {@code null}.
+     * @param doctorId      el ID del doctor, o {@code null}.
+     * @return las citas encontradas.
+     */
+    protected abstract List<CitaSlot> buscar(LocalDateTime fecha, Long consultorioId, Long doctorId);
+
+    /**
+     * Recorre todas las citas.
+     *
+     * @return las citas, en el orden en que se entregan.
+     */
+    protected abstract List<CitaSlot> recorrer();
+
+    @BeforeEach
+    void crearAgenda() {
+        dia = diaLibre();
+        doctor = doctor("Endocrinología");
+        otroDoctor = doctor("Endocrinología");
+        consultorio = consultorio(9);
+        otroConsultorio = consultorio(9);
+        primera = insertarCita(doctor, consultorio, dia.atTime(8, 0), "Agenda Primera " + dia);
+        segunda = insertarCita(otroDoctor, consultorio, dia.atTime(9, 0), "Agenda Segunda " + dia);
+        tercera = insertarCita(doctor, otroConsultorio, dia.atTime(9, 0), "Agenda Tercera " + dia);
+        otroDia = insertarCita(doctor, consultorio, dia.plusDays(1).atTime(10, 0), "Agenda Otro Día " + dia);
+    }
+
+    @Test
+    void buscaLasCitasDelDiaDeUnDoctor() {
+        assertThat(ids(buscar(dia.atTime(15, 30), null, doctor))).containsExactlyInAnyOrder(primera, tercera);
+    }
+
+    @Test
+    void buscaLasCitasDelDiaDeUnConsultorio() {
+        assertThat(ids(buscar(dia.atStartOfDay(), consultorio, null))).containsExactlyInAnyOrder(primera, segunda);
+    }
+
+    @Test
+    void elConsultorioTienePrioridadSobreElDoctor() {
+        assertThat(ids(buscar(dia.atStartOfDay(), otroConsultorio, otroDoctor))).containsExactly(tercera);
+    }
+
+    @Test
+    void buscaTodasLasCitasDelDia() {
+        assertThat(ids(buscar(dia.atStartOfDay(), null, null))).containsExactlyInAnyOrder(primera, segunda,
+                tercera);
+    }
+
+    @Test
+    void entregaLosDatosDeCadaCita() {
+        assertThat(buscar(dia.atStartOfDay(), null, doctor)).contains(new CitaSlot(primera, doctor, consultorio,
+                dia.atTime(8, 0), "Agenda Primera " + dia));
+    }
+
+    @Test
+    void recorreTodasLasCitasPorHorarioEId() {
+        List<Long> propias = List.of(primera, segunda, tercera, otroDia);
+
+        assertThat(ids(recorrer())).filteredOn(propias::contains)
+                .containsExactly(primera, Math.min(segunda, tercera), Math.max(segunda, tercera), otroDia);
+    }
+
+    private static List<Long> ids(List<CitaSlot> citas) {
+        return citas.stream().map(CitaSlot::id).toList();
+    }
+}
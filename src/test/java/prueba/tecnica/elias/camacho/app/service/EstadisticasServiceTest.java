@@ -0,0 +1,117 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import prueba.tecnica.elias.camacho.PruebaIntegracion;
+import prueba.tecnica.elias.camacho.app.domain.dto.ResultadoImportacion;
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+import prueba.tecnica.elias.camacho.app.domain.entity.Consultorio;
+import prueba.tecnica.elias.camacho.app.domain.entity.Doctor;
+
+/**
+ * Ocupación diaria que mantiene {@link EstadisticasService} frente a las
+ * citas reales.
+ *
+ * @see EstadisticasService
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+class EstadisticasServiceTest extends PruebaIntegracion {
+
+    private static final String ENCABEZADO = "id,doctor_id,consultorio_id,horario_consulta,nombre_paciente\n";
+
+    @Autowired
+    private EstadisticasService estadisticasService;
+
+    @Autowired
+    private CitasService citasService;
+
+    @Autowired
+    private ImportacionService importacionService;
+
+    @Test
+    void laOcupacionCoincideConLasCitasDespuesDeReservarEditarCancelarEImportar() {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Traumatología");
+        long consultorio = consultorio(7);
+        long otroConsultorio = consultorio(7);
+        long primera = citasService.save(nueva(doctor, consultorio, dia.atTime(9, 0), "Ocupación Uno")).getId();
+        long segunda = citasService.save(nueva(doctor, consultorio, dia.atTime(11, 0), "Ocupación Dos")).getId();
+        long tercera = citasService.save(nueva(doctor, otroConsultorio, dia.atTime(13, 0), "Ocupación Tres"))
+                .getId();
+        citasService.save(nueva(doctor, consultorio, dia.plusDays(1).atTime(9, 0), "Ocupación Cuatro"));
+        // Cambia de día y de consultorio.
+        citasService.editarCita(primera, nueva(doctor, otroConsultorio, dia.plusDays(1).atTime(15, 0),
+                "Ocupación Uno"));
+        citasService.cancelarCita(segunda);
+        citasService.deleteById(tercera);
+        ResultadoImportacion importacion = importacionService.importarCitas(new ByteArrayInputStream((ENCABEZADO
+                + "," + doctor + "," + consultorio + "," + dia + " 17:00,Ocupación Cinco\n"
+                + "," + doctor + "," + otroConsultorio + "," + dia.plusDays(1) + " 17:00,Ocupación Seis\n")
+                .getBytes(StandardCharsets.UTF_8)), false);
+
+        assertThat(importacion.importadas()).isEqualTo(2);
+        Map<String, Integer> citas = contarCitas(doctor, dia);
+        assertThat(citas).containsOnly(Map.entry(dia + "/" + consultorio, 1),
+                Map.entry(dia.plusDays(1) + "/" + consultorio, 1),
+                Map.entry(dia.plusDays(1) + "/" + otroConsultorio, 2));
+        assertThat(ocupacion(doctor, dia)).isEqualTo(citas);
+
+        estadisticasService.reconstruir(dia, dia.plusDays(1));
+
+        assertThat(ocupacion(doctor, dia)).isEqualTo(citas);
+    }
+
+    /**
+     * Cuenta las citas del doctor en el día y el siguiente, por día y
+     * consultorio.
+     */
+    private Map<String, Integer> contarCitas(long doctor, LocalDate dia) {
+        return agrupar(jdbcTemplate.queryForList("SELECT horario_consulta::DATE AS dia, consultorio_id, "
+                + "COUNT(*)::INTEGER AS citas FROM cita WHERE doctor_id = ? AND horario_consulta >= ? "
+                + "AND horario_consulta < ? GROUP BY 1, 2", doctor, Date.valueOf(dia),
+                Date.valueOf(dia.plusDays(2))));
+    }
+
+    /**
+     * Lee la ocupación del doctor en el día y el siguiente, sin las filas que
+     * quedaron en cero.
+     */
+    private Map<String, Integer> ocupacion(long doctor, LocalDate dia) {
+        return agrupar(jdbcTemplate.queryForList("SELECT dia, consultorio_id, citas FROM cita_ocupacion_diaria "
+                + "WHERE doctor_id = ? AND dia BETWEEN ? AND ? AND citas <> 0", doctor, Date.valueOf(dia),
+                Date.valueOf(dia.plusDays(1))));
+    }
+
+    private static Map<String, Integer> agrupar(List<Map<String, Object>> filas) {
+        return filas.stream().collect(Collectors.toMap(
+                fila -> fila.get("dia") + "/" + fila.get("consultorio_id"),
+                fila -> ((Number) fila.get("citas")).intValue()));
+    }
+
+    private static Cita nueva(long doctorId, long consultorioId, LocalDateTime horario, String paciente) {
+        Doctor doctor = new Doctor();
+        doctor.setId(doctorId);
+        Consultorio consultorio = new Consultorio();
+        consultorio.setId(consultorioId);
+        Cita cita = new Cita();
+        cita.setDoctor(doctor);
+        cita.setConsultorio(consultorio);
+        cita.setHorarioConsulta(horario);
+        cita.setNombrePaciente(paciente);
+        return cita;
+    }
+}
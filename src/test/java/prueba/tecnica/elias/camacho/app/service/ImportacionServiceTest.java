@@ -0,0 +1,279 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import prueba.tecnica.elias.camacho.PruebaIntegracion;
+import prueba.tecnica.elias.camacho.app.domain.dto.RechazoImportacion;
+import prueba.tecnica.elias.camacho.app.domain.dto.ResultadoImportacion;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaEvento;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
+import prueba.tecnica.elias.camacho.app.domain.event.ClaveAgenda;
+import prueba.tecnica.elias.camacho.app.service.reglas.ReglaConsultorio;
+import prueba.tecnica.elias.camacho.app.service.reglas.ReglaDoctor;
+import prueba.tecnica.elias.camacho.app.service.reglas.ReglaMaximoDiario;
+import prueba.tecnica.elias.camacho.app.service.reglas.ReglaPaciente;
+
+/**
+ * Importación de citas en CSV sobre la base de datos real, con sus
+ * particiones.
+ *
+ * @see ImportacionService
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+class ImportacionServiceTest extends PruebaIntegracion {
+
+    private static final DateTimeFormatter HORARIO = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static final String ENCABEZADO = "id,doctor_id,consultorio_id,horario_consulta,nombre_paciente\n";
+
+    @Autowired
+    private ImportacionService importacionService;
+
+    @Autowired
+    private ReglaConsultorio reglaConsultorio;
+
+    @Autowired
+    private ReglaDoctor reglaDoctor;
+
+    @Autowired
+    private ReglaPaciente reglaPaciente;
+
+    @Autowired
+    private ReglaMaximoDiario reglaMaximoDiario;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OcupacionCitas ocupacion;
+
+    @Autowired
+    private VersionesAgenda versionesAgenda;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void elPacienteImportadoSeIdentificaIgualQueAlAgendar() {
+        LocalDate dia = diaLibre();
+        insertarCita(doctor("Hematología"), consultorio(5), dia.atTime(9, 0), "Sarka Novak " + dia);
+        long doctor = doctor("Hematología");
+        long consultorio = consultorio(5);
+
+        ResultadoImportacion resultado = importar(ENCABEZADO
+                + fila(doctor, consultorio, dia + " 09:30", "\tŠárka   NOVÁK " + dia + " ")
+                + fila(doctor, consultorio, dia + " 12:00", "\tŠárka Nováková " + dia)
+                + fila(doctor, consultorio, dia + " 14:00", "\t"));
+
+        assertThat(resultado.importadas()).isEqualTo(1);
+        assertThat(resultado.rechazos()).containsExactly(new RechazoImportacion(1, reglaPaciente.mensaje()),
+                new RechazoImportacion(3, "El nombre del paciente no puede ser nulo"));
+        assertThat(jdbcTemplate.queryForList("SELECT nombre FROM paciente WHERE nombre_normalizado IN (?, ?)",
+                String.class, "sarka novak " + dia, "sarka novakova " + dia))
+                .containsExactlyInAnyOrder("Sarka Novak " + dia, "Šárka Nováková " + dia);
+    }
+
+    @Test
+    void unaFilaSoloChocaConLasFilasAnterioresQueSeAceptaron() {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Neurología");
+        insertarCita(doctor, consultorio(4), dia.atTime(9, 0), "Paciente Guardado " + dia);
+
+        ResultadoImportacion resultado = importar(ENCABEZADO
+                + fila(doctor, consultorio(4), dia + " 08:30", "Paciente Uno " + dia)
+                + fila(doctor, consultorio(4), dia + " 07:45", "Paciente Dos " + dia)
+                + fila(doctor, consultorio(4), dia + " 07:00", "Paciente Tres " + dia));
+
+        // La segunda sólo choca con la primera, que se rechazó; la tercera
+        // choca con la segunda, que se aceptó.
+        assertThat(resultado.importadas()).isEqualTo(1);
+        assertThat(resultado.rechazos()).containsExactly(new RechazoImportacion(1, reglaDoctor.mensaje()),
+                new RechazoImportacion(3, reglaDoctor.mensaje()));
+        assertThat(jdbcTemplate.queryForList("SELECT nombre_paciente FROM cita WHERE doctor_id = ? "
+                + "ORDER BY horario_consulta", String.class, doctor))
+                .containsExactly("Paciente Dos " + dia, "Paciente Guardado " + dia);
+    }
+
+    @Test
+    void unaFilaRechazadaPorElMaximoDiarioNoOcupaSuConsultorio() {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Urología");
+        long consultorio = consultorio(4);
+        long otroConsultorio = consultorio(4);
+        StringBuilder csv = new StringBuilder(ENCABEZADO);
+        for (int i = 0; i < 8; i++) {
+            csv.append(fila(doctor, consultorio, dia.atTime(8, 0).plusMinutes(61L * i).format(HORARIO),
+                    "Paciente " + i + " " + dia));
+        }
+        csv.append(fila(doctor, otroConsultorio, dia + " 16:30", "Paciente Excedente " + dia));
+        csv.append(fila(doctor("Urología"), otroConsultorio, dia + " 16:00", "Paciente Otro Doctor " + dia));
+
+        ResultadoImportacion resultado = importar(csv.toString());
+
+        assertThat(resultado.rechazos()).containsExactly(new RechazoImportacion(9, reglaMaximoDiario.mensaje()));
+        assertThat(resultado.importadas()).isEqualTo(9);
+    }
+
+    @Test
+    void lasCitasDeMesesArchivadosSeValidanYGuardanEnElHistorico() {
+        long doctor = doctor("Neumología");
+        long consultorio = consultorio(4);
+        LocalDate dia = LocalDate.of(2001, 3, 15);
+        jdbcTemplate.queryForList("SELECT crear_particion_cita(?)", Date.valueOf(dia));
+        insertarCita(doctor, consultorio, dia.atTime(9, 0), "Paciente Archivado");
+        jdbcTemplate.queryForList("SELECT archivar_particiones_cita(?)", Date.valueOf(dia.plusMonths(1)
+                .withDayOfMonth(1)));
+
+        ResultadoImportacion resultado = importar(ENCABEZADO
+                + fila(doctor, consultorio(4), dia + " 09:00", "Paciente Histórico Uno")
+                + fila(doctor, consultorio, dia.plusDays(1) + " 09:00", "Paciente Histórico Dos"));
+
+        assertThat(resultado.rechazos()).containsExactly(new RechazoImportacion(1, reglaDoctor.mensaje()));
+        assertThat(jdbcTemplate.queryForList("SELECT nombre_paciente FROM cita_historico WHERE doctor_id = ? "
+                + "ORDER BY horario_consulta", String.class, doctor))
+                .containsExactly("Paciente Archivado", "Paciente Histórico Dos");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cita WHERE doctor_id = ?", Long.class,
+                doctor)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT citas FROM cita_ocupacion_diaria WHERE dia = ? "
+                + "AND doctor_id = ?", Integer.class, Date.valueOf(dia.plusDays(1)), doctor)).isEqualTo(1);
+    }
+
+    @Test
+    void lasCitasImportadasLleganAlOutboxLasEstadisticasElIndiceYLasAgendas() throws Exception {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Dermatología");
+        long consultorio = consultorio(4);
+        long version = versionesAgenda.version(ClaveAgenda.doctor(dia, doctor));
+
+        ResultadoImportacion resultado = importar(ENCABEZADO
+                + fila(doctor, consultorio, dia + " 09:00", "Paciente \"Comillas\" " + dia)
+                + fila(doctor, consultorio, dia + " 11:00", "Paciente Dos " + dia));
+
+        assertThat(resultado.importadas()).isEqualTo(2);
+        List<CitaSlot> citas = jdbcTemplate.query("SELECT id, doctor_id, consultorio_id, horario_consulta, "
+                + "nombre_paciente FROM cita WHERE doctor_id = ? ORDER BY id",
+                (rs, fila) -> new CitaSlot(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                        rs.getTimestamp(4).toLocalDateTime(), rs.getString(5)), doctor);
+        assertThat(citas).extracting(CitaSlot::nombrePaciente).containsExactly("Paciente \"Comillas\" " + dia,
+                "Paciente Dos " + dia);
+        List<CitaEvento> eventos = new ArrayList<>();
+        for (String payload : jdbcTemplate.queryForList("SELECT payload FROM cita_outbox WHERE cita_id IN (?, ?) "
+                + "AND tipo = 'CREADA' ORDER BY id", String.class, citas.get(0).id(), citas.get(1).id())) {
+            eventos.add(objectMapper.readValue(payload, CitaEvento.class));
+        }
+        assertThat(eventos).containsExactly(new CitaEvento(CitaEvento.Tipo.CREADA, null, citas.get(0)),
+                new CitaEvento(CitaEvento.Tipo.CREADA, null, citas.get(1)));
+        assertThat(jdbcTemplate.queryForObject("SELECT citas FROM cita_ocupacion_diaria WHERE dia = ? "
+                + "AND doctor_id = ? AND consultorio_id = ?", Integer.class, Date.valueOf(dia), doctor, consultorio))
+                .isEqualTo(2);
+        assertThat(ocupacion.citasDelDoctor(doctor, dia, null)).isEqualTo(2);
+        assertThat(versionesAgenda.version(ClaveAgenda.doctor(dia, doctor))).isGreaterThanOrEqualTo(version + 2);
+    }
+
+    @Test
+    void laImportacionSoloDetieneLasReservasDeSusRecursos() throws Exception {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Oncología");
+        long consultorio = consultorio(6);
+        String paciente = "Paciente Importado " + dia;
+        LocalDate otroDia = diaLibre();
+        long otroDoctor = doctor("Oncología");
+        long otroConsultorio = consultorio(6);
+        String otroPaciente = "Paciente Libre " + otroDia;
+        // La reserva ajena no debe caer por azar en una franja de la importación.
+        while (!Collections.disjoint(franjas(doctor, consultorio, paciente, dia),
+                franjas(otroDoctor, otroConsultorio, otroPaciente, otroDia))) {
+            otroDia = diaLibre();
+            otroPaciente = "Paciente Libre " + otroDia;
+        }
+
+        CountDownLatch importada = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+        try (ExecutorService hilos = Executors.newFixedThreadPool(2)) {
+            Future<ResultadoImportacion> importacion = hilos.submit(() -> transactionTemplate.execute(estado -> {
+                ResultadoImportacion resultado = importar(ENCABEZADO
+                        + fila(doctor, consultorio, dia + " 09:00", paciente));
+                importada.countDown();
+                try {
+                    confirmar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return resultado;
+            }));
+            assertThat(importada.await(30, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(reservar(otroDoctor, otroConsultorio, otroDia.atTime(9, 0), otroPaciente))
+                    .isEqualTo(HttpStatus.CREATED);
+            Future<HttpStatus> mismoDoctor = hilos.submit(() -> reservar(doctor, otroConsultorio,
+                    dia.atTime(9, 0), "Paciente Espera " + dia));
+            Thread.sleep(1000);
+            assertThat(mismoDoctor.isDone()).isFalse();
+
+            confirmar.countDown();
+            assertThat(importacion.get().importadas()).isEqualTo(1);
+            assertThat(mismoDoctor.get()).isEqualTo(HttpStatus.BAD_REQUEST);
+        } finally {
+            confirmar.countDown();
+        }
+    }
+
+    private ResultadoImportacion importar(String csv) {
+        return importacionService.importarCitas(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                false);
+    }
+
+    private HttpStatus reservar(long doctorId, long consultorioId, LocalDateTime horario, String paciente) {
+        return HttpStatus.valueOf(restTemplate.postForEntity("/api/v1/citas", Map.of("doctor",
+                Map.of("id", doctorId), "consultorio", Map.of("id", consultorioId), "horarioConsulta",
+                horario.format(HORARIO), "nombrePaciente", paciente), Map.class).getStatusCode().value());
+    }
+
+    /**
+     * Las franjas que toma una cita de las 9:00, igual que en
+     * {@link BloqueoCitas}.
+     */
+    private static Set<Integer> franjas(long doctorId, long consultorioId, String paciente, LocalDate dia) {
+        String clave = OcupacionCitas.normalizarPaciente(paciente);
+        Set<Integer> franjas = new HashSet<>();
+        franjas.add(BloqueoCitas.franja("doctor", doctorId, dia));
+        franjas.add(BloqueoCitas.franja("consultorio", consultorioId, dia));
+        franjas.add(BloqueoCitas.franja("paciente", clave, dia));
+        return franjas;
+    }
+
+    private static String fila(long doctor, long consultorio, String horario, String paciente) {
+        return "," + doctor + "," + consultorio + "," + horario + ",\"" + paciente.replace("\"", "\"\"") + "\"\n";
+    }
+}
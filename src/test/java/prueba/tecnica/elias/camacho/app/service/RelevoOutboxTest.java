@@ -0,0 +1,156 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import prueba.tecnica.elias.camacho.PruebaIntegracion;
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+import prueba.tecnica.elias.camacho.app.domain.entity.Consultorio;
+import prueba.tecnica.elias.camacho.app.domain.entity.Doctor;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaEvento;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaEventoPublicado;
+
+/**
+ * Registro de los cambios de citas en {@link OutboxCitas} y su publicación
+ * con {@link RelevoOutbox} sobre la base de datos real.
+ *
+ * @see RelevoOutbox
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+class RelevoOutboxTest extends PruebaIntegracion {
+
+    @Autowired
+    private CitasService citasService;
+
+    @Autowired
+    private OutboxCitas outbox;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void unaReservaRevertidaNoDejaCambiosEnLaBandeja() {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Pediatría");
+        long consultorio = consultorio(6);
+
+        Long id = transactionTemplate.execute(estado -> {
+            Cita cita = citasService.save(nueva(doctor, consultorio, dia.atTime(9, 0), "Outbox Revertido"));
+            estado.setRollbackOnly();
+            return cita.getId();
+        });
+
+        assertThat(id).isNotNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM cita WHERE id = ?", Integer.class, id))
+                .isZero();
+        assertThat(cambios(id)).isZero();
+    }
+
+    @Test
+    void siElDestinoFallaLosCambiosSiguenPendientesYSeEntreganEnElSiguienteCiclo() {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Pediatría");
+        long consultorio = consultorio(6);
+        long id = citasService.save(nueva(doctor, consultorio, dia.atTime(9, 0), "Outbox Reintento")).getId();
+        Destino destino = new Destino(1);
+        RelevoOutbox relevo = relevo(destino);
+
+        relevo.relevar();
+
+        assertThat(destino.intentos).isEqualTo(1);
+        assertThat(destino.recibidos).isEmpty();
+        assertThat(pendientes(id)).isEqualTo(1);
+
+        relevo.relevar();
+
+        assertThat(destino.recibidos).extracting(CitaEventoPublicado::citaId).contains(id);
+        assertThat(pendientes(id)).isZero();
+    }
+
+    @Test
+    void losCambiosDeUnaCitaSePublicanEnElOrdenEnQueOcurrieron() {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Pediatría");
+        long consultorio = consultorio(6);
+        long id = citasService.save(nueva(doctor, consultorio, dia.atTime(9, 0), "Outbox Orden")).getId();
+        citasService.editarCita(id, nueva(doctor, consultorio, dia.atTime(10, 0), "Outbox Orden"));
+        citasService.editarCita(id, nueva(doctor, consultorio, dia.atTime(11, 0), "Outbox Orden"));
+        citasService.cancelarCita(id);
+        Destino destino = new Destino(0);
+
+        relevo(destino).relevar();
+
+        List<CitaEventoPublicado> deLaCita = destino.recibidos.stream().filter(evento -> evento.citaId() == id)
+                .toList();
+        assertThat(deLaCita).extracting(CitaEventoPublicado::tipo).containsExactly(CitaEvento.Tipo.CREADA,
+                CitaEvento.Tipo.EDITADA, CitaEvento.Tipo.EDITADA, CitaEvento.Tipo.CANCELADA);
+        assertThat(deLaCita).extracting(CitaEventoPublicado::id).isSorted();
+        assertThat(destino.recibidos).extracting(CitaEventoPublicado::id).isSorted();
+        assertThat(pendientes(id)).isZero();
+    }
+
+    private RelevoOutbox relevo(DestinoEventos destino) {
+        return new RelevoOutbox(outbox, destino, new SimpleMeterRegistry(), true, 500, Duration.ofMinutes(1),
+                Duration.ofDays(7));
+    }
+
+    private int cambios(long citaId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM cita_outbox WHERE cita_id = ?", Integer.class,
+                citaId);
+    }
+
+    private int pendientes(long citaId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM cita_outbox WHERE cita_id = ? "
+                + "AND publicado IS NULL", Integer.class, citaId);
+    }
+
+    private static Cita nueva(long doctorId, long consultorioId, LocalDateTime horario, String paciente) {
+        Doctor doctor = new Doctor();
+        doctor.setId(doctorId);
+        Consultorio consultorio = new Consultorio();
+        consultorio.setId(consultorioId);
+        Cita cita = new Cita();
+        cita.setDoctor(doctor);
+        cita.setConsultorio(consultorio);
+        cita.setHorarioConsulta(horario);
+        cita.setNombrePaciente(paciente);
+        return cita;
+    }
+
+    /**
+     * Destino que falla en los primeros intentos y guarda los cambios que
+     * recibe después.
+     */
+    private static class Destino implements DestinoEventos {
+
+        private final List<CitaEventoPublicado> recibidos = new ArrayList<>();
+
+        private final int fallas;
+
+        private int intentos;
+
+        Destino(int fallas) {
+            this.fallas = fallas;
+        }
+
+        @Override
+        public void publicar(List<CitaEventoPublicado> eventos) {
+            if (++intentos <= fallas) {
+                throw new IllegalStateException("Destino no disponible");
+            }
+            recibidos.addAll(eventos);
+        }
+    }
+}
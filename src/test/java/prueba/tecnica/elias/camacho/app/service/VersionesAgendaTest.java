@@ -0,0 +1,200 @@
+package prueba.tecnica.elias.camacho.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import prueba.tecnica.elias.camacho.Application;
+import prueba.tecnica.elias.camacho.PruebaIntegracion;
+
+/**
+ * ETags de una instancia cuando la cita se modifica en otra instancia sobre
+ * la misma base de datos.
+ *
+ * @see VersionesAgenda
+ * @see AvisosCitas
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+class VersionesAgendaTest extends PruebaIntegracion {
+
+    private static final DateTimeFormatter HORARIO = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static ConfigurableApplicationContext otraInstancia;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ImportacionService importacionService;
+
+    @BeforeAll
+    static void iniciarOtraInstancia() {
+        otraInstancia = new SpringApplicationBuilder(Application.class).run(argumentosInstancia());
+    }
+
+    @AfterAll
+    static void cerrarOtraInstancia() {
+        otraInstancia.close();
+    }
+
+    @Test
+    void unCambioEnOtraInstanciaInvalidaLosEtagsDeEstaInstancia() throws Exception {
+        esperarEscuchas();
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Urología");
+        ResponseEntity<Map> creada = restTemplate.postForEntity("/api/v1/citas", Map.of("doctor", Map.of("id", doctor),
+                "consultorio", Map.of("id", consultorio(6)), "horarioConsulta", dia.atTime(9, 0).format(HORARIO),
+                "nombrePaciente", "Paciente Versiones " + dia), Map.class);
+        assertThat(creada.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        String cita = "/api/v1/citas/" + creada.getBody().get("id");
+        String agenda = "/api/v1/citas/buscar?fecha=" + dia + "T00:00:00&doctorId=" + doctor;
+        String etagCita = restTemplate.getForEntity(cita, String.class).getHeaders().getETag();
+        String etagAgenda = restTemplate.getForEntity(agenda, String.class).getHeaders().getETag();
+        assertThat(consultar(cita, etagCita)).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(consultar(agenda, etagAgenda)).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        int otroPuerto = ((WebServerApplicationContext) otraInstancia).getWebServer().getPort();
+        assertThat(restTemplate.postForEntity("http://localhost:" + otroPuerto + cita + "/cancelar", null,
+                Void.class).getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        assertThat(esperarCambio(cita, etagCita)).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(esperarCambio(agenda, etagAgenda)).isEqualTo(HttpStatus.OK);
+        assertThat(restTemplate.getForObject(agenda, String.class)).isEqualTo("[]");
+    }
+
+    @Test
+    void unaSentenciaConVariosCambiosEnviaUnSoloAvisoQueInvalidaLasVersiones() throws Exception {
+        esperarEscuchas();
+        LocalDate dia = diaLibre();
+        long id = insertarCita(doctor("Urología"), consultorio(6), dia.atTime(9, 0), "Paciente Avisos " + dia);
+        String cita = "/api/v1/citas/" + id;
+        String etagCita = restTemplate.getForEntity(cita, String.class).getHeaders().getETag();
+        assertThat(consultar(cita, etagCita)).isEqualTo(HttpStatus.NOT_MODIFIED);
+        String insertar = "INSERT INTO cita_outbox (id, cita_id, tipo, payload, creado) SELECT "
+                + "nextval('cita_outbox_seq'), -n, 'CREADA', ?, LOCALTIMESTAMP FROM generate_series(?, ?) n";
+        String cambio = "{\"tipo\":\"CREADA\",\"anterior\":null,\"actual\":{\"id\":-1,\"doctorId\":-1,"
+                + "\"consultorioId\":-1,\"horarioConsulta\":\"" + dia.atTime(9, 0).format(HORARIO)
+                + "\",\"nombrePaciente\":\"Paciente Avisos\"}}";
+        List<String> avisos;
+        try (Connection escucha = DriverManager.getConnection(url(), "postgres", "");
+                Statement statement = escucha.createStatement()) {
+            statement.execute("LISTEN cita_cambios");
+
+            jdbcTemplate.update(insertar, cambio, 1, 500);
+            jdbcTemplate.update(insertar, cambio, 501, 501);
+            avisos = avisos(escucha.unwrap(PGConnection.class), 2);
+        } finally {
+            jdbcTemplate.update("DELETE FROM cita_outbox WHERE cita_id < 0");
+        }
+
+        assertThat(avisos).containsExactly("*", cambio);
+        assertThat(esperarCambio(cita, etagCita)).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void unaImportacionEnviaUnSoloAvisoAlConfirmarse() throws Exception {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Urología");
+        long consultorio = consultorio(6);
+        StringBuilder csv = new StringBuilder("id,doctor_id,consultorio_id,horario_consulta,nombre_paciente\n");
+        for (int hora = 8; hora < 14; hora += 2) {
+            csv.append(',').append(doctor).append(',').append(consultorio).append(',').append(dia).append(' ')
+                    .append(hora).append(":00,Paciente Importado ").append(hora).append(' ').append(dia)
+                    .append('\n');
+        }
+        List<String> avisos;
+        try (Connection escucha = DriverManager.getConnection(url(), "postgres", "");
+                Statement statement = escucha.createStatement()) {
+            statement.execute("LISTEN cita_cambios");
+
+            assertThat(importacionService.importarCitas(new ByteArrayInputStream(csv.toString()
+                    .getBytes(StandardCharsets.UTF_8)), true).importadas()).isEqualTo(3);
+            avisos = avisos(escucha.unwrap(PGConnection.class), 1);
+        }
+
+        assertThat(avisos).containsExactly("*");
+    }
+
+    /**
+     * Recibe los avisos hasta juntar los esperados, y espera un momento más
+     * por si llegan otros.
+     */
+    private static List<String> avisos(PGConnection escucha, int esperados) throws Exception {
+        List<String> avisos = new ArrayList<>();
+        for (int intento = 0; intento < 20; intento++) {
+            PGNotification[] recibidos = escucha.getNotifications(avisos.size() < esperados ? 250 : 500);
+            if (recibidos != null) {
+                for (PGNotification aviso : recibidos) {
+                    avisos.add(aviso.getParameter());
+                }
+            } else if (avisos.size() >= esperados) {
+                break;
+            }
+        }
+        return avisos;
+    }
+
+    /**
+     * Espera a que las dos instancias escuchen los avisos, para que su
+     * conexión no cambie las versiones a mitad de la prueba.
+     */
+    private void esperarEscuchas() throws InterruptedException {
+        for (int intento = 0; intento < 100; intento++) {
+            Long escuchas = jdbcTemplate.queryForObject("SELECT count(*) FROM pg_stat_activity "
+                    + "WHERE query = 'LISTEN cita_cambios'", Long.class);
+            if (escuchas != null && escuchas >= 2) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Las instancias no escuchan los avisos de citas");
+    }
+
+    /**
+     * Repite la consulta condicional hasta que deja de responder 304.
+     */
+    private HttpStatusCode esperarCambio(String url, String etag) throws InterruptedException {
+        HttpStatusCode status = consultar(url, etag);
+        for (int intento = 0; intento < 50 && status == HttpStatus.NOT_MODIFIED; intento++) {
+            Thread.sleep(100);
+            status = consultar(url, etag);
+        }
+        return status;
+    }
+
+    private HttpStatusCode consultar(String url, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class)
+                .getStatusCode();
+    }
+}
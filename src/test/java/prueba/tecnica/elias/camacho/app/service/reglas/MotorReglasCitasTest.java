@@ -0,0 +1,97 @@
+package prueba.tecnica.elias.camacho.app.service.reglas;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import prueba.tecnica.elias.camacho.app.domain.entity.Cita;
+import prueba.tecnica.elias.camacho.app.domain.entity.Consultorio;
+import prueba.tecnica.elias.camacho.app.domain.entity.Doctor;
+import prueba.tecnica.elias.camacho.app.domain.event.CitaSlot;
+import prueba.tecnica.elias.camacho.app.service.MetricasCitas;
+import prueba.tecnica.elias.camacho.app.service.OcupacionCitas;
+
+/**
+ * Evaluación de las reglas de alta en {@link MotorReglasCitas}, sin la
+ * aplicación ni la base de datos: el índice está vacío y las citas que chocan
+ * son pendientes del mismo lote.
+ *
+ * @see MotorReglasCitas
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+class MotorReglasCitasTest {
+
+    private static final LocalDateTime HORARIO = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    private final ParametrosReglas parametros = new ParametrosReglas(Duration.ofHours(1), Duration.ofHours(2), 1);
+
+    private final OcupacionCitas ocupacion = new OcupacionCitas(null, null);
+
+    private final ReglaConsultorio consultorio = new ReglaConsultorio(ocupacion);
+
+    private final ReglaDoctor doctor = new ReglaDoctor(ocupacion);
+
+    private final ReglaPaciente paciente = new ReglaPaciente(ocupacion, parametros);
+
+    private final ReglaMaximoDiario maximoDiario = new ReglaMaximoDiario(ocupacion, parametros);
+
+    @Test
+    void unaCitaQueRompeVariasReglasLasReportaTodasEnElOrdenConfigurado() {
+        List<ReglaCita> reglas = reglas();
+        MotorReglasCitas motor = motor(reglas);
+        List<CitaSlot> pendientes = List.of(new CitaSlot(1L, 10L, 20L, HORARIO, "Paciente Repetido"));
+
+        List<String> violaciones = motor.verificar(cita(10L, 20L, HORARIO, "paciente  repetido"), null, pendientes);
+
+        assertThat(reglas).containsExactly(consultorio, doctor, paciente, maximoDiario);
+        assertThat(violaciones).containsExactly(consultorio.mensaje(), doctor.mensaje(), paciente.mensaje(),
+                maximoDiario.mensaje());
+    }
+
+    @Test
+    void soloSeReportanLasReglasQueNoSeCumplen() {
+        MotorReglasCitas motor = motor(reglas());
+        // Otro doctor en el mismo consultorio, con el mismo paciente una hora después.
+        List<CitaSlot> pendientes = List.of(new CitaSlot(1L, 11L, 20L, HORARIO.plusHours(1), "Paciente Repetido"));
+
+        assertThat(motor.verificar(cita(10L, 20L, HORARIO, "Paciente Repetido"), null, pendientes))
+                .containsExactly(consultorio.mensaje(), paciente.mensaje());
+        assertThat(motor.verificar(cita(10L, 21L, HORARIO.plusDays(1), "Otro Paciente"), null, pendientes))
+                .isEmpty();
+    }
+
+    /**
+     * Las reglas en el orden en que Spring las entrega al motor.
+     */
+    private List<ReglaCita> reglas() {
+        List<ReglaCita> reglas = new ArrayList<>(List.of(maximoDiario, paciente, doctor, consultorio));
+        AnnotationAwareOrderComparator.sort(reglas);
+        return reglas;
+    }
+
+    private MotorReglasCitas motor(List<ReglaCita> reglas) {
+        return new MotorReglasCitas(reglas, parametros, new MetricasCitas(new SimpleMeterRegistry()));
+    }
+
+    private static Cita cita(Long doctorId, Long consultorioId, LocalDateTime horario, String nombrePaciente) {
+        Doctor doctor = new Doctor();
+        doctor.setId(doctorId);
+        Consultorio consultorio = new Consultorio();
+        consultorio.setId(consultorioId);
+        Cita cita = new Cita();
+        cita.setDoctor(doctor);
+        cita.setConsultorio(consultorio);
+        cita.setHorarioConsulta(horario);
+        cita.setNombrePaciente(nombrePaciente);
+        return cita;
+    }
+}
@@ -0,0 +1,176 @@
+package prueba.tecnica.elias.camacho.app.web.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import prueba.tecnica.elias.camacho.PruebaIntegracion;
+import prueba.tecnica.elias.camacho.app.domain.dto.ResultadoCita;
+import prueba.tecnica.elias.camacho.app.service.IdempotenciaCitas;
+
+/**
+ * Pruebas de las respuestas de {@link CitasController}.
+ *
+ * @see CitasController
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+class CitasControllerTest extends PruebaIntegracion {
+
+    private static final DateTimeFormatter HORARIO = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static final ParameterizedTypeReference<Map<String, Object>> CITA = new ParameterizedTypeReference<>() {
+    };
+
+    private static final ParameterizedTypeReference<List<ResultadoCita>> RESULTADOS =
+            new ParameterizedTypeReference<>() {
+            };
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void unLoteConCitasInvalidasReportaCadaUnaSinFallarCompleto() {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Neurología");
+        long consultorio = consultorio(3);
+        List<Map<String, Object>> lote = List.of(
+                Map.of("doctor", Map.of("id", doctor), "consultorio", Map.of("id", consultorio),
+                        "horarioConsulta", dia.atTime(9, 0).format(HORARIO), "nombrePaciente", "Lote Válido"),
+                Map.of("consultorio", Map.of("id", consultorio), "horarioConsulta",
+                        dia.atTime(11, 0).format(HORARIO), "nombrePaciente", "Lote Sin Doctor"),
+                Map.of("doctor", Map.of("id", doctor), "consultorio", Map.of("id", consultorio),
+                        "horarioConsulta", "2020-01-01 09:00", "nombrePaciente", " "));
+
+        ResponseEntity<List<ResultadoCita>> respuesta = restTemplate.exchange("/api/v1/citas/batch",
+                HttpMethod.POST, new HttpEntity<>(lote), RESULTADOS);
+
+        assertThat(respuesta.getStatusCode()).isEqualTo(HttpStatus.MULTI_STATUS);
+        List<ResultadoCita> resultados = respuesta.getBody();
+        assertThat(resultados).extracting(ResultadoCita::estado).containsExactly(201, 400, 400);
+        assertThat(resultados.get(1).mensaje()).contains("El doctor no puede ser nulo");
+        assertThat(resultados.get(2).mensaje()).contains("fecha futura", "en blanco");
+    }
+
+    @Test
+    void unLoteSinCitasValidasRespondeBadRequest() {
+        List<Map<String, Object>> lote = List.of(Map.of("nombrePaciente", "Sin Horario"));
+
+        ResponseEntity<List<ResultadoCita>> respuesta = restTemplate.exchange("/api/v1/citas/batch",
+                HttpMethod.POST, new HttpEntity<>(lote), RESULTADOS);
+
+        assertThat(respuesta.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(respuesta.getBody()).extracting(ResultadoCita::estado).containsExactly(400);
+    }
+
+    @Test
+    void unLoteVacioRespondeBadRequest() {
+        ResponseEntity<String> respuesta = restTemplate.exchange("/api/v1/citas/batch", HttpMethod.POST,
+                new HttpEntity<>(List.of()), String.class);
+
+        assertThat(respuesta.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void unReintentoConLaMismaClaveRecibeLaRespuestaOriginal() {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Neurología");
+        long consultorio = consultorio(3);
+        Map<String, Object> cita = cita(doctor, consultorio, dia.atTime(9, 0).format(HORARIO), "Clave Repetida");
+
+        ResponseEntity<Map<String, Object>> primera = crear(cita, "reintento-" + dia);
+        ResponseEntity<Map<String, Object>> reintento = crear(cita, "reintento-" + dia);
+
+        assertThat(primera.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(primera.getHeaders().containsKey(IdempotenciaCitas.REPETIDA)).isFalse();
+        assertThat(reintento.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(reintento.getHeaders().getFirst(IdempotenciaCitas.REPETIDA)).isEqualTo("true");
+        assertThat(reintento.getBody()).isEqualTo(primera.getBody());
+        assertThat(citasDelDoctor(doctor)).isEqualTo(1);
+    }
+
+    @Test
+    void laMismaClaveConOtraPeticionSeRechaza() {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Neurología");
+        long consultorio = consultorio(3);
+
+        ResponseEntity<Map<String, Object>> primera = crear(
+                cita(doctor, consultorio, dia.atTime(9, 0).format(HORARIO), "Clave Reutilizada"), "otra-" + dia);
+        ResponseEntity<Map<String, Object>> otra = crear(
+                cita(doctor, consultorio, dia.atTime(11, 0).format(HORARIO), "Clave Reutilizada"), "otra-" + dia);
+
+        assertThat(primera.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(otra.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(citasDelDoctor(doctor)).isEqualTo(1);
+    }
+
+    @Test
+    void dosPeticionesSimultaneasConLaMismaClaveCreanUnaSolaCita() throws Exception {
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Neurología");
+        long consultorio = consultorio(3);
+        Map<String, Object> cita = cita(doctor, consultorio, dia.atTime(9, 0).format(HORARIO), "Clave Simultánea");
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(2);
+        try {
+            List<CompletableFuture<ResponseEntity<Map<String, Object>>>> peticiones = List.of(
+                    CompletableFuture.supplyAsync(() -> crearAlSalir(salida, cita, "simultanea-" + dia), hilos),
+                    CompletableFuture.supplyAsync(() -> crearAlSalir(salida, cita, "simultanea-" + dia), hilos));
+            salida.countDown();
+            List<ResponseEntity<Map<String, Object>>> respuestas = peticiones.stream()
+                    .map(CompletableFuture::join).toList();
+
+            assertThat(respuestas).extracting(ResponseEntity::getStatusCode)
+                    .containsOnly(HttpStatus.CREATED);
+            assertThat(respuestas.get(0).getBody().get("id")).isEqualTo(respuestas.get(1).getBody().get("id"));
+            assertThat(citasDelDoctor(doctor)).isEqualTo(1);
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> crearAlSalir(CountDownLatch salida, Map<String, Object> cita,
+            String clave) {
+        try {
+            salida.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return crear(cita, clave);
+    }
+
+    private ResponseEntity<Map<String, Object>> crear(Map<String, Object> cita, String clave) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(IdempotenciaCitas.ENCABEZADO, clave);
+        return restTemplate.exchange("/api/v1/citas", HttpMethod.POST, new HttpEntity<>(cita, headers), CITA);
+    }
+
+    private static Map<String, Object> cita(long doctor, long consultorio, String horario, String paciente) {
+        return Map.of("doctor", Map.of("id", doctor), "consultorio", Map.of("id", consultorio), "horarioConsulta",
+                horario, "nombrePaciente", paciente);
+    }
+
+    private int citasDelDoctor(long doctor) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM cita WHERE doctor_id = ?", Integer.class, doctor);
+    }
+}
@@ -0,0 +1,82 @@
+package prueba.tecnica.elias.camacho.configurations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import prueba.tecnica.elias.camacho.PruebaIntegracion;
+import prueba.tecnica.elias.camacho.app.domain.entity.Doctor;
+import prueba.tecnica.elias.camacho.app.service.DoctoresService;
+
+/**
+ * Momento en que se actualiza la caché de los catálogos respecto a la
+ * transacción que los modifica.
+ *
+ * @see CacheConfig
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+class CacheConfigTest extends PruebaIntegracion {
+
+    @Autowired
+    private DoctoresService doctoresService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void laCacheSeActualizaHastaQueLaTransaccionSeConfirma() {
+        long id = doctor("Endocrinología");
+        doctoresService.findById(id);
+        doctoresService.findAll();
+        Cache doctores = cacheManager.getCache(CacheConfig.DOCTORES);
+        Cache lista = cacheManager.getCache(CacheConfig.DOCTORES_LISTA);
+
+        transactionTemplate.executeWithoutResult(estado -> {
+            doctoresService.save(doctor(id, "Confirmado"));
+
+            assertThat(nombre(doctores.get(id))).isEqualTo("Doctor");
+            assertThat(lista.get("todos")).isNotNull();
+        });
+
+        assertThat(nombre(doctores.get(id))).isEqualTo("Confirmado");
+        assertThat(lista.get("todos")).isNull();
+    }
+
+    @Test
+    void unaTransaccionRevertidaNoCambiaLaCache() {
+        long id = doctor("Endocrinología");
+        doctoresService.findById(id);
+        doctoresService.findAll();
+
+        transactionTemplate.executeWithoutResult(estado -> {
+            doctoresService.save(doctor(id, "Revertido"));
+            estado.setRollbackOnly();
+        });
+
+        assertThat(doctoresService.findById(id).orElseThrow().getNombre()).isEqualTo("Doctor");
+        assertThat(cacheManager.getCache(CacheConfig.DOCTORES_LISTA).get("todos")).isNotNull();
+    }
+
+    private static String nombre(Cache.ValueWrapper valor) {
+        return ((Doctor) valor.get()).getNombre();
+    }
+
+    private static Doctor doctor(long id, String nombre) {
+        Doctor doctor = new Doctor();
+        doctor.setId(id);
+        doctor.setNombre(nombre);
+        doctor.setApellidoPaterno("Paterno");
+        doctor.setApellidoMaterno("Materno");
+        doctor.setEspecialidad("Endocrinología");
+        return doctor;
+    }
+}
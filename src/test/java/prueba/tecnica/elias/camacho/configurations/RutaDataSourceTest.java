@@ -0,0 +1,165 @@
+package prueba.tecnica.elias.camacho.configurations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import prueba.tecnica.elias.camacho.PruebaIntegracion;
+
+/**
+ * Ruteo de las lecturas a la réplica. La réplica es el esquema
+ * {@code replica} de la misma base de datos, con su propia tabla de citas y
+ * funciones de recuperación que reportan el retraso de
+ * {@code replica.retraso}, por lo que cada cita revela de qué base de datos se
+ * leyó.
+ *
+ * @see RutaDataSource
+ * @see LecturaPropiaFilter
+ * @version 1.0.0
+ * @date 17-10-2026
+ * @autor Elias Camacho Ramirez
+ */
+class RutaDataSourceTest extends PruebaIntegracion {
+
+    private static final DateTimeFormatter HORARIO = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static final String REPLICA = """
+            DROP SCHEMA IF EXISTS replica CASCADE;
+            CREATE SCHEMA replica;
+            CREATE TABLE replica.cita (LIKE public.cita INCLUDING DEFAULTS);
+            CREATE TABLE replica.retraso (ms BIGINT NOT NULL);
+            INSERT INTO replica.retraso VALUES (0);
+            CREATE FUNCTION replica.pg_is_in_recovery() RETURNS BOOLEAN LANGUAGE sql AS 'SELECT true';
+            CREATE FUNCTION replica.pg_last_wal_receive_lsn() RETURNS pg_lsn LANGUAGE sql AS 'SELECT ''0/2''::pg_lsn';
+            CREATE FUNCTION replica.pg_last_wal_replay_lsn() RETURNS pg_lsn LANGUAGE sql AS 'SELECT ''0/1''::pg_lsn';
+            CREATE FUNCTION replica.pg_last_xact_replay_timestamp() RETURNS TIMESTAMPTZ LANGUAGE sql
+                AS 'SELECT now() - ms * INTERVAL ''1 millisecond'' FROM replica.retraso';
+            """;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private RutaDataSource rutaDataSource;
+
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) {
+        // pg_catalog después de replica para que sus funciones de recuperación
+        // tomen el lugar de las del sistema.
+        registry.add("citas.replica.url", () -> url() + "&currentSchema=replica,pg_catalog,public");
+    }
+
+    /**
+     * Aplica las migraciones antes de levantar la aplicación para copiar la
+     * tabla de citas al esquema de la réplica.
+     */
+    @BeforeAll
+    static void crearReplica() throws SQLException {
+        Flyway.configure().dataSource(url(), "postgres", "").baselineOnMigrate(true).baselineVersion("0").load()
+                .migrate();
+        try (Connection conexion = DriverManager.getConnection(url(), "postgres", "")) {
+            conexion.createStatement().execute(REPLICA);
+        }
+    }
+
+    @Test
+    void lasLecturasVanALaReplicaSalvoQueElClienteLeaSusEscrituras() {
+        rutaDataSource.verificarReplica();
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Neumología");
+        long consultorio = consultorio(8);
+        long enPrimaria = insertarCita(doctor, consultorio, dia.atTime(9, 0), "Paciente Primaria");
+        long enReplica = copiarAReplica(enPrimaria, dia.atTime(10, 0));
+
+        assertThat(consultar(enReplica, new HttpHeaders())).isEqualTo(HttpStatus.OK);
+        assertThat(consultar(enPrimaria, new HttpHeaders())).isEqualTo(HttpStatus.NOT_FOUND);
+
+        HttpHeaders encabezado = new HttpHeaders();
+        encabezado.set(LecturaPropiaFilter.LEER_PRIMARIA, "true");
+        assertThat(consultar(enPrimaria, encabezado)).isEqualTo(HttpStatus.OK);
+        assertThat(consultar(enReplica, encabezado)).isEqualTo(HttpStatus.NOT_FOUND);
+
+        ResponseEntity<Map> creada = restTemplate.postForEntity("/api/v1/citas", Map.of("doctor",
+                Map.of("id", doctor), "consultorio", Map.of("id", consultorio), "horarioConsulta",
+                dia.atTime(12, 0).format(HORARIO), "nombrePaciente", "Paciente Escritura"), Map.class);
+        assertThat(creada.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        String cookie = creada.getHeaders().getFirst(HttpHeaders.SET_COOKIE);
+        assertThat(cookie).startsWith(LecturaPropiaFilter.COOKIE + "=");
+        long nueva = ((Number) creada.getBody().get("id")).longValue();
+
+        HttpHeaders conCookie = new HttpHeaders();
+        conCookie.add(HttpHeaders.COOKIE, cookie.substring(0, cookie.indexOf(';')));
+        assertThat(consultar(nueva, conCookie)).isEqualTo(HttpStatus.OK);
+        assertThat(consultar(nueva, new HttpHeaders())).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void lasLecturasRegresanALaPrimariaMientrasLaReplicaVaRetrasada() {
+        LocalDate dia = diaLibre();
+        long enPrimaria = insertarCita(doctor("Reumatología"), consultorio(8), dia.atTime(9, 0),
+                "Paciente Retraso");
+        long enReplica = copiarAReplica(enPrimaria, dia.atTime(10, 0));
+        try {
+            jdbcTemplate.update("UPDATE replica.retraso SET ms = 60000");
+            rutaDataSource.verificarReplica();
+            assertThat(consultar(enPrimaria, new HttpHeaders())).isEqualTo(HttpStatus.OK);
+            assertThat(consultar(enReplica, new HttpHeaders())).isEqualTo(HttpStatus.NOT_FOUND);
+        } finally {
+            jdbcTemplate.update("UPDATE replica.retraso SET ms = 0");
+        }
+
+        rutaDataSource.verificarReplica();
+        assertThat(consultar(enReplica, new HttpHeaders())).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void lasAgendasEnCacheSeLeenDeLaPrimaria() {
+        rutaDataSource.verificarReplica();
+        LocalDate dia = diaLibre();
+        long doctor = doctor("Nefrología");
+        long enPrimaria = insertarCita(doctor, consultorio(8), dia.atTime(9, 0), "Paciente Agenda");
+        long enReplica = copiarAReplica(enPrimaria, dia.atTime(10, 0));
+
+        String agenda = restTemplate.getForObject("/api/v1/citas/buscar?fecha=" + dia + "T00:00:00&doctorId="
+                + doctor, String.class);
+
+        assertThat(agenda).contains("\"id\":" + enPrimaria).doesNotContain("\"id\":" + enReplica);
+    }
+
+    /**
+     * Copia una cita a la réplica con otro ID y otro horario, sin que la
+     * primaria la tenga.
+     */
+    private long copiarAReplica(long id, LocalDateTime horario) {
+        return jdbcTemplate.queryForObject("INSERT INTO replica.cita (id, doctor_id, consultorio_id, "
+                + "horario_consulta, nombre_paciente, paciente_id) SELECT nextval('cita_seq'), doctor_id, "
+                + "consultorio_id, ?, nombre_paciente, paciente_id FROM cita WHERE id = ? RETURNING id",
+                Long.class, Timestamp.valueOf(horario), id);
+    }
+
+    private HttpStatusCode consultar(long id, HttpHeaders headers) {
+        return restTemplate.exchange("/api/v1/citas/" + id, HttpMethod.GET, new HttpEntity<>(headers),
+                String.class).getStatusCode();
+    }
+}